@@ -0,0 +1,84 @@
+package upc.edu.muusmart.campaignmanagement.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.LoggerFactory;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Campaign;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Channel;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Goal;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Shared inputs for the benchmarks: signed tokens and campaign aggregates of a
+ * given size.
+ */
+final class BenchmarkFixtures {
+
+    // Same secret as JwtUtil
+    private static final String SECRET = "ReplaceThisSecretWithAStrongKeyForProduction";
+
+    private BenchmarkFixtures() {
+    }
+
+    static String token(String username, String role) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(username)
+                .claim("roles", List.of(role))
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 60 * 60 * 1000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * A persisted-looking campaign with {@code children} goals and as many
+     * channels.
+     */
+    static Campaign campaign(long id, int children) {
+        LocalDateTime now = LocalDateTime.now();
+        Campaign campaign = Campaign.builder()
+                .id(id)
+                .name("campaign " + id)
+                .description("Spring vaccination campaign " + id)
+                .startDate(now)
+                .endDate(now.plusMonths(3))
+                .status("ACTIVE")
+                .ownerUsername("alice")
+                .stableId(1L)
+                .createdAt(now)
+                .updatedAt(now)
+                .version(3L)
+                .build();
+        for (int i = 0; i < children; i++) {
+            campaign.addGoal(Goal.builder()
+                    .id(id * 1000 + i)
+                    .description("goal " + i)
+                    .metric("CLICKS")
+                    .targetValue(1000)
+                    .currentValue(i * 7)
+                    .build());
+            campaign.addChannel(Channel.builder()
+                    .id(id * 1000 + i)
+                    .type("CHANNEL_" + i)
+                    .details("details of channel " + i)
+                    .build());
+        }
+        return campaign;
+    }
+
+    /**
+     * Outside Spring Boot, logback falls back to DEBUG on the console; keep it
+     * quiet so benchmarks measure the code rather than the appender.
+     */
+    static void quietLogging() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+}
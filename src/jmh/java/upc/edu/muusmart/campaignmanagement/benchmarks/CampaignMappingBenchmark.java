@@ -0,0 +1,46 @@
+package upc.edu.muusmart.campaignmanagement.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import upc.edu.muusmart.campaignmanagement.application.dto.CampaignResponse;
+import upc.edu.muusmart.campaignmanagement.application.service.CampaignResponseMapper;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Campaign;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-response mapping ({@code CampaignResponseMapper.toResponse})
+ * for campaigns with 0, 10 and 100 goals and channels.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CampaignMappingBenchmark {
+
+    @Param({"0", "10", "100"})
+    public int children;
+
+    private Campaign campaign;
+
+    @Setup
+    public void setUp() {
+        campaign = BenchmarkFixtures.campaign(1, children);
+    }
+
+    @Benchmark
+    public CampaignResponse toResponse() {
+        return CampaignResponseMapper.toResponse(campaign);
+    }
+}
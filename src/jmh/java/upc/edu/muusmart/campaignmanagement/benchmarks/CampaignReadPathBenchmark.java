@@ -0,0 +1,162 @@
+package upc.edu.muusmart.campaignmanagement.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import upc.edu.muusmart.campaignmanagement.application.dto.CampaignResponse;
+import upc.edu.muusmart.campaignmanagement.application.service.CampaignResponseMapper;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Campaign;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignRepository;
+import upc.edu.muusmart.campaignmanagement.domain.repository.ChannelRepository;
+import upc.edu.muusmart.campaignmanagement.domain.repository.GoalRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A user's campaign listing read two ways against an in-memory H2 database:
+ * the former entity path (managed campaigns with their goals and channels
+ * fetch-joined in a read-write transaction, then mapped field by field) and
+ * the projection path used by {@code CampaignService.getAllCampaignsByUsername}
+ * (three JPQL projection queries in a read-only transaction). Both issue the
+ * same kind of SQL, so the difference is the cost of managed entities:
+ * hydration, persistence context entries, dirty-check snapshots and the flush
+ * at commit. Run with the default {@code -prof gc} to compare allocation per
+ * listing ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CampaignReadPathBenchmark {
+
+    private static final String OWNER = "alice";
+
+    @Param({"10", "100", "1000"})
+    public int campaigns;
+
+    @Param({"5"})
+    public int children;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private CampaignRepository campaignRepository;
+    private GoalRepository goalRepository;
+    private ChannelRepository channelRepository;
+
+    /**
+     * JPA and the Spring Data repositories only, without the rest of the
+     * application (web server, schedulers, caches).
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Campaign.class)
+    @EnableJpaRepositories(basePackageClasses = CampaignRepository.class)
+    static class JpaOnly {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        context = new SpringApplicationBuilder(JpaOnly.class)
+                .web(WebApplicationType.NONE)
+                // Arguments, so they take precedence over application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--spring.devtools.restart.enabled=false",
+                        "--eureka.client.enabled=false",
+                        "--logging.level.root=WARN");
+        BenchmarkFixtures.quietLogging();
+
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        campaignRepository = context.getBean(CampaignRepository.class);
+        goalRepository = context.getBean(GoalRepository.class);
+        channelRepository = context.getBean(ChannelRepository.class);
+
+        readWrite.executeWithoutResult(status -> {
+            for (int i = 1; i <= campaigns; i++) {
+                Campaign campaign = BenchmarkFixtures.campaign(i, children);
+                campaign.setId(null);
+                campaign.setVersion(null);
+                campaign.setOwnerUsername(OWNER);
+                campaign.getGoals().forEach(goal -> goal.setId(null));
+                campaign.getChannels().forEach(channel -> channel.setId(null));
+                entityManager.persist(campaign);
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CampaignResponse> entityPath() {
+        return readWrite.execute(status -> {
+            // Two bags cannot be fetch-joined at once: the second query fills
+            // the channels of the campaigns already in the persistence context
+            List<Campaign> loaded = entityManager.createQuery(
+                            "select distinct c from Campaign c left join fetch c.goals "
+                                    + "where c.ownerUsername = :owner order by c.id", Campaign.class)
+                    .setParameter("owner", OWNER)
+                    .getResultList();
+            entityManager.createQuery(
+                            "select distinct c from Campaign c left join fetch c.channels "
+                                    + "where c.ownerUsername = :owner", Campaign.class)
+                    .setParameter("owner", OWNER)
+                    .getResultList();
+            List<CampaignResponse> responses = new ArrayList<>(loaded.size());
+            for (Campaign campaign : loaded) {
+                responses.add(CampaignResponseMapper.toResponse(campaign));
+            }
+            return responses;
+        });
+    }
+
+    @Benchmark
+    public List<CampaignResponse> projectionPath() {
+        // The same queries and assembly as CampaignService.getAllCampaignsByUsername
+        return readOnly.execute(status -> CampaignResponseMapper.assemble(
+                campaignRepository.findViewsByOwnerUsername(OWNER),
+                goalRepository.findViewsByCampaignOwnerUsername(OWNER),
+                channelRepository.findViewsByCampaignOwnerUsername(OWNER)));
+    }
+}
@@ -0,0 +1,90 @@
+package upc.edu.muusmart.campaignmanagement.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import upc.edu.muusmart.campaignmanagement.application.dto.CampaignResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.ChannelResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.GoalResponse;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Campaign;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Jackson serialization of a {@code GET /campaigns} body: a list of campaign
+ * responses with 10 goals and 10 channels each.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CampaignSerializationBenchmark {
+
+    @Param({"1", "100"})
+    public int campaigns;
+
+    private ObjectMapper objectMapper;
+    private List<CampaignResponse> responses;
+
+    @Setup
+    public void setUp() {
+        // Configured like the mapper Spring Boot uses for HTTP responses
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responses = new ArrayList<>(campaigns);
+        for (int i = 1; i <= campaigns; i++) {
+            responses.add(toResponse(BenchmarkFixtures.campaign(i, 10)));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeCampaignList() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    private static CampaignResponse toResponse(Campaign campaign) {
+        return CampaignResponse.builder()
+                .id(campaign.getId())
+                .name(campaign.getName())
+                .description(campaign.getDescription())
+                .startDate(campaign.getStartDate())
+                .endDate(campaign.getEndDate())
+                .status(campaign.getStatus())
+                .username(campaign.getOwnerUsername())
+                .stableId(campaign.getStableId())
+                .goals(campaign.getGoals().stream()
+                        .map(g -> GoalResponse.builder()
+                                .id(g.getId())
+                                .description(g.getDescription())
+                                .metric(g.getMetric())
+                                .targetValue(g.getTargetValue())
+                                .currentValue(g.getCurrentValue())
+                                .build())
+                        .collect(Collectors.toList()))
+                .channels(campaign.getChannels().stream()
+                        .map(c -> ChannelResponse.builder()
+                                .id(c.getId())
+                                .type(c.getType())
+                                .details(c.getDetails())
+                                .build())
+                        .collect(Collectors.toList()))
+                .createdAt(campaign.getCreatedAt())
+                .updatedAt(campaign.getUpdatedAt())
+                .version(campaign.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package upc.edu.muusmart.campaignmanagement.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import upc.edu.muusmart.campaignmanagement.infrastructure.search.CampaignTextIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text index queries over {@code campaigns} synthetic documents of 25 words
+ * drawn from a skewed 20,000-word vocabulary, spread over 1,000 owners: an
+ * admin query on a common and a rare word, the same query restricted to one
+ * owner, and a short prefix that expands to many terms.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class CampaignTextIndexBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int WORDS_PER_CAMPAIGN = 25;
+    private static final int OWNERS = 1_000;
+
+    @Param({"1000000"})
+    public int campaigns;
+
+    private CampaignTextIndex index;
+    private String[] words;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = "w" + i + "x";
+        }
+        index = new CampaignTextIndex();
+        List<String> terms = new ArrayList<>(WORDS_PER_CAMPAIGN);
+        for (long id = 1; id <= campaigns; id++) {
+            terms.clear();
+            for (int w = 0; w < WORDS_PER_CAMPAIGN; w++) {
+                // Cubing a uniform value favours low word numbers, like natural text
+                double r = random.nextDouble();
+                terms.add(words[(int) (VOCABULARY * r * r * r)]);
+            }
+            index.put(id, "user" + (id % OWNERS), terms);
+        }
+    }
+
+    @Benchmark
+    public List<Long> commonAndRareWord() {
+        return index.search(words[1] + " " + words[5_000], null, 50);
+    }
+
+    @Benchmark
+    public List<Long> commonAndRareWordForOwner() {
+        return index.search(words[1] + " " + words[5_000], "user7", 50);
+    }
+
+    @Benchmark
+    public List<Long> commonWordForOwner() {
+        return index.search(words[1], "user7", 50);
+    }
+
+    @Benchmark
+    public List<Long> broadPrefix() {
+        return index.search("w1", null, 50);
+    }
+}
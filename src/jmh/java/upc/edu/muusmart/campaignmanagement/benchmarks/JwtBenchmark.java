@@ -0,0 +1,57 @@
+package upc.edu.muusmart.campaignmanagement.benchmarks;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import upc.edu.muusmart.campaignmanagement.infrastructure.security.JwtUtil;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Token verification cost: a full parse and signature check against the
+ * cached path used by the authentication filter.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        jwtUtil = new JwtUtil();
+        token = BenchmarkFixtures.token("alice", "ROLE_USER");
+        jwtUtil.verifyToken(token);
+    }
+
+    /**
+     * Parses and verifies the token on every call (extractAllClaims).
+     */
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtUtil.extractClaim(token, Function.identity());
+    }
+
+    /**
+     * Served from the verified-token cache after the first call.
+     */
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+}
@@ -0,0 +1,344 @@
+package upc.edu.muusmart.campaignmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load driver for the read endpoints of the service.
+ *
+ * <p>Meant to run against an instance started with the {@code loadtest}
+ * profile, whose data seeder creates stables for {@code user0..userN}. The
+ * driver mints tokens the same way the auth service does, discovers the ids
+ * each user can see, and then keeps {@code concurrency} threads issuing
+ * requests picked from the configured mix. Latencies are recorded per
+ * endpoint in HdrHistogram recorders; the warmup interval is discarded.</p>
+ *
+ * <p>Arguments are {@code key=value} pairs, all optional:</p>
+ * <ul>
+ *   <li>{@code baseUrl} - defaults to {@code http://localhost:8084}</li>
+ *   <li>{@code concurrency} - worker threads, defaults to 32</li>
+ *   <li>{@code duration} / {@code warmup} - e.g. {@code 60s} or {@code 2m}, default 30s / 5s</li>
+ *   <li>{@code users} - number of seeded owners to spread requests over, default 10</li>
+ *   <li>{@code mix} - weighted endpoints, default {@code campaigns:40,campaign:30,stables:15,stable:15}</li>
+ *   <li>{@code pageSize} - {@code limit} used by the listing endpoints, default 50</li>
+ *   <li>{@code hgrmDir} - if set, one {@code .hgrm} percentile file per endpoint is written there</li>
+ * </ul>
+ */
+public final class LoadDriver {
+
+    // Same secret as JwtUtil
+    private static final String SECRET = "ReplaceThisSecretWithAStrongKeyForProduction";
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, String> options;
+    private final String baseUrl;
+    private final int pageSize;
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    private final List<String> weightedEndpoints = new ArrayList<>();
+    private final List<UserContext> users = new ArrayList<>();
+
+    LoadDriver(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = options.getOrDefault("baseUrl", "http://localhost:8084");
+        this.pageSize = Integer.parseInt(options.getOrDefault("pageSize", "50"));
+        for (String entry : options.getOrDefault("mix", "campaigns:40,campaign:30,stables:15,stable:15").split(",")) {
+            String[] parts = entry.trim().split(":");
+            String name = parts[0];
+            if (!List.of("campaigns", "campaign", "stables", "stable").contains(name)) {
+                throw new IllegalArgumentException("Unknown endpoint in mix: " + name);
+            }
+            endpoints.put(name, new Endpoint(name));
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            for (int i = 0; i < weight; i++) {
+                weightedEndpoints.add(name);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadDriver(parseOptions(args)).run();
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Runs the configured load, prints the per-endpoint report and returns the
+     * figures over all endpoints.
+     */
+    Summary run() throws Exception {
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        long warmupNanos = parseDuration(options.getOrDefault("warmup", "5s"));
+        long durationNanos = parseDuration(options.getOrDefault("duration", "30s"));
+        int userCount = Integer.parseInt(options.getOrDefault("users", "10"));
+
+        for (int i = 0; i < userCount; i++) {
+            users.add(discover("user" + i));
+        }
+        System.out.printf("Discovered %d campaigns and %d stables over %d users%n",
+                users.stream().mapToInt(u -> u.campaignIds.size()).sum(),
+                users.stream().mapToInt(u -> u.stableIds.size()).sum(), userCount);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long deadline = measureFrom + durationNanos;
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> work(deadline));
+        }
+
+        TimeUnit.NANOSECONDS.sleep(warmupNanos);
+        endpoints.values().forEach(Endpoint::reset);
+        System.out.printf("Warmup done, measuring for %ds with %d threads%n",
+                TimeUnit.NANOSECONDS.toSeconds(durationNanos), concurrency);
+
+        workers.shutdown();
+        workers.awaitTermination(durationNanos + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS);
+        long measuredNanos = System.nanoTime() - measureFrom;
+
+        report(System.out, measuredNanos);
+        String hgrmDir = options.get("hgrmDir");
+        if (hgrmDir != null) {
+            writeHgrm(Path.of(hgrmDir));
+        }
+        return summarize(measuredNanos);
+    }
+
+    private void work(long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            UserContext user = users.get(random.nextInt(users.size()));
+            Endpoint endpoint = endpoints.get(weightedEndpoints.get(random.nextInt(weightedEndpoints.size())));
+            String path = pathFor(endpoint.name, user, random);
+            if (path == null) {
+                continue;
+            }
+            long begin = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request(path, user.token),
+                        HttpResponse.BodyHandlers.discarding());
+                endpoint.record(System.nanoTime() - begin, response.statusCode() / 100 == 2);
+            } catch (IOException e) {
+                endpoint.record(System.nanoTime() - begin, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private String pathFor(String endpoint, UserContext user, ThreadLocalRandom random) {
+        switch (endpoint) {
+            case "campaigns":
+                return "/campaigns?limit=" + pageSize;
+            case "stables":
+                return "/stables?limit=" + pageSize;
+            case "campaign":
+                return user.campaignIds.isEmpty() ? null
+                        : "/campaigns/" + user.campaignIds.get(random.nextInt(user.campaignIds.size()));
+            case "stable":
+                return user.stableIds.isEmpty() ? null
+                        : "/stables/" + user.stableIds.get(random.nextInt(user.stableIds.size()));
+            default:
+                throw new IllegalStateException(endpoint);
+        }
+    }
+
+    private UserContext discover(String username) throws IOException, InterruptedException {
+        String token = token(username);
+        return new UserContext(token, ids("/campaigns?limit=500", token), ids("/stables?limit=500", token));
+    }
+
+    private List<Long> ids(String path, String token) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request(path, token),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode() + ": " + response.body());
+        }
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode node : objectMapper.readTree(response.body())) {
+            ids.add(node.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private HttpRequest request(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private void report(PrintStream out, long measuredNanos) {
+        double seconds = measuredNanos / 1e9;
+        out.printf("%n%-10s %10s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Endpoint endpoint : endpoints.values()) {
+            Histogram h = endpoint.total();
+            out.printf("%-10s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    endpoint.name, h.getTotalCount(), h.getTotalCount() / seconds, endpoint.errors.sum(),
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue()));
+        }
+    }
+
+    private Summary summarize(long measuredNanos) {
+        Histogram all = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        long errors = 0;
+        for (Endpoint endpoint : endpoints.values()) {
+            all.add(endpoint.total());
+            errors += endpoint.errors.sum();
+        }
+        return new Summary(all.getTotalCount() / (measuredNanos / 1e9), errors,
+                millis(all.getValueAtPercentile(50)), millis(all.getValueAtPercentile(99)));
+    }
+
+    private void writeHgrm(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        for (Endpoint endpoint : endpoints.values()) {
+            Path file = dir.resolve(endpoint.name + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+                // Values are recorded in nanoseconds; scale the report to milliseconds
+                endpoint.total().outputPercentileDistribution(out, 1_000_000.0);
+            }
+            System.out.println("Wrote " + file);
+        }
+    }
+
+    private static String token(String username) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(username)
+                .claim("roles", List.of("ROLE_USER"))
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + TimeUnit.HOURS.toMillis(2)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static long parseDuration(String value) {
+        String v = value.trim().toLowerCase();
+        if (v.endsWith("ms")) {
+            return TimeUnit.MILLISECONDS.toNanos(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("m")) {
+            return TimeUnit.MINUTES.toNanos(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("s")) {
+            v = v.substring(0, v.length() - 1);
+        }
+        return TimeUnit.SECONDS.toNanos(Long.parseLong(v));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Throughput, error count and latency percentiles over all endpoints.
+     */
+    static final class Summary {
+        final double requestsPerSecond;
+        final long errors;
+        final double p50Millis;
+        final double p99Millis;
+
+        Summary(double requestsPerSecond, long errors, double p50Millis, double p99Millis) {
+            this.requestsPerSecond = requestsPerSecond;
+            this.errors = errors;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+        }
+    }
+
+    private static final class UserContext {
+        final String token;
+        final List<Long> campaignIds;
+        final List<Long> stableIds;
+
+        UserContext(String token, List<Long> campaignIds, List<Long> stableIds) {
+            this.token = token;
+            this.campaignIds = campaignIds;
+            this.stableIds = stableIds;
+        }
+    }
+
+    private static final class Endpoint {
+        final String name;
+        final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        final LongAdder errors = new LongAdder();
+        Histogram total;
+
+        Endpoint(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos, boolean ok) {
+            recorder.recordValue(Math.min(nanos, HIGHEST_TRACKABLE_NANOS));
+            if (!ok) {
+                errors.increment();
+            }
+        }
+
+        /**
+         * Drops everything recorded so far, i.e. the warmup.
+         */
+        void reset() {
+            recorder.reset();
+            errors.reset();
+        }
+
+        /**
+         * Everything recorded since the last reset; only meant to be called once
+         * the workers have stopped.
+         */
+        Histogram total() {
+            if (total == null) {
+                total = recorder.getIntervalHistogram();
+            }
+            return total;
+        }
+    }
+}
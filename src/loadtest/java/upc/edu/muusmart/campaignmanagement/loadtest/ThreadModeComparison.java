@@ -0,0 +1,230 @@
+package upc.edu.muusmart.campaignmanagement.loadtest;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares request handling on platform threads with virtual threads under the
+ * same closed-loop load.
+ *
+ * <p>For each mode the service is started in its own JVM with the
+ * {@code loadtest} profile and {@code spring.threads.virtual.enabled} set
+ * accordingly, driven by {@link LoadDriver} once it reports ready, and stopped
+ * again. The virtual-thread run records a JFR file with every
+ * {@code jdk.VirtualThreadPinned} event, and the report counts them along with
+ * the frames they most often pinned in. Virtual threads need a Java 21+
+ * runtime for the service; on an older one that mode is reported as skipped.</p>
+ *
+ * <p>Arguments are {@code key=value} pairs, all optional; everything not
+ * listed here is passed on to {@link LoadDriver}:</p>
+ * <ul>
+ *   <li>{@code javaHome} - JDK the service runs on, defaults to the one running this</li>
+ *   <li>{@code modes} - defaults to {@code platform,virtual}</li>
+ *   <li>{@code port} - defaults to 18090</li>
+ *   <li>{@code limiter} - {@code campaign.jdbc-limiter.enabled} for both runs, default true</li>
+ *   <li>{@code concurrency} - defaults to 400, twice Tomcat's platform thread count</li>
+ *   <li>{@code outDir} - service logs and JFR files, defaults to {@code target/loadtest/thread-modes}</li>
+ * </ul>
+ */
+public final class ThreadModeComparison {
+
+    private static final String APPLICATION = "upc.edu.muusmart.campaignmanagement.CampaignManagementApplication";
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final long START_TIMEOUT_SECONDS = 180;
+    private static final int TOP_PINNED_FRAMES = 5;
+
+    private final Map<String, String> options;
+    private final Path javaHome;
+    private final int port;
+    private final Path outDir;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+    private ThreadModeComparison(Map<String, String> options) {
+        this.options = options;
+        this.javaHome = Path.of(options.getOrDefault("javaHome", System.getProperty("java.home")));
+        this.port = Integer.parseInt(options.getOrDefault("port", "18090"));
+        this.outDir = Path.of(options.getOrDefault("outDir", "target/loadtest/thread-modes"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new ThreadModeComparison(LoadDriver.parseOptions(args)).run();
+    }
+
+    private void run() throws Exception {
+        Files.createDirectories(outDir);
+        int javaVersion = featureVersion(javaHome);
+        Map<String, String> results = new LinkedHashMap<>();
+        List<String> pinningReports = new ArrayList<>();
+        for (String mode : options.getOrDefault("modes", "platform,virtual").split(",")) {
+            mode = mode.trim();
+            if (!mode.equals("platform") && !mode.equals("virtual")) {
+                throw new IllegalArgumentException("Unknown mode: " + mode);
+            }
+            boolean virtual = mode.equals("virtual");
+            if (virtual && javaVersion < 21) {
+                results.put(mode, String.format("skipped: %s is Java %d, virtual threads need 21+", javaHome,
+                        javaVersion));
+                continue;
+            }
+            System.out.printf("%n=== %s threads ===%n", mode);
+            Path jfr = outDir.resolve(mode + ".jfr");
+            Files.deleteIfExists(jfr);
+            Process service = start(mode, virtual, jfr);
+            LoadDriver.Summary summary;
+            try {
+                awaitReady(service);
+                summary = new LoadDriver(driverOptions()).run();
+            } finally {
+                stop(service);
+            }
+            String pinned = "-";
+            if (virtual) {
+                List<RecordedEvent> events = pinnedEvents(jfr);
+                pinned = String.valueOf(events.size());
+                pinningReports.add(pinningReport(events, jfr));
+            }
+            results.put(mode, String.format("%10.1f %8d %10.2f %10.2f %8s", summary.requestsPerSecond,
+                    summary.errors, summary.p50Millis, summary.p99Millis, pinned));
+        }
+
+        PrintStream out = System.out;
+        out.printf("%n%-10s %10s %8s %10s %10s %8s%n", "threads", "req/s", "errors", "p50 ms", "p99 ms", "pinned");
+        results.forEach((mode, line) -> out.printf("%-10s %s%n", mode, line));
+        pinningReports.forEach(out::print);
+    }
+
+    private Map<String, String> driverOptions() {
+        Map<String, String> driver = new LinkedHashMap<>(options);
+        List.of("javaHome", "modes", "port", "limiter", "outDir").forEach(driver::remove);
+        driver.put("baseUrl", "http://localhost:" + port);
+        driver.putIfAbsent("concurrency", "400");
+        return driver;
+    }
+
+    private Process start(String mode, boolean virtual, Path jfr) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(javaHome.resolve("bin").resolve("java").toString());
+        if (virtual) {
+            // Every pinned section, not only those above the default 20 ms threshold
+            command.add("-XX:StartFlightRecording=filename=" + jfr + ",dumponexit=true,"
+                    + PINNED_EVENT + "#threshold=0ms");
+        }
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), APPLICATION,
+                "--spring.profiles.active=loadtest",
+                "--server.port=" + port,
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--campaign.jdbc-limiter.enabled=" + options.getOrDefault("limiter", "true"),
+                "--management.endpoint.health.probes.enabled=true"));
+        Path log = outDir.resolve(mode + ".log");
+        System.out.println("Starting the service, log in " + log);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    /**
+     * Waits until the service reports ready, which is after the data seeder
+     * has run.
+     */
+    private void awaitReady(Process service) throws IOException, InterruptedException {
+        HttpRequest readiness = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/actuator/health/readiness")).GET().build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(START_TIMEOUT_SECONDS);
+        while (System.nanoTime() < deadline) {
+            if (!service.isAlive()) {
+                throw new IllegalStateException("The service exited with " + service.exitValue() + "; see " + outDir);
+            }
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            TimeUnit.SECONDS.sleep(1);
+        }
+        throw new IllegalStateException("The service was not ready after " + START_TIMEOUT_SECONDS + "s");
+    }
+
+    private static void stop(Process service) throws InterruptedException {
+        // A normal shutdown, so the JFR recording is written
+        service.destroy();
+        if (!service.waitFor(60, TimeUnit.SECONDS)) {
+            service.destroyForcibly().waitFor();
+        }
+    }
+
+    private static List<RecordedEvent> pinnedEvents(Path jfr) throws IOException {
+        if (!Files.exists(jfr)) {
+            throw new IllegalStateException("No recording at " + jfr);
+        }
+        return RecordingFile.readAllEvents(jfr).stream()
+                .filter(event -> event.getEventType().getName().equals(PINNED_EVENT))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The number of pinning events and the application frames (or, failing
+     * that, the top frames) they most often happened in.
+     */
+    private static String pinningReport(List<RecordedEvent> events, Path jfr) {
+        StringBuilder report = new StringBuilder(String.format("%n%d virtual thread pinning events (%s)%n",
+                events.size(), jfr));
+        Map<String, Long> byFrame = events.stream()
+                .collect(Collectors.groupingBy(ThreadModeComparison::pinnedAt, Collectors.counting()));
+        byFrame.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_PINNED_FRAMES)
+                .forEach(entry -> report.append(String.format("%8d  %s%n", entry.getValue(), entry.getKey())));
+        return report.toString();
+    }
+
+    private static String pinnedAt(RecordedEvent event) {
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return "(no stack trace)";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        RecordedFrame frame = frames.stream()
+                .filter(f -> f.getMethod().getType().getName().startsWith("upc.edu.muusmart."))
+                .findFirst()
+                .orElse(frames.get(0));
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    /**
+     * The feature version of the JDK at {@code javaHome}, read from its
+     * {@code release} file.
+     */
+    private static int featureVersion(Path javaHome) throws IOException {
+        Path release = javaHome.resolve("release");
+        if (!Files.exists(release)) {
+            return Runtime.version().feature();
+        }
+        Properties properties = new Properties();
+        try (var reader = Files.newBufferedReader(release)) {
+            properties.load(reader);
+        }
+        String version = properties.getProperty("JAVA_VERSION", "").replace("\"", "");
+        return Integer.parseInt(version.split("[.+-]")[0]);
+    }
+}
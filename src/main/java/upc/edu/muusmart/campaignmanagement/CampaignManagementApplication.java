@@ -2,8 +2,10 @@ package upc.edu.muusmart.campaignmanagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CampaignManagementApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,35 @@
+package upc.edu.muusmart.campaignmanagement.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One campaign of a batch creation request, with the goals and channels to
+ * create along with it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCampaignItem {
+
+    @NotNull(message = "Campaign is required")
+    @Valid
+    private CreateCampaignRequest campaign;
+
+    @Valid
+    @Builder.Default
+    private List<AddGoalRequest> goals = new ArrayList<>();
+
+    @Valid
+    @Builder.Default
+    private List<AddChannelRequest> channels = new ArrayList<>();
+
+}
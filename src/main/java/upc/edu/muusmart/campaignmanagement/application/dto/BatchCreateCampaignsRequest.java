@@ -0,0 +1,29 @@
+package upc.edu.muusmart.campaignmanagement.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request payload for creating many campaigns in one call.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCreateCampaignsRequest {
+
+    public static final int MAX_ITEMS = 1000;
+
+    @NotEmpty(message = "At least one campaign is required")
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " campaigns per batch")
+    @Valid
+    private List<BatchCampaignItem> campaigns;
+
+}
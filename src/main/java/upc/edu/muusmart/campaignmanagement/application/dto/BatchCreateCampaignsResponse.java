@@ -0,0 +1,24 @@
+package upc.edu.muusmart.campaignmanagement.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response of a batch campaign creation: counts plus one result per item, in
+ * request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCreateCampaignsResponse {
+
+    private int created;
+    private int rejected;
+    private List<BatchItemResult> results;
+
+}
@@ -0,0 +1,29 @@
+package upc.edu.muusmart.campaignmanagement.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch request. {@code index} is the position of
+ * the item in the request; {@code error} is set when the item was rejected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchItemResult {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        REJECTED
+    }
+
+    private int index;
+    private Status status;
+    private Long id;
+    private String error;
+
+}
@@ -0,0 +1,29 @@
+package upc.edu.muusmart.campaignmanagement.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request payload for updating the progress of many goals in one call.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkGoalProgressRequest {
+
+    public static final int MAX_ITEMS = 5000;
+
+    @NotEmpty(message = "At least one update is required")
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " updates per request")
+    @Valid
+    private List<GoalProgressUpdate> updates;
+
+}
@@ -0,0 +1,24 @@
+package upc.edu.muusmart.campaignmanagement.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a bulk goal progress update. Only rejected items are listed in
+ * {@code rejections}; every other item was applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkGoalProgressResponse {
+
+    private int updated;
+    private int rejected;
+    private List<BatchItemResult> rejections;
+
+}
@@ -0,0 +1,21 @@
+package upc.edu.muusmart.campaignmanagement.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Overview of the caller's campaigns: totals over all stables and one entry
+ * per stable that has campaigns, ordered by stable id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CampaignDashboardResponse {
+    private CampaignSummaryResponse total;
+    private List<CampaignSummaryResponse> stables;
+}
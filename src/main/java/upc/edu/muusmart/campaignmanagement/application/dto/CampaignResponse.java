@@ -11,7 +11,7 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class CampaignResponse {
 
     private Long id;
@@ -31,5 +31,9 @@ public class CampaignResponse {
     private List<ChannelResponse> channels;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    /**
+     * Current version of the campaign; the same value is sent in the ETag.
+     */
+    private Long version;
 
 }
@@ -0,0 +1,52 @@
+package upc.edu.muusmart.campaignmanagement.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Query parameters of the campaign search. Every filter is optional and they
+ * combine with AND; date bounds are inclusive ISO date-times.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CampaignSearchRequest {
+
+    private String status;
+
+    private Long stableId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime startFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime startTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime endFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime endTo;
+
+    /**
+     * Matches campaigns whose name starts with this value.
+     */
+    private String name;
+
+    /**
+     * One of {@code id}, {@code name}, {@code startDate} or {@code endDate},
+     * prefixed with {@code -} for descending order. Defaults to {@code startDate}.
+     */
+    private String sort;
+
+    private Integer limit;
+
+    private String cursor;
+
+}
@@ -0,0 +1,39 @@
+package upc.edu.muusmart.campaignmanagement.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Campaign and goal counts of one stable, or of all stables when
+ * {@code stableId} is null.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CampaignSummaryResponse {
+    private Long stableId;
+    private long campaigns;
+    /**
+     * Number of campaigns per status; every known status is present.
+     */
+    private Map<String, Long> campaignsByStatus;
+    private long goals;
+    /**
+     * Goals whose current value has reached their target.
+     */
+    private long completedGoals;
+    private long goalTargetTotal;
+    /**
+     * Sum of the goals' current values, each capped at its target.
+     */
+    private long goalProgressTotal;
+    /**
+     * {@code goalProgressTotal / goalTargetTotal}, between 0 and 1 (0 without goals).
+     */
+    private double completionRatio;
+}
@@ -0,0 +1,28 @@
+package upc.edu.muusmart.campaignmanagement.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the change feed: campaigns and stables created or updated, and
+ * ids of campaigns deleted, since the cursor the client sent. The client keeps
+ * {@code nextCursor} for its next sync; when {@code hasMore} is true it can
+ * ask again right away for the rest.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeFeedResponse {
+
+    private List<CampaignResponse> campaigns;
+    private List<StableResponse> stables;
+    private List<Long> deletedCampaignIds;
+    private String nextCursor;
+    private boolean hasMore;
+
+}
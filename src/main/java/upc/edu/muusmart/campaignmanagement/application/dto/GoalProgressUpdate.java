@@ -0,0 +1,26 @@
+package upc.edu.muusmart.campaignmanagement.application.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress update for one goal. Exactly one of {@code currentValue} (the new
+ * absolute value) or {@code delta} (an amount to add) must be set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GoalProgressUpdate {
+
+    @NotNull(message = "Goal id is required")
+    private Long goalId;
+
+    private Integer currentValue;
+
+    private Integer delta;
+
+}
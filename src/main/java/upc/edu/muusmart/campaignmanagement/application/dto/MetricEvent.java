@@ -0,0 +1,33 @@
+package upc.edu.muusmart.campaignmanagement.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One or more occurrences of a metric (CLICKS, VIEWS or CONVERSIONS) observed
+ * on a channel of a campaign. {@code count} defaults to 1.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MetricEvent {
+
+    @NotNull(message = "Campaign id is required")
+    private Long campaignId;
+
+    @NotBlank(message = "Channel type is required")
+    private String channelType;
+
+    @NotBlank(message = "Metric is required")
+    private String metric;
+
+    @Positive(message = "Count must be positive")
+    private Integer count;
+
+}
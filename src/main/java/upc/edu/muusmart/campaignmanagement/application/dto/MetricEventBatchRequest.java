@@ -0,0 +1,29 @@
+package upc.edu.muusmart.campaignmanagement.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request payload for ingesting metric events.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MetricEventBatchRequest {
+
+    public static final int MAX_ITEMS = 10_000;
+
+    @NotEmpty(message = "At least one event is required")
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " events per request")
+    @Valid
+    private List<MetricEvent> events;
+
+}
@@ -0,0 +1,24 @@
+package upc.edu.muusmart.campaignmanagement.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a metric ingestion call. Accepted events are buffered and reach
+ * the goals on the next flush; only rejected events are listed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MetricEventBatchResponse {
+
+    private int accepted;
+    private int rejected;
+    private List<BatchItemResult> rejections;
+
+}
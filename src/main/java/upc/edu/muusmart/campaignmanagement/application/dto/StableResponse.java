@@ -28,4 +28,8 @@ public class StableResponse {
     private String location;
     private Integer capacity;
     private StableStatus status;
+    /**
+     * Current version of the stable; the same value is sent in the ETag.
+     */
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import upc.edu.muusmart.campaignmanagement.application.dto.AddChannelRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.AddGoalRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.BatchCampaignItem;
+import upc.edu.muusmart.campaignmanagement.application.dto.BatchCreateCampaignsRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.BatchCreateCampaignsResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.BatchItemResult;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateCampaignRequest;
+import upc.edu.muusmart.campaignmanagement.domain.events.CampaignChangedEvent;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Campaign;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Channel;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Goal;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.StableSnapshot;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignRepository;
+import upc.edu.muusmart.campaignmanagement.infrastructure.cache.StableLookupCache;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many campaigns in one transaction. Name uniqueness and stable
+ * ownership are checked for the whole batch with set-based queries, invalid
+ * items are rejected individually, and the valid campaigns are inserted
+ * together with their goals and channels in JDBC batches.
+ */
+@Service
+@Timed("service.invocations")
+@RequiredArgsConstructor
+@Transactional(timeoutString = "${campaign.changes.write-timeout-seconds:20}")
+public class CampaignBatchService {
+
+    private final CampaignRepository campaignRepository;
+    private final StableLookupCache stableLookupCache;
+    private final CampaignSummaryService campaignSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Creates the campaigns of the request for the given user. Each item is
+     * validated with the same rules as {@link CampaignService#createCampaign};
+     * items that fail are reported as rejected and do not prevent the others
+     * from being created.
+     *
+     * @param request  the campaigns to create
+     * @param username the username of the authenticated user
+     * @param isAdmin  whether the caller has the ADMIN role
+     * @return one result per item, in request order
+     */
+    public BatchCreateCampaignsResponse createCampaigns(BatchCreateCampaignsRequest request, String username, boolean isAdmin) {
+        List<BatchCampaignItem> items = request.getCampaigns();
+
+        // Names are compared case-insensitively, like the MySQL unique key
+        Set<String> takenNames = campaignRepository.findNamesByOwnerUsernameAndNameIn(username,
+                        items.stream().map(i -> i.getCampaign().getName()).collect(Collectors.toSet()))
+                .stream()
+                .map(n -> n.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toCollection(HashSet::new));
+        Map<Long, StableSnapshot> stables = stableLookupCache.findAll(
+                items.stream().map(i -> i.getCampaign().getStableId()).collect(Collectors.toSet()));
+
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        List<Campaign> campaigns = new ArrayList<>();
+        List<BatchItemResult> created = new ArrayList<>();
+        for (int index = 0; index < items.size(); index++) {
+            BatchCampaignItem item = items.get(index);
+            String error = validate(item, takenNames, stables, username, isAdmin);
+            if (error != null) {
+                results.add(BatchItemResult.builder()
+                        .index(index)
+                        .status(BatchItemResult.Status.REJECTED)
+                        .error(error)
+                        .build());
+                continue;
+            }
+            takenNames.add(item.getCampaign().getName().toLowerCase(Locale.ROOT));
+            BatchItemResult result = BatchItemResult.builder()
+                    .index(index)
+                    .status(BatchItemResult.Status.CREATED)
+                    .build();
+            results.add(result);
+            created.add(result);
+            campaigns.add(toCampaign(item, username));
+        }
+
+        // Ids come from the pooled table generator, so these inserts are batched
+        campaignRepository.saveAll(campaigns);
+        campaignRepository.flush();
+        campaignSummaryService.recordChanges(Map.of(), campaigns.stream().map(Campaign::getId).toList());
+        for (int i = 0; i < campaigns.size(); i++) {
+            Campaign campaign = campaigns.get(i);
+            created.get(i).setId(campaign.getId());
+            eventPublisher.publishEvent(new CampaignChangedEvent(
+                    campaign.getId(), campaign.getOwnerUsername(), CampaignChangedEvent.Type.CREATED));
+        }
+
+        return BatchCreateCampaignsResponse.builder()
+                .created(campaigns.size())
+                .rejected(items.size() - campaigns.size())
+                .results(results)
+                .build();
+    }
+
+    private String validate(BatchCampaignItem item, Set<String> takenNames, Map<Long, StableSnapshot> stables,
+                            String username, boolean isAdmin) {
+        CreateCampaignRequest campaign = item.getCampaign();
+        if (!CampaignService.ALLOWED_STATUSES.contains(campaign.getStatus())) {
+            return "Invalid status. Allowed: " + CampaignService.ALLOWED_STATUSES;
+        }
+        if (takenNames.contains(campaign.getName().toLowerCase(Locale.ROOT))) {
+            return "Campaign name already exists for this user";
+        }
+        StableSnapshot stable = stables.get(campaign.getStableId());
+        if (stable == null) {
+            return "Stable not found with id: " + campaign.getStableId();
+        }
+        if (!isAdmin && !stable.getOwnerUsername().equals(username)) {
+            return "You are not authorized to use this stable: " + campaign.getStableId();
+        }
+        Set<String> descriptions = new HashSet<>();
+        for (AddGoalRequest goal : goalsOf(item)) {
+            if (!CampaignService.ALLOWED_GOAL_METRICS.contains(goal.getMetric())) {
+                return "Invalid metric. Allowed: " + CampaignService.ALLOWED_GOAL_METRICS;
+            }
+            if (!descriptions.add(goal.getDescription().toLowerCase(Locale.ROOT))) {
+                return "Goal with the same description already exists in this campaign";
+            }
+        }
+        Set<String> types = new HashSet<>();
+        for (AddChannelRequest channel : channelsOf(item)) {
+            if (!types.add(channel.getType().toLowerCase(Locale.ROOT))) {
+                return "Channel with the same type already exists in this campaign";
+            }
+        }
+        return null;
+    }
+
+    private Campaign toCampaign(BatchCampaignItem item, String username) {
+        CreateCampaignRequest request = item.getCampaign();
+        Campaign campaign = Campaign.builder()
+                .name(request.getName())
+                .description(request.getDescription())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .status(request.getStatus())
+                .ownerUsername(username)
+                .stableId(request.getStableId())
+                .build();
+        for (AddGoalRequest goal : goalsOf(item)) {
+            campaign.addGoal(Goal.builder()
+                    .description(goal.getDescription())
+                    .metric(goal.getMetric())
+                    .targetValue(goal.getTargetValue())
+                    .currentValue(goal.getCurrentValue())
+                    .build());
+        }
+        for (AddChannelRequest channel : channelsOf(item)) {
+            campaign.addChannel(Channel.builder()
+                    .type(channel.getType())
+                    .details(channel.getDetails())
+                    .build());
+        }
+        return campaign;
+    }
+
+    private static List<AddGoalRequest> goalsOf(BatchCampaignItem item) {
+        return item.getGoals() != null ? item.getGoals() : List.of();
+    }
+
+    private static List<AddChannelRequest> channelsOf(BatchCampaignItem item) {
+        return item.getChannels() != null ? item.getChannels() : List.of();
+    }
+}
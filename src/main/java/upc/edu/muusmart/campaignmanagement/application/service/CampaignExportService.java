@@ -0,0 +1,180 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import upc.edu.muusmart.campaignmanagement.application.dto.CampaignResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.ChannelResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.GoalResponse;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Campaign;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.ChannelView;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.GoalView;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignRepository;
+import upc.edu.muusmart.campaignmanagement.domain.repository.ChannelRepository;
+import upc.edu.muusmart.campaignmanagement.domain.repository.GoalRepository;
+import upc.edu.muusmart.campaignmanagement.shared.exceptions.InvalidValueException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes campaigns to an output stream for bulk export. Campaigns are read
+ * from a streamed query and processed in chunks: the goals and channels of
+ * each chunk are loaded with one projection query each, the rows are written
+ * and flushed, and the persistence context is cleared before the next chunk.
+ * Memory use therefore depends on the chunk size, not on the size of the table.
+ */
+@Service
+@Timed("service.invocations")
+@RequiredArgsConstructor
+public class CampaignExportService {
+
+    private static final int CHUNK_SIZE = Integer.parseInt(CampaignRepository.EXPORT_FETCH_SIZE);
+    private static final String CSV_HEADER =
+            "id,name,description,startDate,endDate,status,username,stableId,createdAt,updatedAt,goals,channels";
+
+    private final CampaignRepository campaignRepository;
+    private final GoalRepository goalRepository;
+    private final ChannelRepository channelRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new InvalidValueException("Invalid export format. Allowed: ndjson, csv");
+        }
+    }
+
+    /**
+     * Streams the campaigns visible to the caller to {@code out}. Administrators
+     * export every campaign; normal users export only their own.
+     *
+     * @param username the username of the authenticated user
+     * @param isAdmin  whether the caller has the ADMIN role
+     * @param format   the output format
+     * @param out      the stream to write to; it is flushed but not closed
+     */
+    @Transactional(readOnly = true)
+    public void exportCampaigns(String username, boolean isAdmin, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try (Stream<Campaign> campaigns = isAdmin
+                ? campaignRepository.streamAll()
+                : campaignRepository.streamByOwnerUsername(username)) {
+            List<Campaign> chunk = new ArrayList<>(CHUNK_SIZE);
+            var iterator = campaigns.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(chunk, format, writer);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, format, writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeChunk(List<Campaign> chunk, Format format, Writer writer) throws IOException {
+        List<Long> ids = chunk.stream().map(Campaign::getId).collect(Collectors.toList());
+        Map<Long, List<GoalResponse>> goals = goalRepository.findViewsByCampaignIdIn(ids).stream()
+                .collect(Collectors.groupingBy(GoalView::getCampaignId,
+                        Collectors.mapping(g -> GoalResponse.builder()
+                                .id(g.getId())
+                                .description(g.getDescription())
+                                .metric(g.getMetric())
+                                .targetValue(g.getTargetValue())
+                                .currentValue(g.getCurrentValue())
+                                .build(), Collectors.toList())));
+        Map<Long, List<ChannelResponse>> channels = channelRepository.findViewsByCampaignIdIn(ids).stream()
+                .collect(Collectors.groupingBy(ChannelView::getCampaignId,
+                        Collectors.mapping(c -> ChannelResponse.builder()
+                                .id(c.getId())
+                                .type(c.getType())
+                                .details(c.getDetails())
+                                .build(), Collectors.toList())));
+
+        for (Campaign campaign : chunk) {
+            CampaignResponse row = CampaignResponse.builder()
+                    .id(campaign.getId())
+                    .name(campaign.getName())
+                    .description(campaign.getDescription())
+                    .startDate(campaign.getStartDate())
+                    .endDate(campaign.getEndDate())
+                    .status(campaign.getStatus())
+                    .username(campaign.getOwnerUsername())
+                    .stableId(campaign.getStableId())
+                    .goals(goals.getOrDefault(campaign.getId(), List.of()))
+                    .channels(channels.getOrDefault(campaign.getId(), List.of()))
+                    .createdAt(campaign.getCreatedAt())
+                    .updatedAt(campaign.getUpdatedAt())
+                    .version(campaign.getVersion())
+                    .build();
+            if (format == Format.CSV) {
+                writeCsvRow(row, writer);
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+        // Detach the chunk so the persistence context does not grow with the export
+        entityManager.clear();
+    }
+
+    private void writeCsvRow(CampaignResponse row, Writer writer) throws IOException {
+        String[] cells = {
+                String.valueOf(row.getId()),
+                row.getName(),
+                row.getDescription(),
+                String.valueOf(row.getStartDate()),
+                String.valueOf(row.getEndDate()),
+                row.getStatus(),
+                row.getUsername(),
+                String.valueOf(row.getStableId()),
+                String.valueOf(row.getCreatedAt()),
+                String.valueOf(row.getUpdatedAt()),
+                objectMapper.writeValueAsString(row.getGoals()),
+                objectMapper.writeValueAsString(row.getChannels())
+        };
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) writer.write(',');
+            writer.write(csvEscape(cells[i]));
+        }
+        writer.write('\n');
+    }
+
+    private static String csvEscape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,217 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import upc.edu.muusmart.campaignmanagement.domain.events.CampaignChangedEvent;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.CampaignOwnership;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignLifecycleRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moves campaigns along their lifecycle as their dates pass: PLANNED campaigns
+ * become ACTIVE once they start, and PLANNED or ACTIVE campaigns become
+ * COMPLETED once they end.
+ *
+ * <p>Every {@code campaign.lifecycle.interval-ms} each transition is applied
+ * by {@code campaign.lifecycle.workers} threads. A worker repeatedly claims up
+ * to {@code campaign.lifecycle.chunk-size} due campaigns with
+ * {@code FOR UPDATE SKIP LOCKED} and moves them with one bulk UPDATE in the
+ * same transaction, until nothing is left to claim. Workers, and schedulers
+ * on other instances, never claim the same campaign twice or wait for each
+ * other, so the work spreads over every running instance without a leader.
+ * Each chunk updates the campaign summary and publishes
+ * {@link CampaignChangedEvent.Type#STATUS_CHANGED} like a status change made
+ * through the API.</p>
+ */
+@Slf4j
+@Service
+@Timed("service.invocations")
+public class CampaignLifecycleService {
+
+    /** The allowed statuses in lifecycle order; the scheduler only moves campaigns forward. */
+    static final List<String> LIFECYCLE = List.of("PLANNED", "ACTIVE", "COMPLETED");
+
+    // Completions run first so campaigns that are already over skip ACTIVE
+    private static final List<Transition> TRANSITIONS = List.of(
+            new Transition("ACTIVE", "COMPLETED", Transition.Due.END),
+            new Transition("PLANNED", "COMPLETED", Transition.Due.END),
+            new Transition("PLANNED", "ACTIVE", Transition.Due.START));
+
+    static {
+        if (!Set.copyOf(LIFECYCLE).equals(CampaignService.ALLOWED_STATUSES)) {
+            throw new IllegalStateException("Lifecycle " + LIFECYCLE + " does not match " + CampaignService.ALLOWED_STATUSES);
+        }
+        for (Transition transition : TRANSITIONS) {
+            if (LIFECYCLE.indexOf(transition.getFromStatus()) >= LIFECYCLE.indexOf(transition.getToStatus())) {
+                throw new IllegalStateException("Lifecycle transition goes backwards: " + transition);
+            }
+        }
+    }
+
+    private final CampaignLifecycleRepository campaignLifecycleRepository;
+    private final CampaignSummaryService campaignSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int workers;
+    private final ExecutorService executor;
+
+    public CampaignLifecycleService(CampaignLifecycleRepository campaignLifecycleRepository,
+                                    CampaignSummaryService campaignSummaryService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${campaign.lifecycle.enabled:true}") boolean enabled,
+                                    @Value("${campaign.lifecycle.chunk-size:1000}") int chunkSize,
+                                    @Value("${campaign.lifecycle.workers:4}") int workers,
+                                    @Value("${campaign.changes.write-timeout-seconds:20}") int writeTimeoutSeconds) {
+        this.campaignLifecycleRepository = campaignLifecycleRepository;
+        this.campaignSummaryService = campaignSummaryService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Chunks stamp updatedAt, which the change feed relies on committing in time
+        this.transactionTemplate.setTimeout(writeTimeoutSeconds);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.workers = Math.max(1, workers);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.workers, task -> {
+            Thread thread = new Thread(task, "campaign-lifecycle-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Transition {
+
+        enum Due { START, END }
+
+        private final String fromStatus;
+        private final String toStatus;
+        private final Due due;
+
+        @Override
+        public String toString() {
+            return fromStatus + "->" + toStatus;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${campaign.lifecycle.interval-ms:60000}")
+    public void scheduledRun() {
+        if (enabled) {
+            runTransitions();
+        }
+    }
+
+    /**
+     * Applies every transition that is due now. Runs of this instance never
+     * overlap; runs of other instances may, and share the work.
+     *
+     * @return the number of campaigns moved per transition, e.g. {@code PLANNED->ACTIVE}
+     */
+    public synchronized Map<String, Integer> runTransitions() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Integer> moved = new LinkedHashMap<>();
+        for (Transition transition : TRANSITIONS) {
+            moved.put(transition.toString(), runTransition(transition, now));
+        }
+        int total = moved.values().stream().mapToInt(Integer::intValue).sum();
+        if (total > 0) {
+            log.info("Campaign lifecycle moved {} campaigns {} in {} ms", total, moved,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return moved;
+    }
+
+    private int runTransition(Transition transition, LocalDateTime now) {
+        List<Future<Integer>> results = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            results.add(executor.submit(() -> {
+                int moved = 0;
+                int chunk;
+                while ((chunk = applyChunk(transition, now)) > 0) {
+                    moved += chunk;
+                }
+                return moved;
+            }));
+        }
+        int moved = 0;
+        for (Future<Integer> result : results) {
+            try {
+                moved += result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                // The failed chunk rolled back; its campaigns are due again on the next run
+                log.warn("Campaign lifecycle {} failed: {}", transition, e.getCause().getMessage());
+            }
+        }
+        Counter.builder("campaign.lifecycle.transitions")
+                .description("Campaigns moved by the lifecycle scheduler")
+                .tag("from", transition.getFromStatus())
+                .tag("to", transition.getToStatus())
+                .register(meterRegistry)
+                .increment(moved);
+        return moved;
+    }
+
+    /**
+     * Claims one chunk of campaigns due for the transition and moves them.
+     *
+     * @return the number of campaigns moved, 0 when none were left to claim
+     */
+    private int applyChunk(Transition transition, LocalDateTime now) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<CampaignOwnership> claimed = transition.getDue() == Transition.Due.START
+                    ? campaignLifecycleRepository.claimDueToStart(transition.getFromStatus(), now, chunkSize)
+                    : campaignLifecycleRepository.claimDueToEnd(transition.getFromStatus(), now, chunkSize);
+            if (claimed.isEmpty()) {
+                return 0;
+            }
+            List<Long> ids = claimed.stream().map(CampaignOwnership::getCampaignId).toList();
+            var totals = campaignSummaryService.lockTotals(ids);
+            int updated = campaignLifecycleRepository.updateStatus(
+                    ids, transition.getFromStatus(), transition.getToStatus(), LocalDateTime.now());
+            campaignSummaryService.recordChanges(totals, ids);
+            claimed.forEach(campaign -> eventPublisher.publishEvent(new CampaignChangedEvent(
+                    campaign.getCampaignId(), campaign.getOwnerUsername(), CampaignChangedEvent.Type.STATUS_CHANGED)));
+            return updated;
+        });
+        return moved != null ? moved : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
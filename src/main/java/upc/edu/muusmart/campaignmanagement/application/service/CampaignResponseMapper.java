@@ -0,0 +1,125 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import upc.edu.muusmart.campaignmanagement.application.dto.CampaignResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.ChannelResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.GoalResponse;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Campaign;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Channel;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Goal;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.CampaignView;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.ChannelView;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.GoalView;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Maps campaigns, loaded as entities or as projections, to their responses.
+ * Uses no collaborators, so the mapping can be exercised on its own.
+ */
+public final class CampaignResponseMapper {
+
+    private CampaignResponseMapper() {
+    }
+
+    public static CampaignResponse toResponse(Campaign campaign) {
+        return CampaignResponse.builder()
+                .id(campaign.getId())
+                .name(campaign.getName())
+                .description(campaign.getDescription())
+                .startDate(campaign.getStartDate())
+                .endDate(campaign.getEndDate())
+                .status(campaign.getStatus())
+                .username(campaign.getOwnerUsername())
+                .stableId(campaign.getStableId())
+                .goals(campaign.getGoals() != null ? campaign.getGoals().stream()
+                        .map(CampaignResponseMapper::toGoalResponse)
+                        .collect(Collectors.toList()) : new ArrayList<>())
+                .channels(campaign.getChannels() != null ? campaign.getChannels().stream()
+                        .map(CampaignResponseMapper::toChannelResponse)
+                        .collect(Collectors.toList()) : new ArrayList<>())
+                .createdAt(campaign.getCreatedAt())
+                .updatedAt(campaign.getUpdatedAt())
+                .version(campaign.getVersion())
+                .build();
+    }
+
+    private static GoalResponse toGoalResponse(Goal goal) {
+        return GoalResponse.builder()
+                .id(goal.getId())
+                .description(goal.getDescription())
+                .metric(goal.getMetric())
+                .targetValue(goal.getTargetValue())
+                .currentValue(goal.getCurrentValue())
+                .build();
+    }
+
+    private static ChannelResponse toChannelResponse(Channel channel) {
+        return ChannelResponse.builder()
+                .id(channel.getId())
+                .type(channel.getType())
+                .details(channel.getDetails())
+                .build();
+    }
+
+    /**
+     * Builds campaign responses from projections, attaching each goal and
+     * channel to its campaign. The order of {@code campaigns} is preserved.
+     */
+    public static List<CampaignResponse> assemble(List<CampaignView> campaigns,
+                                              List<GoalView> goals,
+                                              List<ChannelView> channels) {
+        Map<Long, CampaignResponse> responses = new LinkedHashMap<>();
+        for (CampaignView campaign : campaigns) {
+            responses.put(campaign.getId(), CampaignResponse.builder()
+                    .id(campaign.getId())
+                    .name(campaign.getName())
+                    .description(campaign.getDescription())
+                    .startDate(campaign.getStartDate())
+                    .endDate(campaign.getEndDate())
+                    .status(campaign.getStatus())
+                    .username(campaign.getOwnerUsername())
+                    .stableId(campaign.getStableId())
+                    .goals(new ArrayList<>())
+                    .channels(new ArrayList<>())
+                    .createdAt(campaign.getCreatedAt())
+                    .updatedAt(campaign.getUpdatedAt())
+                    .version(campaign.getVersion())
+                    .build());
+        }
+        for (GoalView goal : goals) {
+            CampaignResponse response = responses.get(goal.getCampaignId());
+            if (response != null) {
+                response.getGoals().add(toGoalResponse(goal));
+            }
+        }
+        for (ChannelView channel : channels) {
+            CampaignResponse response = responses.get(channel.getCampaignId());
+            if (response != null) {
+                response.getChannels().add(toChannelResponse(channel));
+            }
+        }
+        return new ArrayList<>(responses.values());
+    }
+
+    static GoalResponse toGoalResponse(GoalView goal) {
+        return GoalResponse.builder()
+                .id(goal.getId())
+                .description(goal.getDescription())
+                .metric(goal.getMetric())
+                .targetValue(goal.getTargetValue())
+                .currentValue(goal.getCurrentValue())
+                .build();
+    }
+
+    private static ChannelResponse toChannelResponse(ChannelView channel) {
+        return ChannelResponse.builder()
+                .id(channel.getId())
+                .type(channel.getType())
+                .details(channel.getDetails())
+                .build();
+    }
+}
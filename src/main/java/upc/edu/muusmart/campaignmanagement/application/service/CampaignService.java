@@ -1,37 +1,75 @@
 package upc.edu.muusmart.campaignmanagement.application.service;
 
+import io.micrometer.core.annotation.Timed;
 import upc.edu.muusmart.campaignmanagement.application.dto.*;
+import upc.edu.muusmart.campaignmanagement.domain.events.CampaignChangedEvent;
 import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Campaign;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.CampaignTombstone;
 import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Channel;
 import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Goal;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.CampaignSearchKey;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.CampaignView;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.GoalView;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.OwnedVersion;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.CampaignSearchFilter;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.CampaignSort;
 import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignRepository;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignSearchRepository;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignTombstoneRepository;
 import upc.edu.muusmart.campaignmanagement.domain.repository.ChannelRepository;
 import upc.edu.muusmart.campaignmanagement.domain.repository.GoalRepository;
-import upc.edu.muusmart.campaignmanagement.domain.repository.StableRepository;
+import upc.edu.muusmart.campaignmanagement.infrastructure.cache.CampaignResponseCache;
+import upc.edu.muusmart.campaignmanagement.infrastructure.cache.StableLookupCache;
+import upc.edu.muusmart.campaignmanagement.infrastructure.search.CampaignTextIndex;
+import upc.edu.muusmart.campaignmanagement.infrastructure.search.CampaignTextIndexer;
 import lombok.RequiredArgsConstructor;
 // No longer import Authentication or GrantedAuthority here; authorization is handled in the controller.
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import upc.edu.muusmart.campaignmanagement.shared.exceptions.DuplicateResourceException;
 import upc.edu.muusmart.campaignmanagement.shared.exceptions.InvalidValueException;
+import upc.edu.muusmart.campaignmanagement.shared.exceptions.PreconditionFailedException;
 import upc.edu.muusmart.campaignmanagement.shared.exceptions.ResourceNotFoundException;
+import upc.edu.muusmart.campaignmanagement.shared.pagination.KeysetCursor;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("service.invocations")
 @RequiredArgsConstructor
-@Transactional
+@Transactional(timeoutString = "${campaign.changes.write-timeout-seconds:20}")
 public class CampaignService {
 
     private final CampaignRepository campaignRepository;
+    private final CampaignSearchRepository campaignSearchRepository;
+    private final CampaignTombstoneRepository campaignTombstoneRepository;
     private final GoalRepository goalRepository;
     private final ChannelRepository channelRepository;
-    private final StableRepository stableRepository;
+    private final StableLookupCache stableLookupCache;
+    private final CampaignResponseCache campaignResponseCache;
+    private final CampaignTextIndexer campaignTextIndexer;
+    private final CampaignSummaryService campaignSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
 
-    private static final Set<String> ALLOWED_STATUSES = Set.of("PLANNED", "ACTIVE", "COMPLETED");
-    private static final Set<String> ALLOWED_GOAL_METRICS = Set.of("CLICKS", "VIEWS", "CONVERSIONS");
+    static final Set<String> ALLOWED_STATUSES = Set.of("PLANNED", "ACTIVE", "COMPLETED");
+    static final Set<String> ALLOWED_GOAL_METRICS = Set.of("CLICKS", "VIEWS", "CONVERSIONS");
 
     /**
      * Creates a new campaign for the given user. The campaign name must be unique and the
@@ -48,12 +86,9 @@ public class CampaignService {
         campaignRepository.findByNameAndOwnerUsername(request.getName(), username)
                 .ifPresent(c -> { throw new DuplicateResourceException("Campaign name already exists for this user"); });
 
-        // Validate the referenced stable exists
-        var stableOpt = stableRepository.findById(request.getStableId());
-        if (stableOpt.isEmpty()) {
-            throw new ResourceNotFoundException("Stable not found with id: " + request.getStableId());
-        }
-        var stable = stableOpt.get();
+        // Validate the referenced stable exists (served from the stable cache)
+        var stable = stableLookupCache.find(request.getStableId())
+                .orElseThrow(() -> new ResourceNotFoundException("Stable not found with id: " + request.getStableId()));
         // Non‑admin users may only create campaigns for their own stables
         if (!isAdmin && !stable.getOwnerUsername().equals(username)) {
             throw new SecurityException("You are not authorized to use this stable: " + request.getStableId());
@@ -70,12 +105,16 @@ public class CampaignService {
                 .build();
 
         Campaign savedCampaign = campaignRepository.save(campaign);
-        return mapToCampaignResponse(savedCampaign);
+        campaignSummaryService.recordChanges(Map.of(), List.of(savedCampaign.getId()));
+        publishChange(savedCampaign, CampaignChangedEvent.Type.CREATED);
+        return CampaignResponseMapper.toResponse(savedCampaign);
     }
 
     /**
      * Retrieves a campaign by its ID, enforcing that a non-admin caller
-     * can access only their own campaigns.
+     * can access only their own campaigns. Served from the campaign response
+     * cache; a miss loads the campaign in its own read-only transaction, so a
+     * hit does not touch the database at all.
      *
      * @param id       the campaign identifier
      * @param username the username of the authenticated user
@@ -83,42 +122,262 @@ public class CampaignService {
      * @return the campaign response if access is permitted
      * @throws SecurityException if the caller is not authorized to access the campaign
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CampaignResponse getCampaignById(Long id, String username, boolean isAdmin) {
-        Campaign campaign = campaignRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + id));
+        CampaignResponse campaign = campaignResponseCache.get(id, this::loadCampaignResponse);
         // Normal users may only access their own campaigns
+        if (!isAdmin && !campaign.getUsername().equals(username)) {
+            throw new SecurityException("Access denied to campaign with id: " + id);
+        }
+        return campaign;
+    }
+
+    /**
+     * Returns the current version of a campaign, checking access the same way
+     * as {@link #getCampaignById}. Reads only the owner and version columns, so
+     * conditional requests can be answered without assembling the campaign.
+     */
+    @Transactional(readOnly = true)
+    public Long getCampaignVersion(Long id, String username, boolean isAdmin) {
+        OwnedVersion campaign = campaignRepository.findOwnedVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + id));
         if (!isAdmin && !campaign.getOwnerUsername().equals(username)) {
             throw new SecurityException("Access denied to campaign with id: " + id);
         }
-        return mapToCampaignResponse(campaign);
+        return campaign.getVersion();
     }
 
     /**
      * Retrieves campaigns visible to the authenticated user. Administrators
-     * receive all campaigns; normal users receive only their own.
+     * receive all campaigns; normal users receive only their own. Campaigns,
+     * goals and channels are read with one projection query each, so the
+     * number of SQL statements does not grow with the number of campaigns.
      *
      * @param username the username of the authenticated user
      * @param isAdmin  whether the caller has the ADMIN role
      * @return list of campaigns accessible to the caller
      */
+    @Transactional(readOnly = true)
     public List<CampaignResponse> getAllCampaignsByUsername(String username, boolean isAdmin) {
         if (isAdmin) {
-            return campaignRepository.findAll()
-                    .stream()
-                    .map(this::mapToCampaignResponse)
-                    .collect(Collectors.toList());
-        }
-        return campaignRepository.findByOwnerUsername(username)
-                .stream()
-                .map(this::mapToCampaignResponse)
+            return CampaignResponseMapper.assemble(campaignRepository.findAllViews(),
+                    goalRepository.findAllViews(),
+                    channelRepository.findAllViews());
+        }
+        return CampaignResponseMapper.assemble(campaignRepository.findViewsByOwnerUsername(username),
+                goalRepository.findViewsByCampaignOwnerUsername(username),
+                channelRepository.findViewsByCampaignOwnerUsername(username));
+    }
+
+    /**
+     * Retrieves one keyset page of the campaigns visible to the caller, in id
+     * order. The cost of a page does not depend on how deep it is.
+     *
+     * @param username the username of the authenticated user
+     * @param isAdmin  whether the caller has the ADMIN role
+     * @param cursor   opaque cursor from the previous page, or null for the first page
+     * @param limit    maximum number of campaigns to return
+     * @return the page of campaigns and the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CampaignResponse> getCampaignsPage(String username, boolean isAdmin, String cursor, int limit) {
+        long afterId = KeysetCursor.decodeId(cursor);
+        // Fetch one extra row to know whether another page exists
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<CampaignView> campaigns = isAdmin
+                ? campaignRepository.findViewsAfter(afterId, fetchLimit)
+                : campaignRepository.findViewsByOwnerUsernameAfter(username, afterId, fetchLimit);
+        boolean hasMore = campaigns.size() > limit;
+        if (hasMore) {
+            campaigns = campaigns.subList(0, limit);
+        }
+        if (campaigns.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        List<Long> ids = campaigns.stream().map(CampaignView::getId).collect(Collectors.toList());
+        List<CampaignResponse> items = CampaignResponseMapper.assemble(campaigns,
+                goalRepository.findViewsByCampaignIdIn(ids),
+                channelRepository.findViewsByCampaignIdIn(ids));
+        String nextCursor = hasMore ? KeysetCursor.encode(ids.get(ids.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /**
+     * Searches the campaigns visible to the caller with the filters and sort
+     * of the request, one keyset page at a time. Only the ids and sort values
+     * of the matches are read by the search query itself, which the composite
+     * indexes on {@code campaigns} answer for owner/status/start-date and
+     * stable/status filters; the page is then loaded by id.
+     *
+     * @param request  filters, sort, page size and cursor
+     * @param username the username of the authenticated user
+     * @param isAdmin  whether the caller has the ADMIN role; other users only
+     *                 search their own campaigns
+     * @return the page of campaigns and the cursor of the next page
+     * @throws InvalidValueException if a filter, the sort or the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CampaignResponse> searchCampaigns(CampaignSearchRequest request, String username, boolean isAdmin) {
+        if (request.getStatus() != null && !ALLOWED_STATUSES.contains(request.getStatus())) {
+            throw new InvalidValueException("Invalid status. Allowed: " + ALLOWED_STATUSES);
+        }
+        if (isAfter(request.getStartFrom(), request.getStartTo()) || isAfter(request.getEndFrom(), request.getEndTo())) {
+            throw new InvalidValueException("Date range bounds are reversed");
+        }
+        String sortParameter = request.getSort() == null || request.getSort().isBlank()
+                ? CampaignSort.Field.START_DATE.getAttribute() : request.getSort().trim();
+        CampaignSort sort = parseSort(sortParameter);
+        CampaignSearchFilter filter = CampaignSearchFilter.builder()
+                .ownerUsername(isAdmin ? null : username)
+                .status(request.getStatus())
+                .stableId(request.getStableId())
+                .startFrom(request.getStartFrom())
+                .startTo(request.getStartTo())
+                .endFrom(request.getEndFrom())
+                .endTo(request.getEndTo())
+                .namePrefix(request.getName() == null || request.getName().isBlank() ? null : request.getName())
+                .build();
+        int limit = KeysetCursor.normalizeLimit(request.getLimit());
+
+        // Fetch one extra key to know whether another page exists
+        List<CampaignSearchKey> keys = campaignSearchRepository.findKeys(filter, sort,
+                decodeSearchCursor(request.getCursor(), sortParameter, sort), limit + 1);
+        boolean hasMore = keys.size() > limit;
+        if (hasMore) {
+            keys = keys.subList(0, limit);
+        }
+        if (keys.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        List<CampaignResponse> items = loadResponsesInOrder(
+                keys.stream().map(CampaignSearchKey::getId).collect(Collectors.toList()));
+        CampaignSearchKey last = keys.get(keys.size() - 1);
+        String nextCursor = hasMore ? KeysetCursor.encode(sortParameter, last.getId(), last.getSortValue()) : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /**
+     * Loads the campaigns with the given ids in that order, with three queries
+     * whatever their number. Ids that no longer exist are skipped.
+     */
+    private List<CampaignResponse> loadResponsesInOrder(List<Long> ids) {
+        Map<Long, CampaignView> views = campaignRepository.findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(CampaignView::getId, Function.identity()));
+        List<CampaignView> campaigns = ids.stream()
+                .map(views::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        return CampaignResponseMapper.assemble(campaigns,
+                goalRepository.findViewsByCampaignIdIn(ids),
+                channelRepository.findViewsByCampaignIdIn(ids));
+    }
+
+    /**
+     * Full-text search over campaign names and descriptions, goal descriptions
+     * and channel types and details. Every word of the query must match the
+     * start of an indexed word, ignoring case and accents; results are newest
+     * first. Matching runs against the in-memory {@link CampaignTextIndexer},
+     * which trails committed changes by up to its refresh interval, so the
+     * matches are then loaded from the database by id and ownership is checked
+     * again on the loaded rows.
+     *
+     * @param query    the words to search for
+     * @param username the username of the authenticated user
+     * @param isAdmin  whether the caller has the ADMIN role; other users only
+     *                 search their own campaigns
+     * @param limit    maximum number of results
+     * @throws InvalidValueException if the query has no searchable word, or a
+     *                               word too short to search for as a prefix
+     */
+    @Transactional(readOnly = true)
+    public List<CampaignResponse> searchCampaignsByText(String query, String username, boolean isAdmin, Integer limit) {
+        Set<String> words = query == null ? Set.of() : CampaignTextIndex.terms(query);
+        if (words.isEmpty()) {
+            throw new InvalidValueException("Query must contain at least one word of "
+                    + CampaignTextIndex.MIN_QUERY_TERM_LENGTH + " or more letters or digits");
+        }
+        if (words.stream().anyMatch(word -> word.length() < CampaignTextIndex.MIN_QUERY_TERM_LENGTH)) {
+            throw new InvalidValueException("Query words must have at least "
+                    + CampaignTextIndex.MIN_QUERY_TERM_LENGTH + " letters or digits");
+        }
+        List<Long> ids = campaignTextIndexer.search(query, isAdmin ? null : username, KeysetCursor.normalizeLimit(limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<CampaignResponse> results = loadResponsesInOrder(ids);
+        if (!isAdmin) {
+            results.removeIf(response -> !response.getUsername().equals(username));
+        }
+        return results;
     }
 
+    private static boolean isAfter(LocalDateTime from, LocalDateTime to) {
+        return from != null && to != null && from.isAfter(to);
+    }
+
+    private static CampaignSort parseSort(String sortParameter) {
+        boolean descending = sortParameter.startsWith("-");
+        String attribute = descending ? sortParameter.substring(1) : sortParameter;
+        for (CampaignSort.Field field : CampaignSort.Field.values()) {
+            if (field.getAttribute().equals(attribute)) {
+                return new CampaignSort(field, descending);
+            }
+        }
+        throw new InvalidValueException("Invalid sort. Allowed: id, name, startDate, endDate, optionally prefixed with -");
+    }
+
+    /**
+     * Decodes a search cursor ({@code sort|id|sortValue}). A cursor is only
+     * valid with the sort it was issued for.
+     */
+    private static CampaignSearchKey decodeSearchCursor(String cursor, String sortParameter, CampaignSort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = KeysetCursor.decode(cursor, 3);
+        if (!parts[0].equals(sortParameter)) {
+            throw new InvalidValueException("Cursor does not match the sort order");
+        }
+        try {
+            Long id = Long.parseLong(parts[1]);
+            Object sortValue = switch (sort.getField()) {
+                case ID -> id;
+                case NAME -> parts[2];
+                case START_DATE, END_DATE -> LocalDateTime.parse(parts[2]);
+            };
+            return new CampaignSearchKey(id, sortValue);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new InvalidValueException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} of the campaigns visible to the caller that
+     * were created or updated after the {@code (afterTs, afterId)} position and
+     * no later than {@code horizon}, in (updatedAt, id) order. Used by the
+     * change feed.
+     */
+    @Transactional(readOnly = true)
+    public List<CampaignResponse> getCampaignsChangedAfter(String username, boolean isAdmin, LocalDateTime afterTs,
+                                                           Long afterId, LocalDateTime horizon, int limit) {
+        List<CampaignView> campaigns = isAdmin
+                ? campaignRepository.findViewsChangedAfter(afterTs, afterId, horizon, Limit.of(limit))
+                : campaignRepository.findViewsByOwnerUsernameChangedAfter(username, afterTs, afterId, horizon,
+                        Limit.of(limit));
+        if (campaigns.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = campaigns.stream().map(CampaignView::getId).collect(Collectors.toList());
+        return CampaignResponseMapper.assemble(campaigns,
+                goalRepository.findViewsByCampaignIdIn(ids),
+                channelRepository.findViewsByCampaignIdIn(ids));
+    }
+
+    @Transactional(readOnly = true)
     public List<CampaignResponse> getCampaignsByStableId(Long stableId) {
-        return campaignRepository.findByStableId(stableId)
-                .stream()
-                .map(this::mapToCampaignResponse)
-                .collect(Collectors.toList());
+        return CampaignResponseMapper.assemble(campaignRepository.findViewsByStableId(stableId),
+                goalRepository.findViewsByCampaignStableId(stableId),
+                channelRepository.findViewsByCampaignStableId(stableId));
     }
 
     /**
@@ -136,7 +395,15 @@ public class CampaignService {
         if (!isAdmin && !campaign.getOwnerUsername().equals(username)) {
             throw new SecurityException("Access denied to delete campaign with id: " + id);
         }
+        var totals = campaignSummaryService.lockTotals(List.of(id));
         campaignRepository.delete(campaign);
+        campaignTombstoneRepository.save(CampaignTombstone.builder()
+                .campaignId(id)
+                .ownerUsername(campaign.getOwnerUsername())
+                .deletedAt(LocalDateTime.now())
+                .build());
+        campaignSummaryService.recordChanges(totals, List.of(id));
+        publishChange(campaign, CampaignChangedEvent.Type.DELETED);
     }
 
     /**
@@ -147,9 +414,12 @@ public class CampaignService {
      * @param request  the request containing the new status
      * @param username the username of the authenticated user
      * @param isAdmin  whether the caller has the ADMIN role
+     * @param expectedVersion the version the caller last saw (from If-Match), or null to skip the check
      * @return the updated campaign response
+     * @throws PreconditionFailedException if the campaign no longer has the expected version
      */
-    public CampaignResponse updateCampaignStatus(Long id, UpdateCampaignStatusRequest request, String username, boolean isAdmin) {
+    public CampaignResponse updateCampaignStatus(Long id, UpdateCampaignStatusRequest request, String username,
+                                                 boolean isAdmin, Long expectedVersion) {
         if (!ALLOWED_STATUSES.contains(request.getStatus())) {
             throw new InvalidValueException("Invalid status. Allowed: " + ALLOWED_STATUSES);
         }
@@ -158,9 +428,14 @@ public class CampaignService {
         if (!isAdmin && !campaign.getOwnerUsername().equals(username)) {
             throw new SecurityException("Access denied to update campaign with id: " + id);
         }
+        checkVersion(id, campaign.getVersion(), expectedVersion);
+        var totals = campaignSummaryService.lockTotals(List.of(id));
         campaign.updateStatus(request.getStatus());
-        Campaign updatedCampaign = campaignRepository.save(campaign);
-        return mapToCampaignResponse(updatedCampaign);
+        // Flush so the response carries the incremented version
+        Campaign updatedCampaign = campaignRepository.saveAndFlush(campaign);
+        campaignSummaryService.recordChanges(totals, List.of(id));
+        publishChange(updatedCampaign, CampaignChangedEvent.Type.STATUS_CHANGED);
+        return CampaignResponseMapper.toResponse(updatedCampaign);
     }
 
     /**
@@ -171,34 +446,38 @@ public class CampaignService {
      * @param request    the request containing goal details
      * @param username   the username of the authenticated user
      * @param isAdmin    whether the caller has the ADMIN role
+     * @param expectedVersion the version the caller last saw (from If-Match), or null to skip the check
      * @return the updated campaign response
+     * @throws PreconditionFailedException if the campaign no longer has the expected version
      */
-    public CampaignResponse addGoalToCampaign(Long campaignId, AddGoalRequest request, String username, boolean isAdmin) {
-        Campaign campaign = campaignRepository.findById(campaignId)
-                .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + campaignId));
-        if (!isAdmin && !campaign.getOwnerUsername().equals(username)) {
-            throw new SecurityException("Access denied to modify campaign with id: " + campaignId);
-        }
+    public CampaignResponse addGoalToCampaign(Long campaignId, AddGoalRequest request, String username,
+                                              boolean isAdmin, Long expectedVersion) {
+        String ownerUsername = checkModifiable(campaignId, username, isAdmin);
         if (!ALLOWED_GOAL_METRICS.contains(request.getMetric())) {
             throw new InvalidValueException("Invalid metric. Allowed: " + ALLOWED_GOAL_METRICS);
         }
+        touch(campaignId, expectedVersion);
+        var totals = campaignSummaryService.lockTotals(List.of(campaignId));
         // Evitar duplicados de metas por descripcion dentro de la campaña
-        if (campaign.getGoals() != null) {
-            boolean goalDup = campaign.getGoals().stream()
-                    .anyMatch(g -> g.getDescription().equalsIgnoreCase(request.getDescription()));
-            if (goalDup) {
-                throw new DuplicateResourceException("Goal with the same description already exists in this campaign");
-            }
+        if (goalRepository.existsByCampaignIdAndDescriptionKey(campaignId, Goal.descriptionKeyOf(request.getDescription()))) {
+            throw new DuplicateResourceException("Goal with the same description already exists in this campaign");
         }
         Goal goal = Goal.builder()
                 .description(request.getDescription())
                 .metric(request.getMetric())
                 .targetValue(request.getTargetValue())
                 .currentValue(request.getCurrentValue())
+                .campaign(campaignRepository.getReferenceById(campaignId))
                 .build();
-        campaign.addGoal(goal);
-        Campaign updatedCampaign = campaignRepository.save(campaign);
-        return mapToCampaignResponse(updatedCampaign);
+        try {
+            goalRepository.saveAndFlush(goal);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request added the same goal after the check above
+            throw new DuplicateResourceException("Goal with the same description already exists in this campaign");
+        }
+        campaignSummaryService.recordChanges(totals, List.of(campaignId));
+        eventPublisher.publishEvent(new CampaignChangedEvent(campaignId, ownerUsername, CampaignChangedEvent.Type.GOALS_CHANGED));
+        return loadCampaignResponse(campaignId);
     }
 
     /**
@@ -209,34 +488,37 @@ public class CampaignService {
      * @param request    the request containing channel details
      * @param username   the username of the authenticated user
      * @param isAdmin    whether the caller has the ADMIN role
+     * @param expectedVersion the version the caller last saw (from If-Match), or null to skip the check
      * @return the updated campaign response
+     * @throws PreconditionFailedException if the campaign no longer has the expected version
      */
-    public CampaignResponse addChannelToCampaign(Long campaignId, AddChannelRequest request, String username, boolean isAdmin) {
-        Campaign campaign = campaignRepository.findById(campaignId)
-                .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + campaignId));
-        if (!isAdmin && !campaign.getOwnerUsername().equals(username)) {
-            throw new SecurityException("Access denied to modify campaign with id: " + campaignId);
-        }
+    public CampaignResponse addChannelToCampaign(Long campaignId, AddChannelRequest request, String username,
+                                                 boolean isAdmin, Long expectedVersion) {
+        String ownerUsername = checkModifiable(campaignId, username, isAdmin);
+        touch(campaignId, expectedVersion);
         // Evitar duplicados de canales por tipo dentro de la campaña
-        if (campaign.getChannels() != null) {
-            boolean channelDup = campaign.getChannels().stream()
-                    .anyMatch(c -> c.getType().equalsIgnoreCase(request.getType()));
-            if (channelDup) {
-                throw new DuplicateResourceException("Channel with the same type already exists in this campaign");
-            }
+        if (channelRepository.existsByCampaignIdAndTypeKey(campaignId, Channel.typeKeyOf(request.getType()))) {
+            throw new DuplicateResourceException("Channel with the same type already exists in this campaign");
         }
         Channel channel = Channel.builder()
                 .type(request.getType())
                 .details(request.getDetails())
+                .campaign(campaignRepository.getReferenceById(campaignId))
                 .build();
-        campaign.addChannel(channel);
-        Campaign updatedCampaign = campaignRepository.save(campaign);
-        return mapToCampaignResponse(updatedCampaign);
+        try {
+            channelRepository.saveAndFlush(channel);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request added the same channel after the check above
+            throw new DuplicateResourceException("Channel with the same type already exists in this campaign");
+        }
+        eventPublisher.publishEvent(new CampaignChangedEvent(campaignId, ownerUsername, CampaignChangedEvent.Type.CHANNELS_CHANGED));
+        return loadCampaignResponse(campaignId);
     }
 
     /**
      * Retrieves goals associated with the specified campaign if the caller is authorized.
      * Administrators may read any campaign; normal users may read only their own.
+     * Served from the campaign response cache.
      *
      * @param campaignId the campaign identifier
      * @param username   the username of the authenticated user
@@ -244,21 +526,34 @@ public class CampaignService {
      * @return list of goal responses
      * @throws SecurityException if the caller is not authorized to view the campaign
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<GoalResponse> getGoalsByCampaignId(Long campaignId, String username, boolean isAdmin) {
-        Campaign campaign = campaignRepository.findById(campaignId)
-                .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + campaignId));
-        if (!isAdmin && !campaign.getOwnerUsername().equals(username)) {
+        CampaignResponse campaign = campaignResponseCache.get(campaignId, this::loadCampaignResponse);
+        if (!isAdmin && !campaign.getUsername().equals(username)) {
             throw new SecurityException("Access denied to view campaign with id: " + campaignId);
         }
-        return goalRepository.findByCampaignId(campaignId)
-                .stream()
-                .map(this::mapToGoalResponse)
-                .collect(Collectors.toList());
+        return new ArrayList<>(campaign.getGoals());
+    }
+
+    /**
+     * Returns the goals of the given campaigns, read with one query and keyed
+     * by campaign id; campaigns without goals are absent. Performs no
+     * authorization: callers must already have checked access to every
+     * campaign.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<GoalResponse>> getGoalsByCampaignIds(Collection<Long> campaignIds) {
+        Map<Long, List<GoalResponse>> goals = new LinkedHashMap<>();
+        for (GoalView goal : goalRepository.findViewsByCampaignIdIn(campaignIds)) {
+            goals.computeIfAbsent(goal.getCampaignId(), id -> new ArrayList<>()).add(CampaignResponseMapper.toGoalResponse(goal));
+        }
+        return goals;
     }
 
     /**
      * Retrieves channels associated with the specified campaign if the caller is authorized.
      * Administrators may read any campaign; normal users may read only their own.
+     * Served from the campaign response cache.
      *
      * @param campaignId the campaign identifier
      * @param username   the username of the authenticated user
@@ -266,55 +561,70 @@ public class CampaignService {
      * @return list of channel responses
      * @throws SecurityException if the caller is not authorized to view the campaign
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<ChannelResponse> getChannelsByCampaignId(Long campaignId, String username, boolean isAdmin) {
-        Campaign campaign = campaignRepository.findById(campaignId)
-                .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + campaignId));
-        if (!isAdmin && !campaign.getOwnerUsername().equals(username)) {
+        CampaignResponse campaign = campaignResponseCache.get(campaignId, this::loadCampaignResponse);
+        if (!isAdmin && !campaign.getUsername().equals(username)) {
             throw new SecurityException("Access denied to view campaign with id: " + campaignId);
         }
-        return channelRepository.findByCampaignId(campaignId)
-                .stream()
-                .map(this::mapToChannelResponse)
-                .collect(Collectors.toList());
+        return new ArrayList<>(campaign.getChannels());
     }
 
-    private CampaignResponse mapToCampaignResponse(Campaign campaign) {
-        return CampaignResponse.builder()
-                .id(campaign.getId())
-                .name(campaign.getName())
-                .description(campaign.getDescription())
-                .startDate(campaign.getStartDate())
-                .endDate(campaign.getEndDate())
-                .status(campaign.getStatus())
-                .username(campaign.getOwnerUsername())
-                .stableId(campaign.getStableId())
-                .goals(campaign.getGoals() != null ? campaign.getGoals().stream()
-                        .map(this::mapToGoalResponse)
-                        .collect(Collectors.toList()) : new java.util.ArrayList<>())
-                .channels(campaign.getChannels() != null ? campaign.getChannels().stream()
-                        .map(this::mapToChannelResponse)
-                        .collect(Collectors.toList()) : new java.util.ArrayList<>())
-                .createdAt(campaign.getCreatedAt())
-                .updatedAt(campaign.getUpdatedAt())
-                .build();
+    /**
+     * Loads and assembles one campaign in a read-only transaction. Used as the
+     * loader of the campaign response cache.
+     */
+    private CampaignResponse loadCampaignResponse(Long id) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return readOnlyTransaction.execute(status -> {
+            CampaignView campaign = campaignRepository.findViewById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + id));
+            return CampaignResponseMapper.assemble(List.of(campaign),
+                    goalRepository.findViewsByCampaignId(id),
+                    channelRepository.findViewsByCampaignId(id)).get(0);
+        });
     }
 
-    private GoalResponse mapToGoalResponse(Goal goal) {
-        return GoalResponse.builder()
-                .id(goal.getId())
-                .description(goal.getDescription())
-                .metric(goal.getMetric())
-                .targetValue(goal.getTargetValue())
-                .currentValue(goal.getCurrentValue())
-                .build();
+    /**
+     * Checks that the campaign exists and that the caller may modify it, without
+     * loading the aggregate.
+     *
+     * @return the owner of the campaign
+     */
+    private String checkModifiable(Long campaignId, String username, boolean isAdmin) {
+        String ownerUsername = campaignRepository.findOwnerUsernameById(campaignId)
+                .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + campaignId));
+        if (!isAdmin && !ownerUsername.equals(username)) {
+            throw new SecurityException("Access denied to modify campaign with id: " + campaignId);
+        }
+        return ownerUsername;
     }
 
-    private ChannelResponse mapToChannelResponse(Channel channel) {
-        return ChannelResponse.builder()
-                .id(channel.getId())
-                .type(channel.getType())
-                .details(channel.getDetails())
-                .build();
+    /**
+     * Bumps the campaign version for a change to its goals or channels. The
+     * conditional update also locks the campaign row, so concurrent additions
+     * to the same campaign are applied one after the other.
+     */
+    private void touch(Long campaignId, Long expectedVersion) {
+        if (campaignRepository.touch(campaignId, expectedVersion, LocalDateTime.now()) == 0) {
+            throw new PreconditionFailedException("Campaign " + campaignId + " has been modified; expected version "
+                    + expectedVersion);
+        }
     }
 
+    private static void checkVersion(Long campaignId, Long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException("Campaign " + campaignId + " has been modified; expected version "
+                    + expectedVersion + " but found " + currentVersion);
+        }
+    }
+
+    /**
+     * Announces a change of the given campaign. Listeners holding derived data
+     * (such as the response cache) act on it after the transaction commits.
+     */
+    private void publishChange(Campaign campaign, CampaignChangedEvent.Type type) {
+        eventPublisher.publishEvent(new CampaignChangedEvent(campaign.getId(), campaign.getOwnerUsername(), type));
+    }
 }
@@ -0,0 +1,160 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import upc.edu.muusmart.campaignmanagement.application.dto.CampaignDashboardResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.CampaignSummaryResponse;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.CampaignSummary;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.CampaignSummaryKey;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.CampaignSummaryTotals;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignRepository;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignSummaryRepository;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignTotalsRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the campaign summary table (campaign and goal counts per owner,
+ * stable and status) and serves the dashboard from it.
+ *
+ * <p>Writers bracket their change with {@link #lockTotals} and
+ * {@link #recordChanges}: the first locks the campaigns about to change and
+ * their goals and reads their totals, the second reads them again after the
+ * change and adds the difference to the summary rows, all in the writer's
+ * transaction. The summary is therefore exactly as consistent as the
+ * campaigns themselves, whichever path changed them.</p>
+ *
+ * <p>{@link #rebuildSummaries()} recomputes the table from scratch, to repair
+ * it after changes made outside the application. It runs at startup when the
+ * table is empty, on the {@code campaign.summary.rebuild-cron} schedule when
+ * one is configured, and on demand from the admin endpoint.</p>
+ */
+@Slf4j
+@Service
+@Timed("service.invocations")
+@RequiredArgsConstructor
+@Transactional
+public class CampaignSummaryService {
+
+    private final CampaignSummaryRepository campaignSummaryRepository;
+    private final CampaignTotalsRepository campaignTotalsRepository;
+    private final CampaignRepository campaignRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Locks the given campaigns and their goals for the rest of the
+     * transaction and returns their current totals, to pass to
+     * {@link #recordChanges} once they have been modified.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<CampaignSummaryKey, CampaignSummaryTotals> lockTotals(Collection<Long> campaignIds) {
+        entityManager.flush();
+        return campaignTotalsRepository.lockTotals(campaignIds);
+    }
+
+    /**
+     * Adds the changes made to the given campaigns since {@code before} was
+     * read to the summary. Pending JPA changes are flushed first; campaigns
+     * that were created since have no totals in {@code before} and deleted
+     * ones are missing from the new totals.
+     *
+     * @param before the result of {@link #lockTotals} for the same campaigns,
+     *               or an empty map when they are all new
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanges(Map<CampaignSummaryKey, CampaignSummaryTotals> before, Collection<Long> campaignIds) {
+        entityManager.flush();
+        Map<CampaignSummaryKey, CampaignSummaryTotals> deltas = new TreeMap<>(campaignTotalsRepository.lockTotals(campaignIds));
+        before.forEach((key, totals) -> deltas.merge(key, CampaignSummaryTotals.ZERO.minus(totals), CampaignSummaryTotals::plus));
+        deltas.values().removeIf(CampaignSummaryTotals::isZero);
+        campaignTotalsRepository.addToSummaries(deltas);
+    }
+
+    /**
+     * Returns the campaign and goal counts of the caller per stable and in
+     * total. Administrators see every owner's campaigns.
+     *
+     * @param username the username of the authenticated user
+     * @param isAdmin  whether the caller has the ADMIN role
+     */
+    @Transactional(readOnly = true)
+    public CampaignDashboardResponse getDashboard(String username, boolean isAdmin) {
+        List<CampaignSummary> rows = isAdmin
+                ? campaignSummaryRepository.findAllNonEmpty()
+                : campaignSummaryRepository.findByOwnerUsername(username);
+        CampaignSummaryResponse total = emptySummary(null);
+        Map<Long, CampaignSummaryResponse> byStable = new TreeMap<>();
+        for (CampaignSummary row : rows) {
+            add(total, row);
+            add(byStable.computeIfAbsent(row.getId().getStableId(), CampaignSummaryService::emptySummary), row);
+        }
+        List<CampaignSummaryResponse> stables = new ArrayList<>(byStable.values());
+        stables.forEach(CampaignSummaryService::computeRatio);
+        computeRatio(total);
+        return CampaignDashboardResponse.builder()
+                .total(total)
+                .stables(stables)
+                .build();
+    }
+
+    private static CampaignSummaryResponse emptySummary(Long stableId) {
+        Map<String, Long> byStatus = new TreeMap<>();
+        CampaignService.ALLOWED_STATUSES.forEach(status -> byStatus.put(status, 0L));
+        return CampaignSummaryResponse.builder()
+                .stableId(stableId)
+                .campaignsByStatus(byStatus)
+                .build();
+    }
+
+    private static void add(CampaignSummaryResponse summary, CampaignSummary row) {
+        summary.setCampaigns(summary.getCampaigns() + row.getCampaignCount());
+        summary.getCampaignsByStatus().merge(row.getId().getStatus(), row.getCampaignCount(), Long::sum);
+        summary.setGoals(summary.getGoals() + row.getGoalCount());
+        summary.setCompletedGoals(summary.getCompletedGoals() + row.getCompletedGoalCount());
+        summary.setGoalTargetTotal(summary.getGoalTargetTotal() + row.getGoalTargetTotal());
+        summary.setGoalProgressTotal(summary.getGoalProgressTotal() + row.getGoalProgressTotal());
+    }
+
+    private static void computeRatio(CampaignSummaryResponse summary) {
+        summary.setCompletionRatio(summary.getGoalTargetTotal() > 0
+                ? (double) summary.getGoalProgressTotal() / summary.getGoalTargetTotal() : 0);
+    }
+
+    /**
+     * Recomputes the summary table from campaigns and goals in one
+     * transaction. It locks every campaign, so campaign changes wait for it to
+     * commit; run it when a pause of that length is acceptable.
+     *
+     * @return the number of summary rows written
+     */
+    @Scheduled(cron = "${campaign.summary.rebuild-cron:-}")
+    public int rebuildSummaries() {
+        long start = System.nanoTime();
+        int rows = campaignTotalsRepository.rebuildSummaries();
+        log.info("Campaign summary rebuilt: {} rows in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    /**
+     * Builds the summary table on first start, or after it has been emptied,
+     * so existing campaigns are counted.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (campaignSummaryRepository.count() == 0 && campaignRepository.count() > 0) {
+            rebuildSummaries();
+        }
+    }
+}
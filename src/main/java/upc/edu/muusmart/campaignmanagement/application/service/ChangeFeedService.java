@@ -0,0 +1,232 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import upc.edu.muusmart.campaignmanagement.application.dto.CampaignResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.ChangeFeedResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.StableResponse;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.CampaignTombstone;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignTombstoneRepository;
+import upc.edu.muusmart.campaignmanagement.shared.exceptions.CursorExpiredException;
+import upc.edu.muusmart.campaignmanagement.shared.exceptions.InvalidValueException;
+import upc.edu.muusmart.campaignmanagement.shared.pagination.KeysetCursor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Serves the change feed: the campaigns and stables created or updated, and
+ * the campaigns deleted, since a client's last sync.
+ *
+ * <p>Each of the three sources is read in (timestamp, id) order from its own
+ * position, with the {@code updatedAt} indexes of campaigns and stables and
+ * the {@code deletedAt} index of tombstones; the positions travel together in
+ * one opaque cursor. A page takes the oldest {@code limit} changes across the
+ * sources and advances each position past what it took, so a sync after a
+ * short absence reads only the rows that changed. A source with nothing left
+ * up to the horizon moves its position to the horizon, so the cursor records
+ * how far every source has been read even when nothing changed.</p>
+ *
+ * <p>Rows are only returned once their timestamp is
+ * {@code campaign.changes.settle-ms} old. Timestamps are taken before the
+ * writing transaction commits, so a younger row could still be joined by an
+ * older one that commits later and would then be skipped. That holds only
+ * while every transaction stamping {@code updatedAt} or {@code deletedAt}
+ * commits within the settle time: those transactions run with
+ * {@code campaign.changes.write-timeout-seconds}, and startup fails unless it
+ * is below the settle time. Tombstones are kept for
+ * {@code campaign.changes.tombstone-retention-days}; a cursor last synced
+ * before that may have missed deletions and is rejected, and the client has
+ * to sync from scratch.</p>
+ */
+@Slf4j
+@Service
+@Timed("service.invocations")
+@Transactional
+public class ChangeFeedService {
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final CampaignService campaignService;
+    private final StableService stableService;
+    private final CampaignTombstoneRepository campaignTombstoneRepository;
+    private final Duration settle;
+    private final Duration retention;
+
+    public ChangeFeedService(CampaignService campaignService,
+                             StableService stableService,
+                             CampaignTombstoneRepository campaignTombstoneRepository,
+                             @Value("${campaign.changes.settle-ms:30000}") long settleMs,
+                             @Value("${campaign.changes.write-timeout-seconds:20}") int writeTimeoutSeconds,
+                             @Value("${campaign.changes.tombstone-retention-days:30}") long retentionDays) {
+        if (writeTimeoutSeconds <= 0 || Duration.ofSeconds(writeTimeoutSeconds).toMillis() >= settleMs) {
+            throw new IllegalStateException("campaign.changes.write-timeout-seconds (" + writeTimeoutSeconds
+                    + ") must be positive and below campaign.changes.settle-ms (" + settleMs
+                    + "), or changes committing late are skipped by the change feed");
+        }
+        this.campaignService = campaignService;
+        this.stableService = stableService;
+        this.campaignTombstoneRepository = campaignTombstoneRepository;
+        this.settle = Duration.ofMillis(settleMs);
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    /**
+     * Returns up to {@code limit} changes visible to the caller since
+     * {@code since}, oldest first. Without a cursor every campaign and stable
+     * is returned, page by page, and only deletions from then on are reported.
+     *
+     * @param username the username of the authenticated user
+     * @param isAdmin  whether the caller has the ADMIN role; other users only
+     *                 see changes to their own campaigns and stables
+     * @param since    the cursor returned by the previous call, or null
+     * @param limit    maximum number of changes to return
+     * @throws InvalidValueException  if the cursor is malformed
+     * @throws CursorExpiredException if the cursor was last synced before the tombstone retention
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse getChanges(String username, boolean isAdmin, String since, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime horizon = now.minus(settle);
+        Source<CampaignResponse> campaigns;
+        Source<StableResponse> stables;
+        Source<CampaignTombstone> tombstones;
+        if (since == null || since.isBlank()) {
+            campaigns = new Source<>(BEGINNING, 0L);
+            stables = new Source<>(BEGINNING, 0L);
+            tombstones = new Source<>(horizon, 0L);
+        } else {
+            String[] parts = KeysetCursor.decode(since, 6);
+            campaigns = new Source<>(parseTimestamp(parts[0]), parseId(parts[1]));
+            stables = new Source<>(parseTimestamp(parts[2]), parseId(parts[3]));
+            tombstones = new Source<>(parseTimestamp(parts[4]), parseId(parts[5]));
+            if (tombstones.timestamp.isBefore(now.minus(retention))) {
+                throw new CursorExpiredException("Cursor is older than the change history kept, sync from scratch");
+            }
+        }
+
+        // One extra row per source tells whether anything is left after this page
+        campaigns.rows = campaignService.getCampaignsChangedAfter(username, isAdmin,
+                campaigns.timestamp, campaigns.id, horizon, limit + 1);
+        stables.rows = stableService.getStablesChangedAfter(username, isAdmin,
+                stables.timestamp, stables.id, horizon, limit + 1);
+        tombstones.rows = isAdmin
+                ? campaignTombstoneRepository.findChangedAfter(
+                        tombstones.timestamp, tombstones.id, horizon, Limit.of(limit + 1))
+                : campaignTombstoneRepository.findByOwnerUsernameChangedAfter(
+                        username, tombstones.timestamp, tombstones.id, horizon, Limit.of(limit + 1));
+
+        List<CampaignResponse> changedCampaigns = new ArrayList<>();
+        List<StableResponse> changedStables = new ArrayList<>();
+        List<Long> deletedCampaignIds = new ArrayList<>();
+        for (int taken = 0; taken < limit; taken++) {
+            LocalDateTime c = campaigns.peek(CampaignResponse::getUpdatedAt);
+            LocalDateTime s = stables.peek(StableResponse::getUpdatedAt);
+            LocalDateTime t = tombstones.peek(CampaignTombstone::getDeletedAt);
+            if (c != null && (s == null || !c.isAfter(s)) && (t == null || !c.isAfter(t))) {
+                changedCampaigns.add(campaigns.take(CampaignResponse::getUpdatedAt, CampaignResponse::getId));
+            } else if (s != null && (t == null || !s.isAfter(t))) {
+                changedStables.add(stables.take(StableResponse::getUpdatedAt, StableResponse::getId));
+            } else if (t != null) {
+                deletedCampaignIds.add(tombstones.take(CampaignTombstone::getDeletedAt, CampaignTombstone::getId)
+                        .getCampaignId());
+            } else {
+                break;
+            }
+        }
+
+        // Nothing else committed up to the horizon: later rows all come after it
+        campaigns.advanceIfExhausted(horizon, limit);
+        stables.advanceIfExhausted(horizon, limit);
+        tombstones.advanceIfExhausted(horizon, limit);
+
+        return ChangeFeedResponse.builder()
+                .campaigns(changedCampaigns)
+                .stables(changedStables)
+                .deletedCampaignIds(deletedCampaignIds)
+                .nextCursor(KeysetCursor.encode(campaigns.timestamp, campaigns.id, stables.timestamp, stables.id,
+                        tombstones.timestamp, tombstones.id))
+                .hasMore(campaigns.hasNext() || stables.hasNext() || tombstones.hasNext())
+                .build();
+    }
+
+    /**
+     * Deletes tombstones older than the retention. Cursors that old are
+     * rejected anyway.
+     */
+    @Scheduled(cron = "${campaign.changes.tombstone-purge-cron:0 30 3 * * *}")
+    public void purgeTombstones() {
+        int purged = campaignTombstoneRepository.deleteByDeletedAtBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} campaign tombstones older than {} days", purged, retention.toDays());
+        }
+    }
+
+    /**
+     * The rows read from one source and the position after the last row
+     * taken from it.
+     */
+    private static class Source<T> {
+
+        private LocalDateTime timestamp;
+        private long id;
+        private List<T> rows = List.of();
+        private int next;
+
+        Source(LocalDateTime timestamp, long id) {
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+
+        boolean hasNext() {
+            return next < rows.size();
+        }
+
+        LocalDateTime peek(Function<T, LocalDateTime> timestampOf) {
+            return hasNext() ? timestampOf.apply(rows.get(next)) : null;
+        }
+
+        T take(Function<T, LocalDateTime> timestampOf, Function<T, Long> idOf) {
+            T row = rows.get(next++);
+            timestamp = timestampOf.apply(row);
+            id = idOf.apply(row);
+            return row;
+        }
+
+        /**
+         * Moves the position to the horizon once every row read has been
+         * taken and the read returned fewer than {@code limit + 1} rows.
+         */
+        void advanceIfExhausted(LocalDateTime horizon, int limit) {
+            if (!hasNext() && rows.size() <= limit && timestamp.isBefore(horizon)) {
+                timestamp = horizon;
+                id = 0L;
+            }
+        }
+    }
+
+    private static LocalDateTime parseTimestamp(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidValueException("Invalid cursor");
+        }
+    }
+
+    private static long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidValueException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import upc.edu.muusmart.campaignmanagement.application.dto.BatchItemResult;
+import upc.edu.muusmart.campaignmanagement.application.dto.BulkGoalProgressRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.BulkGoalProgressResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.GoalProgressUpdate;
+import upc.edu.muusmart.campaignmanagement.domain.events.CampaignChangedEvent;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.GoalOwnership;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignRepository;
+import upc.edu.muusmart.campaignmanagement.domain.repository.GoalProgressRepository;
+import upc.edu.muusmart.campaignmanagement.domain.repository.GoalRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies progress updates to many goals at once. Ownership is resolved for
+ * all goals of the request with one projection query, and the new values are
+ * written with batched UPDATE statements, so no campaign aggregate is loaded.
+ *
+ * <p>The new values are computed here from the current ones, read once the
+ * campaigns and their goals are locked, so an item that would take a goal out
+ * of the {@code int} range is rejected on its own instead of failing the
+ * whole request in the database.</p>
+ */
+@Service
+@Timed("service.invocations")
+@RequiredArgsConstructor
+@Transactional(timeoutString = "${campaign.changes.write-timeout-seconds:20}")
+public class GoalProgressService {
+
+    private final GoalRepository goalRepository;
+    private final CampaignRepository campaignRepository;
+    private final GoalProgressRepository goalProgressRepository;
+    private final CampaignSummaryService campaignSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Updates the current value of the goals in the request. Items for goals
+     * that do not exist, or that belong to another user's campaign when the
+     * caller is not an administrator, are rejected and the rest are applied.
+     * Several items for the same goal are applied in request order; an item
+     * whose delta would overflow the goal value is rejected.
+     *
+     * @param request  the updates to apply
+     * @param username the username of the authenticated user
+     * @param isAdmin  whether the caller has the ADMIN role
+     * @return the number of goals updated and the rejected items
+     */
+    public BulkGoalProgressResponse updateProgress(BulkGoalProgressRequest request, String username, boolean isAdmin) {
+        List<GoalProgressUpdate> updates = request.getUpdates();
+        Set<Long> goalIds = updates.stream().map(GoalProgressUpdate::getGoalId).collect(Collectors.toSet());
+        Map<Long, GoalOwnership> ownership = goalRepository.findOwnershipByIdIn(goalIds).stream()
+                .collect(Collectors.toMap(GoalOwnership::getGoalId, Function.identity()));
+
+        List<BatchItemResult> rejections = new ArrayList<>();
+        Map<Integer, GoalProgressUpdate> accepted = new LinkedHashMap<>();
+        for (int index = 0; index < updates.size(); index++) {
+            GoalProgressUpdate update = updates.get(index);
+            String error = validate(update, ownership.get(update.getGoalId()), username, isAdmin);
+            if (error != null) {
+                rejections.add(rejection(index, update, error));
+            } else {
+                accepted.put(index, update);
+            }
+        }
+
+        Set<Long> changedCampaigns = new LinkedHashSet<>();
+        accepted.values().forEach(update -> changedCampaigns.add(ownership.get(update.getGoalId()).getCampaignId()));
+        var totals = campaignSummaryService.lockTotals(changedCampaigns);
+
+        // Fold the accepted items per goal, in request order, on top of the
+        // values read under the lock
+        Map<Long, Integer> currentValues = new LinkedHashMap<>();
+        if (!accepted.isEmpty()) {
+            Set<Long> acceptedGoalIds = accepted.values().stream()
+                    .map(GoalProgressUpdate::getGoalId).collect(Collectors.toSet());
+            goalRepository.findViewsByIdIn(acceptedGoalIds)
+                    .forEach(goal -> currentValues.put(goal.getId(), goal.getCurrentValue()));
+        }
+        Map<Long, Integer> newValues = new LinkedHashMap<>();
+        accepted.forEach((index, update) -> {
+            Long goalId = update.getGoalId();
+            if (update.getCurrentValue() != null) {
+                newValues.put(goalId, update.getCurrentValue());
+                return;
+            }
+            int value = newValues.containsKey(goalId) ? newValues.get(goalId) : currentValues.get(goalId);
+            try {
+                newValues.put(goalId, Math.addExact(value, update.getDelta()));
+            } catch (ArithmeticException e) {
+                rejections.add(rejection(index, update, "Delta " + update.getDelta() + " takes the value " + value
+                        + " of goal " + goalId + " out of range"));
+            }
+        });
+        rejections.sort(Comparator.comparingInt(BatchItemResult::getIndex));
+
+        int updated = goalProgressRepository.setCurrentValues(newValues);
+
+        if (!changedCampaigns.isEmpty()) {
+            campaignRepository.touchAll(changedCampaigns, LocalDateTime.now());
+            campaignSummaryService.recordChanges(totals, changedCampaigns);
+        }
+        Map<Long, String> owners = ownership.values().stream()
+                .collect(Collectors.toMap(GoalOwnership::getCampaignId, GoalOwnership::getOwnerUsername, (a, b) -> a));
+        for (Long campaignId : changedCampaigns) {
+            eventPublisher.publishEvent(new CampaignChangedEvent(
+                    campaignId, owners.get(campaignId), CampaignChangedEvent.Type.GOAL_PROGRESS_CHANGED));
+        }
+
+        return BulkGoalProgressResponse.builder()
+                .updated(updated)
+                .rejected(rejections.size())
+                .rejections(rejections)
+                .build();
+    }
+
+    private static BatchItemResult rejection(int index, GoalProgressUpdate update, String error) {
+        return BatchItemResult.builder()
+                .index(index)
+                .status(BatchItemResult.Status.REJECTED)
+                .id(update.getGoalId())
+                .error(error)
+                .build();
+    }
+
+    private String validate(GoalProgressUpdate update, GoalOwnership ownership, String username, boolean isAdmin) {
+        if ((update.getCurrentValue() == null) == (update.getDelta() == null)) {
+            return "Exactly one of currentValue or delta is required";
+        }
+        if (ownership == null) {
+            return "Goal not found with id: " + update.getGoalId();
+        }
+        if (!isAdmin && !ownership.getOwnerUsername().equals(username)) {
+            return "You are not authorized to update this goal: " + update.getGoalId();
+        }
+        return null;
+    }
+}
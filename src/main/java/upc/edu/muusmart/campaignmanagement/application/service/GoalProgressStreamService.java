@@ -0,0 +1,354 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import upc.edu.muusmart.campaignmanagement.application.dto.CampaignResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.GoalResponse;
+import upc.edu.muusmart.campaignmanagement.domain.events.CampaignChangedEvent;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes goal progress of campaigns to Server-Sent Events subscribers.
+ *
+ * <p>Subscribers of the same campaign share one topic holding the goals last
+ * sent to them; a connection itself only costs its emitter. A new subscriber
+ * first receives a {@code goals} event with every goal of the campaign, taken
+ * from the topic, or from the campaign response cache for the first
+ * subscriber. Committed goal changes mark their campaign as dirty when it has
+ * subscribers, as does a first subscriber (the cached goals may predate a
+ * change committed before the topic existed), and every {@code campaign.goal-stream.interval-ms} the goals of
+ * all dirty campaigns are read with one query, compared with the topic, and
+ * the goals that changed are sent as one {@code progress} event, serialized
+ * once per campaign. However many updates a goal gets, and however many
+ * clients watch it, it costs at most one frame per subscriber and one row
+ * read per interval. A deleted campaign gets a {@code deleted} event and its
+ * streams are closed.</p>
+ *
+ * <p>Writing to a client blocks while its connection is not being read, so
+ * events are only queued per subscriber by the scheduled run and the event
+ * listener, and {@code campaign.goal-stream.send-threads} sender threads write
+ * each subscriber's queue in order. A slow client therefore holds a sender
+ * thread, never the scheduler thread the other {@code @Scheduled} tasks share,
+ * and one that falls {@code campaign.goal-stream.max-pending} events behind is
+ * disconnected; EventSource clients reconnect and start from the current
+ * goals.</p>
+ *
+ * <p>Comments are sent every {@code campaign.goal-stream.heartbeat-ms} so
+ * proxies keep idle streams open and closed connections are noticed.
+ * Subscriber and campaign counts are published as
+ * {@code campaign.goal.stream.*} gauges.</p>
+ */
+@Slf4j
+@Service
+@Timed("service.invocations")
+public class GoalProgressStreamService implements MeterBinder {
+
+    // Campaigns whose goals are read per query
+    private static final int CHUNK_SIZE = 1000;
+
+    private final CampaignService campaignService;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final long heartbeatNanos;
+    private final int maxPending;
+    private final ExecutorService senders;
+
+    private final ConcurrentHashMap<Long, Topic> topics = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private volatile long lastHeartbeat = System.nanoTime();
+
+    public GoalProgressStreamService(CampaignService campaignService,
+                                     ObjectMapper objectMapper,
+                                     @Value("${campaign.goal-stream.timeout-ms:1800000}") long timeoutMs,
+                                     @Value("${campaign.goal-stream.heartbeat-ms:15000}") long heartbeatMs,
+                                     @Value("${campaign.goal-stream.send-threads:4}") int sendThreads,
+                                     @Value("${campaign.goal-stream.max-pending:32}") int maxPending) {
+        this.campaignService = campaignService;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.heartbeatNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatMs);
+        this.maxPending = Math.max(1, maxPending);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, sendThreads), task -> {
+            Thread thread = new Thread(task, "goal-stream-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * The subscribers of one campaign and the goals they were last sent. Only
+     * changed inside {@link ConcurrentHashMap#compute} and its variants, so
+     * joins, leaves and updates of one campaign never interleave.
+     */
+    private static class Topic {
+
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private Map<Long, GoalResponse> goals;
+
+        Topic(Collection<GoalResponse> goals) {
+            this.goals = byId(goals);
+        }
+    }
+
+    /**
+     * One connection and the deliveries not yet written to it. At most one
+     * sender thread drains the queue at a time, so deliveries keep their order.
+     */
+    private static class Subscriber {
+
+        private final Long campaignId;
+        private final SseEmitter emitter;
+        private final Queue<Delivery> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(Long campaignId, SseEmitter emitter) {
+            this.campaignId = campaignId;
+            this.emitter = emitter;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Delivery {
+        void deliver(SseEmitter emitter) throws IOException;
+    }
+
+    /**
+     * Opens a stream of the goal progress of a campaign.
+     *
+     * @param campaignId the campaign identifier
+     * @param username   the username of the authenticated user
+     * @param isAdmin    whether the caller has the ADMIN role
+     * @throws SecurityException if the caller is not authorized to view the campaign
+     */
+    public SseEmitter subscribe(Long campaignId, String username, boolean isAdmin) {
+        // Authorizes the caller, from the campaign response cache when possible
+        CampaignResponse campaign = campaignService.getCampaignById(campaignId, username, isAdmin);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> unsubscribe(campaignId, emitter));
+        emitter.onTimeout(() -> unsubscribe(campaignId, emitter));
+        emitter.onError(error -> unsubscribe(campaignId, emitter));
+        IOException[] failure = new IOException[1];
+        topics.compute(campaignId, (id, topic) -> {
+            if (topic == null) {
+                topic = new Topic(campaign.getGoals());
+                // Progress committed after the goals were read had no topic to mark; compare on the next run
+                dirty.add(id);
+            }
+            // Sent before the emitter is returned, so this is only buffered; sending it
+            // here keeps it ahead of any progress event computed after the join
+            try {
+                emitter.send(SseEmitter.event().name("goals")
+                        .data(toJson(topic.goals.values()), MediaType.APPLICATION_JSON));
+            } catch (IOException e) {
+                failure[0] = e;
+                return topic.subscribers.isEmpty() ? null : topic;
+            }
+            topic.subscribers.add(new Subscriber(campaignId, emitter));
+            return topic;
+        });
+        if (failure[0] != null) {
+            emitter.completeWithError(failure[0]);
+        }
+        return emitter;
+    }
+
+    private void unsubscribe(Long campaignId, SseEmitter emitter) {
+        topics.computeIfPresent(campaignId, (id, topic) -> {
+            topic.subscribers.removeIf(subscriber -> subscriber.emitter == emitter);
+            return topic.subscribers.isEmpty() ? null : topic;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        Long campaignId = event.getCampaignId();
+        if (!topics.containsKey(campaignId)) {
+            return;
+        }
+        switch (event.getType()) {
+            case GOALS_CHANGED, GOAL_PROGRESS_CHANGED -> dirty.add(campaignId);
+            case DELETED -> {
+                Topic topic = topics.remove(campaignId);
+                if (topic != null) {
+                    String data = toJson(Map.of("campaignId", campaignId));
+                    for (Subscriber subscriber : topic.subscribers) {
+                        send(subscriber, SseEmitter.event().name("deleted").data(data, MediaType.APPLICATION_JSON));
+                        enqueue(subscriber, SseEmitter::complete);
+                    }
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Sends the goals that changed since the last run to the subscribers of
+     * their campaign, and heartbeats when they are due.
+     */
+    @Scheduled(fixedDelayString = "${campaign.goal-stream.interval-ms:1000}")
+    public void publish() {
+        if (!dirty.isEmpty()) {
+            List<Long> ids = new ArrayList<>(dirty);
+            dirty.removeAll(ids);
+            ids.removeIf(id -> !topics.containsKey(id));
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+                try {
+                    Map<Long, List<GoalResponse>> goals = campaignService.getGoalsByCampaignIds(chunk);
+                    chunk.forEach(id -> publish(id, goals.getOrDefault(id, List.of())));
+                } catch (RuntimeException e) {
+                    log.warn("Goal progress read failed, {} campaigns will be retried: {}",
+                            ids.size() - from, e.getMessage());
+                    dirty.addAll(ids.subList(from, ids.size()));
+                    break;
+                }
+            }
+        }
+        if (System.nanoTime() - lastHeartbeat >= heartbeatNanos) {
+            lastHeartbeat = System.nanoTime();
+            topics.forEach((id, topic) -> topic.subscribers.forEach(
+                    subscriber -> send(subscriber, SseEmitter.event().comment("heartbeat"))));
+        }
+    }
+
+    private void publish(Long campaignId, List<GoalResponse> goals) {
+        List<GoalResponse> changed = new ArrayList<>();
+        List<Subscriber> subscribers = new ArrayList<>();
+        topics.computeIfPresent(campaignId, (id, topic) -> {
+            for (GoalResponse goal : goals) {
+                if (!goal.equals(topic.goals.get(goal.getId()))) {
+                    changed.add(goal);
+                }
+            }
+            topic.goals = byId(goals);
+            subscribers.addAll(topic.subscribers);
+            return topic;
+        });
+        if (changed.isEmpty()) {
+            return;
+        }
+        String data = toJson(changed);
+        for (Subscriber subscriber : subscribers) {
+            send(subscriber, SseEmitter.event().name("progress").data(data, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        enqueue(subscriber, emitter -> emitter.send(event));
+    }
+
+    /**
+     * Queues a delivery for the sender threads. A subscriber with
+     * {@code maxPending} deliveries already waiting is not keeping up and is
+     * disconnected instead.
+     */
+    private void enqueue(Subscriber subscriber, Delivery delivery) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (subscriber.pendingCount.incrementAndGet() > maxPending) {
+            // A sender is stuck writing to it and completes the emitter once the write returns;
+            // completing it here would wait for that write too
+            log.debug("Goal progress stream of campaign {} fell {} events behind, disconnecting",
+                    subscriber.campaignId, maxPending);
+            close(subscriber);
+            return;
+        }
+        subscriber.pending.add(delivery);
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            Delivery delivery;
+            while (!subscriber.closed && (delivery = subscriber.pending.poll()) != null) {
+                subscriber.pendingCount.decrementAndGet();
+                try {
+                    delivery.deliver(subscriber.emitter);
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away; the container completes the emitter
+                    close(subscriber);
+                    return;
+                }
+            }
+            if (subscriber.closed) {
+                subscriber.emitter.complete();
+                return;
+            }
+            subscriber.draining.set(false);
+            // Picks up a delivery queued after the last poll but before the flag was cleared
+        } while (!subscriber.pending.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        unsubscribe(subscriber.campaignId, subscriber.emitter);
+        subscriber.pending.clear();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize goal progress", e);
+        }
+    }
+
+    private static Map<Long, GoalResponse> byId(Collection<GoalResponse> goals) {
+        Map<Long, GoalResponse> byId = new LinkedHashMap<>();
+        goals.forEach(goal -> byId.put(goal.getId(), goal));
+        return byId;
+    }
+
+    @PreDestroy
+    public void closeStreams() {
+        senders.shutdownNow();
+        topics.values().forEach(topic -> topic.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        topics.clear();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("campaign.goal.stream.subscribers", topics,
+                        t -> t.values().stream().mapToInt(topic -> topic.subscribers.size()).sum())
+                .description("Open goal progress streams")
+                .register(registry);
+        Gauge.builder("campaign.goal.stream.campaigns", topics, Map::size)
+                .description("Campaigns with at least one goal progress stream")
+                .register(registry);
+    }
+}
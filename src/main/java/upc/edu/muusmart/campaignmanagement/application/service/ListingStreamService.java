@@ -0,0 +1,48 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import upc.edu.muusmart.campaignmanagement.application.dto.CursorPage;
+
+import java.util.function.Function;
+
+/**
+ * Reads campaign and stable listings one keyset page at a time for the NDJSON
+ * streams.
+ *
+ * <p>Each page is read through {@link CampaignService#getCampaignsPage} or
+ * {@link StableService#getStablesPage}, so it uses the same ownership rules
+ * and its own short read-only transaction. The writer only asks for the next
+ * page once the previous one has been written, so a slow client slows down
+ * the reads instead of buffering the listing in memory, and it never holds a
+ * database connection while the server waits on its socket. Unlike the
+ * export, which keeps one cursor open, a stream is not a consistent snapshot:
+ * rows committed while it runs may or may not be included.</p>
+ */
+@Service
+@Timed("service.invocations")
+@RequiredArgsConstructor
+public class ListingStreamService {
+
+    private static final int PAGE_SIZE = 200;
+
+    private final CampaignService campaignService;
+    private final StableService stableService;
+
+    /**
+     * Pages of every campaign visible to the caller, in id order, keyed by the
+     * cursor of the previous page (null for the first one).
+     */
+    public Function<String, CursorPage<?>> campaignPages(String username, boolean isAdmin) {
+        return cursor -> campaignService.getCampaignsPage(username, isAdmin, cursor, PAGE_SIZE);
+    }
+
+    /**
+     * Pages of every stable visible to the caller, in id order, keyed by the
+     * cursor of the previous page (null for the first one).
+     */
+    public Function<String, CursorPage<?>> stablePages(String username, boolean isAdmin) {
+        return cursor -> stableService.getStablesPage(username, isAdmin, cursor, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,279 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import upc.edu.muusmart.campaignmanagement.application.dto.BatchItemResult;
+import upc.edu.muusmart.campaignmanagement.application.dto.CampaignResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.MetricEvent;
+import upc.edu.muusmart.campaignmanagement.application.dto.MetricEventBatchRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.MetricEventBatchResponse;
+import upc.edu.muusmart.campaignmanagement.domain.events.CampaignChangedEvent;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.MetricDelta;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignRepository;
+import upc.edu.muusmart.campaignmanagement.domain.repository.GoalProgressRepository;
+import upc.edu.muusmart.campaignmanagement.shared.exceptions.ResourceNotFoundException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregates CLICKS, VIEWS and CONVERSIONS events in memory and writes them
+ * to the matching goals periodically instead of once per event.
+ *
+ * <p>Events are counted in one {@link LongAdder} per (campaign, channel type,
+ * metric), so concurrent requests never contend on a lock or touch the
+ * database. Every {@code campaign.metrics.flush-interval-ms} the accumulated
+ * counts are drained and applied to {@code Goal.currentValue} with batched
+ * UPDATEs in a single transaction; that interval is the longest time an
+ * accepted event can stay invisible. Goal values stop at
+ * {@link Integer#MAX_VALUE}. If the flush fails, the counts are applied again
+ * one campaign per transaction, so one failing campaign does not hold back the
+ * others; the counts of a campaign that still fails are added back and retried
+ * on the next runs, and dropped with an error after
+ * {@value #MAX_FAILED_FLUSHES} failed flushes in a row. Pending counts are also
+ * flushed when the application shuts down; counts still buffered if the
+ * process dies abruptly are lost.</p>
+ *
+ * <p>Like every other campaign write, the flush keeps the summary totals up to
+ * date, so its transaction locks the rows of all campaigns it touches (and
+ * their goals) through {@link CampaignSummaryService#lockTotals}, and then the
+ * summary rows of their (owner, stable, status). The flush writes those
+ * campaign rows anyway to move their {@code updatedAt}, and every other writer
+ * locks the campaign row before its goals, so locking the goals as well adds
+ * no waiting of its own. A status change or goal edit on one of these campaigns
+ * waits for the flush to commit, and the flush waits for it. The transaction
+ * runs a fixed number of batched statements, so the wait is short, but it
+ * grows with the number of campaigns that received events in the interval.</p>
+ */
+@Slf4j
+@Service
+@Timed("service.invocations")
+public class MetricIngestionService {
+
+    // Failed flushes in a row after which the counts of a key are dropped
+    static final int MAX_FAILED_FLUSHES = 5;
+
+    private final CampaignService campaignService;
+    private final CampaignSummaryService campaignSummaryService;
+    private final GoalProgressRepository goalProgressRepository;
+    private final CampaignRepository campaignRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<CounterKey, LongAdder> counters = new ConcurrentHashMap<>();
+    // Per (campaign, metric) key; only used inside the synchronized flush
+    private final Map<CounterKey, Integer> failedFlushes = new HashMap<>();
+
+    public MetricIngestionService(CampaignService campaignService,
+                                  CampaignSummaryService campaignSummaryService,
+                                  GoalProgressRepository goalProgressRepository,
+                                  CampaignRepository campaignRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager,
+                                  @org.springframework.beans.factory.annotation.Value(
+                                          "${campaign.changes.write-timeout-seconds:20}") int writeTimeoutSeconds) {
+        this.campaignService = campaignService;
+        this.campaignSummaryService = campaignSummaryService;
+        this.goalProgressRepository = goalProgressRepository;
+        this.campaignRepository = campaignRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Flushes touch updatedAt, which the change feed relies on committing in time
+        this.transactionTemplate.setTimeout(writeTimeoutSeconds);
+    }
+
+    @Value
+    private static class CounterKey {
+        Long campaignId;
+        String ownerUsername;
+        String channelType;
+        String metric;
+    }
+
+    /**
+     * Validates and buffers the given events. An event is accepted when its
+     * metric is supported and its campaign is visible to the caller and has a
+     * channel of the given type; campaigns are looked up through the campaign
+     * response cache, so steady ingestion does not query the database.
+     *
+     * @param request  the events to ingest
+     * @param username the username of the authenticated user
+     * @param isAdmin  whether the caller has the ADMIN role
+     * @return the number of accepted events and the rejected ones
+     */
+    public MetricEventBatchResponse ingest(MetricEventBatchRequest request, String username, boolean isAdmin) {
+        List<MetricEvent> events = request.getEvents();
+        Map<Long, CampaignResponse> campaigns = new HashMap<>();
+        Map<Long, String> lookupErrors = new HashMap<>();
+        List<BatchItemResult> rejections = new ArrayList<>();
+        for (int index = 0; index < events.size(); index++) {
+            MetricEvent event = events.get(index);
+            Long campaignId = event.getCampaignId();
+            if (!campaigns.containsKey(campaignId) && !lookupErrors.containsKey(campaignId)) {
+                try {
+                    campaigns.put(campaignId, campaignService.getCampaignById(campaignId, username, isAdmin));
+                } catch (ResourceNotFoundException | SecurityException e) {
+                    lookupErrors.put(campaignId, e.getMessage());
+                }
+            }
+            CampaignResponse campaign = campaigns.get(campaignId);
+            String error = campaign != null ? validate(event, campaign) : lookupErrors.get(campaignId);
+            if (error != null) {
+                rejections.add(BatchItemResult.builder()
+                        .index(index)
+                        .status(BatchItemResult.Status.REJECTED)
+                        .id(campaignId)
+                        .error(error)
+                        .build());
+                continue;
+            }
+            CounterKey key = new CounterKey(campaign.getId(), campaign.getUsername(),
+                    event.getChannelType().toUpperCase(Locale.ROOT), event.getMetric());
+            counters.computeIfAbsent(key, k -> new LongAdder())
+                    .add(event.getCount() != null ? event.getCount() : 1);
+        }
+        return MetricEventBatchResponse.builder()
+                .accepted(events.size() - rejections.size())
+                .rejected(rejections.size())
+                .rejections(rejections)
+                .build();
+    }
+
+    private String validate(MetricEvent event, CampaignResponse campaign) {
+        if (!CampaignService.ALLOWED_GOAL_METRICS.contains(event.getMetric())) {
+            return "Invalid metric. Allowed: " + CampaignService.ALLOWED_GOAL_METRICS;
+        }
+        boolean hasChannel = campaign.getChannels() != null && campaign.getChannels().stream()
+                .anyMatch(c -> c.getType().equalsIgnoreCase(event.getChannelType()));
+        if (!hasChannel) {
+            return "Campaign " + campaign.getId() + " has no channel of type " + event.getChannelType();
+        }
+        return null;
+    }
+
+    /**
+     * Applies the buffered counts to the goals. Runs on a fixed delay and once
+     * more on shutdown; runs never overlap.
+     */
+    @Scheduled(fixedDelayString = "${campaign.metrics.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        // Drain per counter; an event added concurrently either makes it into
+        // this drain or stays in the adder for the next one
+        Map<CounterKey, Long> drained = new HashMap<>();
+        counters.forEach((key, adder) -> {
+            long count = adder.sumThenReset();
+            if (count != 0) {
+                drained.put(key, count);
+            }
+        });
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        // Goals are per (campaign, metric), so channel types are summed here
+        Map<CounterKey, Long> byMetric = new LinkedHashMap<>();
+        drained.forEach((key, count) -> byMetric.merge(
+                new CounterKey(key.getCampaignId(), key.getOwnerUsername(), null, key.getMetric()), count, Long::sum));
+        Map<CounterKey, Integer> applied = new LinkedHashMap<>();
+        byMetric.forEach((key, count) -> {
+            // A delta is an int; anything above that waits for the next flush
+            int delta = (int) Math.min(count, Integer.MAX_VALUE);
+            if (count > delta) {
+                requeue(key, count - delta);
+            }
+            applied.put(key, delta);
+        });
+
+        try {
+            apply(applied);
+            failedFlushes.keySet().removeAll(applied.keySet());
+        } catch (RuntimeException e) {
+            log.warn("Metric flush of {} counters failed, applying them per campaign: {}",
+                    applied.size(), e.getMessage());
+            Map<Long, Map<CounterKey, Integer>> byCampaign = new LinkedHashMap<>();
+            applied.forEach((key, delta) -> byCampaign
+                    .computeIfAbsent(key.getCampaignId(), id -> new LinkedHashMap<>()).put(key, delta));
+            byCampaign.forEach((campaignId, campaignDeltas) -> {
+                try {
+                    apply(campaignDeltas);
+                    failedFlushes.keySet().removeAll(campaignDeltas.keySet());
+                } catch (RuntimeException campaignFailure) {
+                    campaignDeltas.forEach((key, delta) -> retryOrDrop(key, delta, campaignFailure));
+                }
+            });
+        }
+    }
+
+    /**
+     * Adds the deltas to the goals, and keeps summaries and {@code updatedAt}
+     * in step, in one transaction.
+     */
+    private void apply(Map<CounterKey, Integer> applied) {
+        List<MetricDelta> deltas = new ArrayList<>(applied.size());
+        applied.forEach((key, delta) -> deltas.add(new MetricDelta(key.getCampaignId(), key.getMetric(), delta)));
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<Long> campaignIds = deltas.stream().map(MetricDelta::getCampaignId).collect(Collectors.toSet());
+            // Takes the row locks of these campaigns (see the class comment)
+            var totals = campaignSummaryService.lockTotals(campaignIds);
+            goalProgressRepository.addToCurrentValuesByMetric(deltas);
+            campaignRepository.touchAll(campaignIds, LocalDateTime.now());
+            campaignSummaryService.recordChanges(totals, campaignIds);
+            applied.keySet().stream()
+                    .map(key -> new CampaignChangedEvent(key.getCampaignId(), key.getOwnerUsername(),
+                            CampaignChangedEvent.Type.GOAL_PROGRESS_CHANGED))
+                    .distinct()
+                    .forEach(eventPublisher::publishEvent);
+        });
+    }
+
+    private void retryOrDrop(CounterKey key, int delta, RuntimeException failure) {
+        int failures = failedFlushes.merge(key, 1, Integer::sum);
+        if (failures < MAX_FAILED_FLUSHES) {
+            requeue(key, delta);
+            return;
+        }
+        failedFlushes.remove(key);
+        log.error("Dropping {} {} events of campaign {} after {} failed flushes: {}",
+                delta, key.getMetric(), key.getCampaignId(), failures, failure.getMessage());
+    }
+
+    /**
+     * Puts counts back to be applied by a later flush, keyed per (campaign,
+     * metric) since the channel types no longer matter.
+     */
+    private void requeue(CounterKey key, long count) {
+        counters.computeIfAbsent(key, k -> new LongAdder()).add(count);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Drops the counters of deleted campaigns so the map only holds live keys.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        if (event.getType() == CampaignChangedEvent.Type.DELETED) {
+            counters.keySet().removeIf(key -> key.getCampaignId().equals(event.getCampaignId()));
+        }
+    }
+}
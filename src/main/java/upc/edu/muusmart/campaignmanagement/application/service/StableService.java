@@ -1,16 +1,25 @@
 package upc.edu.muusmart.campaignmanagement.application.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import upc.edu.muusmart.campaignmanagement.application.dto.CreateStableRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.CursorPage;
 import upc.edu.muusmart.campaignmanagement.application.dto.StableResponse;
+import upc.edu.muusmart.campaignmanagement.domain.events.StableChangedEvent;
 import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Stable;
 import upc.edu.muusmart.campaignmanagement.domain.model.enums.StableStatus;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.OwnedVersion;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.StableView;
 import upc.edu.muusmart.campaignmanagement.domain.repository.StableRepository;
 import upc.edu.muusmart.campaignmanagement.shared.exceptions.DuplicateResourceException;
 import upc.edu.muusmart.campaignmanagement.shared.exceptions.ResourceNotFoundException;
+import upc.edu.muusmart.campaignmanagement.shared.pagination.KeysetCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,11 +30,13 @@ import java.util.stream.Collectors;
  * controllers).
  */
 @Service
+@Timed("service.invocations")
 @RequiredArgsConstructor
-@Transactional
+@Transactional(timeoutString = "${campaign.changes.write-timeout-seconds:20}")
 public class StableService {
 
     private final StableRepository stableRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Creates a new stable for the given user. Ensures that the user does not
@@ -49,6 +60,7 @@ public class StableService {
                 .status(request.getStatus() == null ? StableStatus.OPERATIVE : request.getStatus())
                 .build();
         Stable saved = stableRepository.save(stable);
+        eventPublisher.publishEvent(new StableChangedEvent(saved.getId(), saved.getOwnerUsername()));
         return mapToResponse(saved);
     }
 
@@ -60,16 +72,59 @@ public class StableService {
      * @param isAdmin  whether the caller has the ADMIN role
      * @return a list of stables the caller can see
      */
+    @Transactional(readOnly = true)
     public List<StableResponse> getAllStables(String username, boolean isAdmin) {
-        List<Stable> stables;
+        List<StableView> stables;
         if (isAdmin) {
-            stables = stableRepository.findAll();
+            stables = stableRepository.findAllViews();
         } else {
-            stables = stableRepository.findByOwnerUsername(username);
+            stables = stableRepository.findViewsByOwnerUsername(username);
         }
         return stables.stream().map(this::mapToResponse).collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves one keyset page of the stables accessible to the caller, in id
+     * order.
+     *
+     * @param username the username of the caller
+     * @param isAdmin  whether the caller has the ADMIN role
+     * @param cursor   opaque cursor from the previous page, or null for the first page
+     * @param limit    maximum number of stables to return
+     * @return the page of stables and the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<StableResponse> getStablesPage(String username, boolean isAdmin, String cursor, int limit) {
+        long afterId = KeysetCursor.decodeId(cursor);
+        // Fetch one extra row to know whether another page exists
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<StableView> stables = isAdmin
+                ? stableRepository.findViewsAfter(afterId, fetchLimit)
+                : stableRepository.findViewsByOwnerUsernameAfter(username, afterId, fetchLimit);
+        boolean hasMore = stables.size() > limit;
+        if (hasMore) {
+            stables = stables.subList(0, limit);
+        }
+        String nextCursor = hasMore ? KeysetCursor.encode(stables.get(stables.size() - 1).getId()) : null;
+        return new CursorPage<>(stables.stream().map(this::mapToResponse).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Returns up to {@code limit} of the stables visible to the caller that
+     * were created or updated after the {@code (afterTs, afterId)} position and
+     * no later than {@code horizon}, in (updatedAt, id) order. Used by the
+     * change feed.
+     */
+    @Transactional(readOnly = true)
+    public List<StableResponse> getStablesChangedAfter(String username, boolean isAdmin, LocalDateTime afterTs,
+                                                       Long afterId, LocalDateTime horizon, int limit) {
+        List<StableView> stables = isAdmin
+                ? stableRepository.findViewsChangedAfter(afterTs, afterId, horizon, Limit.of(limit))
+                : stableRepository.findViewsByOwnerUsernameChangedAfter(username, afterTs, afterId, horizon,
+                        Limit.of(limit));
+        return stables.stream().map(this::mapToResponse).collect(Collectors.toList());
+    }
+
     /**
      * Retrieves a single stable by ID if the caller is authorized. Normal
      * users may only access their own stables.
@@ -79,8 +134,9 @@ public class StableService {
      * @param isAdmin  whether the caller has the ADMIN role
      * @return the stable response
      */
+    @Transactional(readOnly = true)
     public StableResponse getStableById(Long stableId, String username, boolean isAdmin) {
-        Stable stable = stableRepository.findById(stableId)
+        StableView stable = stableRepository.findViewById(stableId)
                 .orElseThrow(() -> new ResourceNotFoundException("Stable not found with id: " + stableId));
         if (!isAdmin && !stable.getOwnerUsername().equals(username)) {
             throw new SecurityException("Access denied to stable with id: " + stableId);
@@ -88,6 +144,20 @@ public class StableService {
         return mapToResponse(stable);
     }
 
+    /**
+     * Returns the current version of a stable, checking access the same way as
+     * {@link #getStableById}. Reads only the owner and version columns.
+     */
+    @Transactional(readOnly = true)
+    public Long getStableVersion(Long stableId, String username, boolean isAdmin) {
+        OwnedVersion stable = stableRepository.findOwnedVersionById(stableId)
+                .orElseThrow(() -> new ResourceNotFoundException("Stable not found with id: " + stableId));
+        if (!isAdmin && !stable.getOwnerUsername().equals(username)) {
+            throw new SecurityException("Access denied to stable with id: " + stableId);
+        }
+        return stable.getVersion();
+    }
+
     private StableResponse mapToResponse(Stable stable) {
         return StableResponse.builder()
                 .id(stable.getId())
@@ -99,6 +169,22 @@ public class StableService {
                 .location(stable.getLocation())
                 .capacity(stable.getCapacity())
                 .status(stable.getStatus())
+                .version(stable.getVersion())
+                .build();
+    }
+
+    private StableResponse mapToResponse(StableView stable) {
+        return StableResponse.builder()
+                .id(stable.getId())
+                .name(stable.getName())
+                .description(stable.getDescription())
+                .ownerUsername(stable.getOwnerUsername())
+                .createdAt(stable.getCreatedAt())
+                .updatedAt(stable.getUpdatedAt())
+                .location(stable.getLocation())
+                .capacity(stable.getCapacity())
+                .status(stable.getStatus())
+                .version(stable.getVersion())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package upc.edu.muusmart.campaignmanagement.domain.events;
+
+import lombok.Value;
+
+/**
+ * Published by every mutation of a campaign aggregate (the campaign itself or
+ * its goals and channels). Listeners that keep derived copies of campaign
+ * data react to it once the transaction commits.
+ */
+@Value
+public class CampaignChangedEvent {
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED,
+        GOALS_CHANGED,
+        /** Goal current values changed; the goals themselves are unchanged. */
+        GOAL_PROGRESS_CHANGED,
+        CHANNELS_CHANGED,
+        DELETED
+    }
+
+    Long campaignId;
+
+    String ownerUsername;
+
+    Type type;
+
+}
@@ -0,0 +1,16 @@
+package upc.edu.muusmart.campaignmanagement.domain.events;
+
+import lombok.Value;
+
+/**
+ * Published whenever a stable is created or modified, so components holding
+ * stable data can refresh it once the transaction commits.
+ */
+@Value
+public class StableChangedEvent {
+
+    Long stableId;
+
+    String ownerUsername;
+
+}
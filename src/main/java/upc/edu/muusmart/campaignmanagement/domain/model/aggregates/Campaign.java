@@ -16,6 +16,22 @@ import java.util.List;
 @Table(name = "campaigns",
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_campaign_owner_name", columnNames = {"ownerUsername", "name"})
+        },
+        indexes = {
+                // Keyset listing of a user's campaigns (ownerUsername = ? and id > ?
+                // order by id); the composite owner indexes below put other columns
+                // before id and cannot serve that order
+                @Index(name = "idx_campaign_owner_id", columnList = "ownerUsername, id"),
+                // Campaign search by owner or stable, status and start date; with the
+                // default start date sort the key query reads only these indexes
+                @Index(name = "idx_campaign_owner_status_start", columnList = "ownerUsername, status, startDate"),
+                @Index(name = "idx_campaign_stable_status_start", columnList = "stableId, status, startDate"),
+                // Lifecycle scheduler: campaigns of one status due to start or end
+                @Index(name = "idx_campaign_status_start", columnList = "status, startDate"),
+                @Index(name = "idx_campaign_status_end", columnList = "status, endDate"),
+                // Change feed, in (updatedAt, id) order overall and per owner
+                @Index(name = "idx_campaign_updated", columnList = "updatedAt"),
+                @Index(name = "idx_campaign_owner_updated", columnList = "ownerUsername, updatedAt")
         })
 @Data
 @NoArgsConstructor
@@ -24,7 +40,10 @@ import java.util.List;
 public class Campaign {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "campaign_id")
+    @TableGenerator(name = "campaign_id", table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "campaigns", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -48,6 +67,13 @@ public class Campaign {
     @Column(nullable = false)
     private Long stableId;
 
+    /**
+     * Optimistic-lock version, also used to build the ETag of the campaign.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "campaign", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @Builder.Default
     private List<Goal> goals = new ArrayList<>();
@@ -0,0 +1,47 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.aggregates;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.CampaignSummaryKey;
+
+/**
+ * Pre-aggregated counts of campaigns and their goals per owner, stable and
+ * status, read by the dashboard instead of every campaign and goal.
+ *
+ * <p>Rows are never written through JPA: every change to campaigns or goals
+ * adds its difference to the affected rows with {@code CampaignTotalsRepository}
+ * in the same transaction, and the table can be rebuilt from scratch from
+ * campaigns and goals. Rows whose campaigns are all gone stay with zero
+ * counts until the next rebuild.</p>
+ */
+@Entity
+@Table(name = "campaign_summaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampaignSummary {
+
+    @EmbeddedId
+    private CampaignSummaryKey id;
+
+    @Column(nullable = false)
+    private long campaignCount;
+
+    @Column(nullable = false)
+    private long goalCount;
+
+    @Column(nullable = false)
+    private long completedGoalCount;
+
+    @Column(nullable = false)
+    private long goalTargetTotal;
+
+    @Column(nullable = false)
+    private long goalProgressTotal;
+
+}
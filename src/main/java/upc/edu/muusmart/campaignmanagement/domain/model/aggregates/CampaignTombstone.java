@@ -0,0 +1,47 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.aggregates;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records that a campaign was deleted, so the change feed can tell clients to
+ * drop their copy. Tombstones are purged once they are older than the
+ * change-feed retention.
+ */
+@Entity
+@Table(name = "campaign_tombstones",
+        indexes = {
+                // Change feed, in (deletedAt, id) order overall and per owner
+                @Index(name = "idx_tombstone_deleted", columnList = "deletedAt"),
+                @Index(name = "idx_tombstone_owner_deleted", columnList = "ownerUsername, deletedAt")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CampaignTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long campaignId;
+
+    @Column(nullable = false)
+    private String ownerUsername;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
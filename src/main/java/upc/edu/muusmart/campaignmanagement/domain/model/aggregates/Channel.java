@@ -1,15 +1,20 @@
 package upc.edu.muusmart.campaignmanagement.domain.model.aggregates;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Locale;
 
 @Entity
 @Table(name = "channels",
        uniqueConstraints = {
-           @UniqueConstraint(name = "uk_channel_campaign_type", columnNames = {"campaign_id", "type"})
+           @UniqueConstraint(name = "uk_channel_campaign_type", columnNames = {"campaign_id", "type"}),
+           @UniqueConstraint(name = "uk_channel_campaign_type_key", columnNames = {"campaign_id", "type_key"})
        })
 @Data
 @NoArgsConstructor
@@ -18,12 +23,23 @@ import lombok.NoArgsConstructor;
 public class Channel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "channel_id")
+    @TableGenerator(name = "channel_id", table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "channels", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
     private String type;
 
+    /**
+     * Case-folded copy of {@link #type} kept for the unique index used to
+     * detect duplicate channels. Maintained by the entity; never set directly.
+     */
+    @Column(name = "type_key")
+    @Setter(AccessLevel.NONE)
+    private String typeKey;
+
     @Column(columnDefinition = "TEXT")
     private String details;
 
@@ -31,4 +47,17 @@ public class Channel {
     @JoinColumn(name = "campaign_id", nullable = false)
     private Campaign campaign;
 
+    @PrePersist
+    @PreUpdate
+    protected void normalizeKeys() {
+        typeKey = typeKeyOf(type);
+    }
+
+    /**
+     * The value stored in {@code type_key} for the given channel type.
+     */
+    public static String typeKeyOf(String type) {
+        return type == null ? null : type.toLowerCase(Locale.ROOT);
+    }
+
 }
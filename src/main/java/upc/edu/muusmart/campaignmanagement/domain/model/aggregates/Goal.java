@@ -1,15 +1,20 @@
 package upc.edu.muusmart.campaignmanagement.domain.model.aggregates;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Locale;
 
 @Entity
 @Table(name = "goals",
        uniqueConstraints = {
-           @UniqueConstraint(name = "uk_goal_campaign_description", columnNames = {"campaign_id", "description"})
+           @UniqueConstraint(name = "uk_goal_campaign_description", columnNames = {"campaign_id", "description"}),
+           @UniqueConstraint(name = "uk_goal_campaign_description_key", columnNames = {"campaign_id", "description_key"})
        })
 @Data
 @NoArgsConstructor
@@ -18,12 +23,23 @@ import lombok.NoArgsConstructor;
 public class Goal {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "goal_id")
+    @TableGenerator(name = "goal_id", table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "goals", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
     private String description;
 
+    /**
+     * Case-folded copy of {@link #description} kept for the unique index used
+     * to detect duplicate goals. Maintained by the entity; never set directly.
+     */
+    @Column(name = "description_key")
+    @Setter(AccessLevel.NONE)
+    private String descriptionKey;
+
     @Column(nullable = false)
     private String metric;
 
@@ -37,6 +53,19 @@ public class Goal {
     @JoinColumn(name = "campaign_id", nullable = false)
     private Campaign campaign;
 
+    @PrePersist
+    @PreUpdate
+    protected void normalizeKeys() {
+        descriptionKey = descriptionKeyOf(description);
+    }
+
+    /**
+     * The value stored in {@code description_key} for the given description.
+     */
+    public static String descriptionKeyOf(String description) {
+        return description == null ? null : description.toLowerCase(Locale.ROOT);
+    }
+
     public void updateValues(String description, String metric, Integer targetValue, Integer currentValue) {
         this.description = description;
         this.metric = metric;
@@ -0,0 +1,18 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.aggregates;
+
+/**
+ * Shared settings of the table-based id generators used by campaigns, goals
+ * and channels. Ids are reserved in blocks of {@link #ALLOCATION_SIZE} from a
+ * single row per table in {@link #TABLE}, which lets Hibernate batch inserts
+ * (IDENTITY columns force one INSERT round-trip per row).
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generators";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
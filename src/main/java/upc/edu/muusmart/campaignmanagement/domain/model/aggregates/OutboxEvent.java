@@ -0,0 +1,50 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.aggregates;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A campaign or stable change waiting to be delivered to other services.
+ *
+ * <p>Rows are never written through JPA: {@code OutboxRepository} inserts
+ * them in the transaction of the change and deletes them once the dispatcher
+ * has handed them to the sink. The id increases with every insert, so it
+ * orders the changes of one aggregate.</p>
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** CAMPAIGN or STABLE. */
+    @Column(nullable = false, length = 16)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false)
+    private String ownerUsername;
+
+    /** A {@code CampaignChangedEvent.Type} for campaigns, CHANGED for stables. */
+    @Column(nullable = false, length = 32)
+    private String eventType;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
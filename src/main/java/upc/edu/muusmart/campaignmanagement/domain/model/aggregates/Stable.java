@@ -19,6 +19,13 @@ import upc.edu.muusmart.campaignmanagement.domain.model.enums.StableStatus;
 @Table(name = "stables",
        uniqueConstraints = {
            @UniqueConstraint(name = "uk_stable_owner_name", columnNames = {"ownerUsername", "name"})
+       },
+       indexes = {
+           // Keyset listing of a user's stables (ownerUsername = ? and id > ? order by id)
+           @Index(name = "idx_stable_owner_id", columnList = "ownerUsername, id"),
+           // Change feed, in (updatedAt, id) order overall and per owner
+           @Index(name = "idx_stable_updated", columnList = "updatedAt"),
+           @Index(name = "idx_stable_owner_updated", columnList = "ownerUsername, updatedAt")
        })
 @Data
 @NoArgsConstructor
@@ -53,6 +60,13 @@ public class Stable {
     @Column(nullable = false)
     private StableStatus status = StableStatus.OPERATIVE; // default
 
+    /**
+     * Optimistic-lock version, also used to build the ETag of the stable.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,15 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.projections;
+
+import lombok.Value;
+
+/**
+ * A campaign id together with its owner, enough to publish change events for
+ * campaigns updated in bulk without loading them.
+ */
+@Value
+public class CampaignOwnership {
+
+    Long campaignId;
+    String ownerUsername;
+
+}
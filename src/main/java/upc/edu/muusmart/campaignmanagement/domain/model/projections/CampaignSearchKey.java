@@ -0,0 +1,20 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.projections;
+
+import lombok.Value;
+
+/**
+ * Id and sort value of a campaign matched by a search: everything the first
+ * phase of a search reads, and the keyset of the next page.
+ */
+@Value
+public class CampaignSearchKey {
+
+    Long id;
+
+    /**
+     * Value of the sort field: a {@code Long}, {@code String} or
+     * {@code LocalDateTime} depending on the sort.
+     */
+    Object sortValue;
+
+}
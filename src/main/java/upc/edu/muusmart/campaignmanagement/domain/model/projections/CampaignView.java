@@ -0,0 +1,27 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.projections;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a campaign's own columns, selected directly by
+ * JPQL constructor expressions so read paths do not hydrate managed
+ * {@code Campaign} entities.
+ */
+@Value
+public class CampaignView {
+
+    Long id;
+    String name;
+    String description;
+    LocalDateTime startDate;
+    LocalDateTime endDate;
+    String status;
+    String ownerUsername;
+    Long stableId;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    Long version;
+
+}
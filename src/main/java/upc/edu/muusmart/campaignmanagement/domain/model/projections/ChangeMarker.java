@@ -0,0 +1,19 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.projections;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position of one row in a change history (a campaign by {@code updatedAt} or
+ * a tombstone by {@code deletedAt}) and the campaign it concerns, enough to
+ * follow the history without loading the rows.
+ */
+@Value
+public class ChangeMarker {
+
+    Long id;
+    Long campaignId;
+    LocalDateTime changedAt;
+
+}
@@ -0,0 +1,16 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.projections;
+
+import lombok.Value;
+
+/**
+ * Read-only projection of a channel together with the id of its campaign.
+ */
+@Value
+public class ChannelView {
+
+    Long campaignId;
+    Long id;
+    String type;
+    String details;
+
+}
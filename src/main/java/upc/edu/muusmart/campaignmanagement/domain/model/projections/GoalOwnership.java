@@ -0,0 +1,16 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.projections;
+
+import lombok.Value;
+
+/**
+ * A goal id together with its campaign and the campaign owner, used to
+ * authorize goal updates without loading the campaign aggregate.
+ */
+@Value
+public class GoalOwnership {
+
+    Long goalId;
+    Long campaignId;
+    String ownerUsername;
+
+}
@@ -0,0 +1,18 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.projections;
+
+import lombok.Value;
+
+/**
+ * Read-only projection of a goal together with the id of its campaign.
+ */
+@Value
+public class GoalView {
+
+    Long campaignId;
+    Long id;
+    String description;
+    String metric;
+    Integer targetValue;
+    Integer currentValue;
+
+}
@@ -0,0 +1,15 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.projections;
+
+import lombok.Value;
+
+/**
+ * Owner and optimistic-lock version of an aggregate, read by primary key to
+ * answer conditional requests without loading the aggregate.
+ */
+@Value
+public class OwnedVersion {
+
+    String ownerUsername;
+    Long version;
+
+}
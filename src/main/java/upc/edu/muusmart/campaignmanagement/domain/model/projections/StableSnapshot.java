@@ -0,0 +1,18 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.projections;
+
+import lombok.Value;
+import upc.edu.muusmart.campaignmanagement.domain.model.enums.StableStatus;
+
+/**
+ * The few stable attributes needed by campaign operations (ownership, status
+ * and capacity). Small enough to be cached per stable id.
+ */
+@Value
+public class StableSnapshot {
+
+    Long id;
+    String ownerUsername;
+    StableStatus status;
+    Integer capacity;
+
+}
@@ -0,0 +1,26 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.projections;
+
+import lombok.Value;
+import upc.edu.muusmart.campaignmanagement.domain.model.enums.StableStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a stable, selected directly by JPQL constructor
+ * expressions.
+ */
+@Value
+public class StableView {
+
+    Long id;
+    String name;
+    String description;
+    String ownerUsername;
+    String location;
+    Integer capacity;
+    StableStatus status;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    Long version;
+
+}
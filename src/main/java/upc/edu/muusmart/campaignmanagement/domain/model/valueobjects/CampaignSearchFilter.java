@@ -0,0 +1,25 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.valueobjects;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Combinable campaign search filters. Null fields do not filter; date bounds
+ * are inclusive and {@code namePrefix} matches the start of the name.
+ */
+@Value
+@Builder
+public class CampaignSearchFilter {
+
+    String ownerUsername;
+    String status;
+    Long stableId;
+    LocalDateTime startFrom;
+    LocalDateTime startTo;
+    LocalDateTime endFrom;
+    LocalDateTime endTo;
+    String namePrefix;
+
+}
@@ -0,0 +1,33 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.valueobjects;
+
+import lombok.Value;
+
+/**
+ * Sort order of a campaign search. Ties are always broken by id in the same
+ * direction, so the order is total and can be paginated with a keyset.
+ */
+@Value
+public class CampaignSort {
+
+    public enum Field {
+        ID("id"), NAME("name"), START_DATE("startDate"), END_DATE("endDate");
+
+        private final String attribute;
+
+        Field(String attribute) {
+            this.attribute = attribute;
+        }
+
+        /**
+         * Name of the {@code Campaign} attribute, also used as the sort
+         * parameter of the search endpoint.
+         */
+        public String getAttribute() {
+            return attribute;
+        }
+    }
+
+    Field field;
+    boolean descending;
+
+}
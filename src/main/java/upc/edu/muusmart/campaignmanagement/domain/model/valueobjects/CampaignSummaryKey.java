@@ -0,0 +1,41 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.valueobjects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+/**
+ * Identifies a row of the campaign summary: the campaigns of one owner in one
+ * stable with one status. Keys are ordered so summary rows are always updated
+ * in the same order, which keeps concurrent transactions from deadlocking.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampaignSummaryKey implements Serializable, Comparable<CampaignSummaryKey> {
+
+    private static final Comparator<CampaignSummaryKey> ORDER = Comparator
+            .comparing(CampaignSummaryKey::getOwnerUsername)
+            .thenComparing(CampaignSummaryKey::getStableId)
+            .thenComparing(CampaignSummaryKey::getStatus);
+
+    @Column(nullable = false)
+    private String ownerUsername;
+
+    @Column(nullable = false)
+    private Long stableId;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Override
+    public int compareTo(CampaignSummaryKey other) {
+        return ORDER.compare(this, other);
+    }
+}
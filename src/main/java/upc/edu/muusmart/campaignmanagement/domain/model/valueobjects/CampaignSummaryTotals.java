@@ -0,0 +1,50 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.valueobjects;
+
+import lombok.Value;
+
+/**
+ * Counters of a campaign summary row, or the change to apply to one. A goal
+ * is completed when its current value reaches its target, and contributes its
+ * current value capped at the target to {@code goalProgress}, so
+ * {@code goalProgress / goalTarget} is the completion ratio of the goals.
+ */
+@Value
+public class CampaignSummaryTotals {
+
+    public static final CampaignSummaryTotals ZERO = new CampaignSummaryTotals(0, 0, 0, 0, 0);
+
+    long campaigns;
+    long goals;
+    long completedGoals;
+    long goalTarget;
+    long goalProgress;
+
+    /**
+     * Totals of a single campaign without goals.
+     */
+    public static CampaignSummaryTotals ofCampaign() {
+        return new CampaignSummaryTotals(1, 0, 0, 0, 0);
+    }
+
+    /**
+     * Totals of a single goal.
+     */
+    public static CampaignSummaryTotals ofGoal(int targetValue, int currentValue) {
+        return new CampaignSummaryTotals(0, 1, currentValue >= targetValue ? 1 : 0, targetValue,
+                Math.min(currentValue, targetValue));
+    }
+
+    public CampaignSummaryTotals plus(CampaignSummaryTotals other) {
+        return new CampaignSummaryTotals(campaigns + other.campaigns, goals + other.goals,
+                completedGoals + other.completedGoals, goalTarget + other.goalTarget, goalProgress + other.goalProgress);
+    }
+
+    public CampaignSummaryTotals minus(CampaignSummaryTotals other) {
+        return new CampaignSummaryTotals(campaigns - other.campaigns, goals - other.goals,
+                completedGoals - other.completedGoals, goalTarget - other.goalTarget, goalProgress - other.goalProgress);
+    }
+
+    public boolean isZero() {
+        return equals(ZERO);
+    }
+}
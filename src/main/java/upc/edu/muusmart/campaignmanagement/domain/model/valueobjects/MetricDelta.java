@@ -0,0 +1,16 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.valueobjects;
+
+import lombok.Value;
+
+/**
+ * An amount to add to the current value of the goals of a campaign that
+ * track the given metric.
+ */
+@Value
+public class MetricDelta {
+
+    Long campaignId;
+    String metric;
+    int delta;
+
+}
@@ -0,0 +1,37 @@
+package upc.edu.muusmart.campaignmanagement.domain.model.valueobjects;
+
+import lombok.Value;
+import upc.edu.muusmart.campaignmanagement.domain.events.CampaignChangedEvent;
+import upc.edu.muusmart.campaignmanagement.domain.events.StableChangedEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * The compact form of a change stored in the outbox and delivered to other
+ * services: which aggregate changed, whose it is and how. Consumers fetch the
+ * current state themselves when they need it.
+ */
+@Value
+public class OutboxMessage {
+
+    public static final String CAMPAIGN = "CAMPAIGN";
+    public static final String STABLE = "STABLE";
+
+    /** Outbox row id, null until the message has been stored. */
+    Long id;
+    String aggregateType;
+    Long aggregateId;
+    String ownerUsername;
+    String eventType;
+    LocalDateTime occurredAt;
+
+    public static OutboxMessage of(CampaignChangedEvent event) {
+        return new OutboxMessage(null, CAMPAIGN, event.getCampaignId(), event.getOwnerUsername(),
+                event.getType().name(), LocalDateTime.now());
+    }
+
+    public static OutboxMessage of(StableChangedEvent event) {
+        return new OutboxMessage(null, STABLE, event.getStableId(), event.getOwnerUsername(),
+                "CHANGED", LocalDateTime.now());
+    }
+}
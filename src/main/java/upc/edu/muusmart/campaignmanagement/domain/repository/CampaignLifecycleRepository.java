@@ -0,0 +1,37 @@
+package upc.edu.muusmart.campaignmanagement.domain.repository;
+
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.CampaignOwnership;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Claims and updates campaigns whose status is due to change with their dates.
+ * Claims lock the returned rows for the rest of the transaction and skip rows
+ * locked by others, so several schedulers can work through the same due
+ * campaigns at once without waiting on or repeating each other.
+ */
+public interface CampaignLifecycleRepository {
+
+    /**
+     * Claims up to {@code limit} campaigns in {@code status} whose start date
+     * is not after {@code now}.
+     */
+    List<CampaignOwnership> claimDueToStart(String status, LocalDateTime now, int limit);
+
+    /**
+     * Claims up to {@code limit} campaigns in {@code status} whose end date is
+     * not after {@code now}.
+     */
+    List<CampaignOwnership> claimDueToEnd(String status, LocalDateTime now, int limit);
+
+    /**
+     * Moves the given campaigns from {@code fromStatus} to {@code toStatus},
+     * bumping their version and update time. Campaigns no longer in
+     * {@code fromStatus} are left alone.
+     *
+     * @return the number of campaigns updated
+     */
+    int updateStatus(Collection<Long> campaignIds, String fromStatus, String toStatus, LocalDateTime now);
+}
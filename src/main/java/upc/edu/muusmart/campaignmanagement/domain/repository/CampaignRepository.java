@@ -1,12 +1,25 @@
 package upc.edu.muusmart.campaignmanagement.domain.repository;
 
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.jpa.HibernateHints;
 import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Campaign;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.CampaignView;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.ChangeMarker;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.OwnedVersion;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CampaignRepository extends JpaRepository<Campaign, Long> {
@@ -25,4 +38,149 @@ public interface CampaignRepository extends JpaRepository<Campaign, Long> {
      * Finds a campaign by name and owner username, to enforce per-user uniqueness.
      */
     Optional<Campaign> findByNameAndOwnerUsername(String name, String ownerUsername);
+
+    /**
+     * Returns which of the given names the owner already uses, so a batch of new
+     * campaigns can be checked for duplicates with a single query.
+     */
+    @Query("select c.name from Campaign c where c.ownerUsername = :ownerUsername and c.name in :names")
+    List<String> findNamesByOwnerUsernameAndNameIn(@Param("ownerUsername") String ownerUsername,
+                                                  @Param("names") Collection<String> names);
+
+    /**
+     * Returns only the owner of a campaign, for authorization checks that do not
+     * need the rest of the aggregate.
+     */
+    @Query("select c.ownerUsername from Campaign c where c.id = :id")
+    Optional<String> findOwnerUsernameById(@Param("id") Long id);
+
+    /**
+     * Returns the owner and current version of a campaign, for conditional
+     * requests that only need to compare ETags.
+     */
+    @Query("select new upc.edu.muusmart.campaignmanagement.domain.model.projections.OwnedVersion("
+            + "c.ownerUsername, c.version) from Campaign c where c.id = :id")
+    Optional<OwnedVersion> findOwnedVersionById(@Param("id") Long id);
+
+    /**
+     * Bumps the version and update time of a campaign whose goals or channels
+     * changed without the campaign row itself being written. When
+     * {@code expectedVersion} is not null the row is only updated if it still
+     * has that version.
+     *
+     * @return 1 if the campaign was updated, 0 otherwise
+     */
+    @Modifying
+    @Query("update Campaign c set c.version = c.version + 1, c.updatedAt = :now "
+            + "where c.id = :id and (:expectedVersion is null or c.version = :expectedVersion)")
+    int touch(@Param("id") Long id, @Param("expectedVersion") Long expectedVersion, @Param("now") LocalDateTime now);
+
+    /**
+     * Bumps the version and update time of several campaigns at once, after
+     * bulk changes to their goals.
+     */
+    @Modifying
+    @Query("update Campaign c set c.version = c.version + 1, c.updatedAt = :now where c.id in :ids")
+    int touchAll(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Returns the highest campaign id, or null when there are no campaigns, so
+     * full scans can be split into id ranges.
+     */
+    @Query("select max(c.id) from Campaign c")
+    Long findMaxId();
+
+    /*
+     * Read-only projections. These select straight into CampaignView so read
+     * endpoints never put managed Campaign entities in the persistence context.
+     * Goals and channels are loaded with the matching GoalRepository and
+     * ChannelRepository projections using the same filter, so a listing costs
+     * three queries whatever its size.
+     */
+
+    String CAMPAIGN_VIEW = "select new upc.edu.muusmart.campaignmanagement.domain.model.projections.CampaignView("
+            + "c.id, c.name, c.description, c.startDate, c.endDate, c.status, c.ownerUsername, c.stableId, "
+            + "c.createdAt, c.updatedAt, c.version) from Campaign c ";
+
+    @Query(CAMPAIGN_VIEW + "where c.id = :id")
+    Optional<CampaignView> findViewById(@Param("id") Long id);
+
+    @Query(CAMPAIGN_VIEW + "order by c.id")
+    List<CampaignView> findAllViews();
+
+    @Query(CAMPAIGN_VIEW + "where c.id in :ids")
+    List<CampaignView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(CAMPAIGN_VIEW + "where c.id between :fromId and :toId order by c.id")
+    List<CampaignView> findViewsByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query(CAMPAIGN_VIEW + "where c.ownerUsername = :ownerUsername order by c.id")
+    List<CampaignView> findViewsByOwnerUsername(@Param("ownerUsername") String ownerUsername);
+
+    @Query(CAMPAIGN_VIEW + "where c.stableId = :stableId order by c.id")
+    List<CampaignView> findViewsByStableId(@Param("stableId") Long stableId);
+
+    /*
+     * Keyset pagination: each page starts strictly after the last id of the
+     * previous one, so deep pages are an index range scan instead of an OFFSET.
+     */
+
+    @Query(CAMPAIGN_VIEW + "where c.id > :afterId order by c.id")
+    List<CampaignView> findViewsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(CAMPAIGN_VIEW + "where c.ownerUsername = :ownerUsername and c.id > :afterId order by c.id")
+    List<CampaignView> findViewsByOwnerUsernameAfter(@Param("ownerUsername") String ownerUsername,
+                                                     @Param("afterId") Long afterId,
+                                                     Limit limit);
+
+    /*
+     * Change feed: campaigns updated after an (updatedAt, id) position and no
+     * later than the horizon, in that order, so a sync resumes exactly where
+     * the previous page stopped.
+     */
+
+    String CHANGED_AFTER = "c.updatedAt <= :horizon and (c.updatedAt > :afterTs "
+            + "or (c.updatedAt = :afterTs and c.id > :afterId)) order by c.updatedAt, c.id";
+
+    @Query(CAMPAIGN_VIEW + "where " + CHANGED_AFTER)
+    List<CampaignView> findViewsChangedAfter(@Param("afterTs") LocalDateTime afterTs,
+                                             @Param("afterId") Long afterId,
+                                             @Param("horizon") LocalDateTime horizon,
+                                             Limit limit);
+
+    @Query(CAMPAIGN_VIEW + "where c.ownerUsername = :ownerUsername and " + CHANGED_AFTER)
+    List<CampaignView> findViewsByOwnerUsernameChangedAfter(@Param("ownerUsername") String ownerUsername,
+                                                            @Param("afterTs") LocalDateTime afterTs,
+                                                            @Param("afterId") Long afterId,
+                                                            @Param("horizon") LocalDateTime horizon,
+                                                            Limit limit);
+
+    @Query("select new upc.edu.muusmart.campaignmanagement.domain.model.projections.ChangeMarker("
+            + "c.id, c.id, c.updatedAt) from Campaign c where " + CHANGED_AFTER)
+    List<ChangeMarker> findChangeMarkersAfter(@Param("afterTs") LocalDateTime afterTs,
+                                              @Param("afterId") Long afterId,
+                                              @Param("horizon") LocalDateTime horizon,
+                                              Limit limit);
+
+    /*
+     * Streaming reads for bulk export. Rows are pulled from the driver in chunks
+     * of EXPORT_FETCH_SIZE instead of materializing the whole result; callers
+     * must consume the stream inside a transaction and close it.
+     */
+
+    String EXPORT_FETCH_SIZE = "500";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Campaign c order by c.id")
+    Stream<Campaign> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Campaign c where c.ownerUsername = :ownerUsername order by c.id")
+    Stream<Campaign> streamByOwnerUsername(@Param("ownerUsername") String ownerUsername);
 }
@@ -0,0 +1,25 @@
+package upc.edu.muusmart.campaignmanagement.domain.repository;
+
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.CampaignSearchKey;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.CampaignSearchFilter;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.CampaignSort;
+
+import java.util.List;
+
+/**
+ * Dynamic campaign search. Only the keys of the matching campaigns are read,
+ * which the composite indexes on {@code campaigns} can answer without touching
+ * the rows for the common filters; callers load the page itself by id.
+ */
+public interface CampaignSearchRepository {
+
+    /**
+     * Returns the keys of the campaigns matching {@code filter} in
+     * {@code sort} order.
+     *
+     * @param after the key of the last campaign of the previous page, or null
+     *              for the first page
+     * @param limit the maximum number of keys to return
+     */
+    List<CampaignSearchKey> findKeys(CampaignSearchFilter filter, CampaignSort sort, CampaignSearchKey after, int limit);
+}
@@ -0,0 +1,24 @@
+package upc.edu.muusmart.campaignmanagement.domain.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.CampaignSummary;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.CampaignSummaryKey;
+
+import java.util.List;
+
+/**
+ * Reads of the campaign summary. Rows are maintained by
+ * {@link CampaignTotalsRepository}; they are not saved through this repository.
+ */
+@Repository
+public interface CampaignSummaryRepository extends JpaRepository<CampaignSummary, CampaignSummaryKey> {
+
+    @Query("select s from CampaignSummary s where s.id.ownerUsername = :ownerUsername and s.campaignCount > 0")
+    List<CampaignSummary> findByOwnerUsername(@Param("ownerUsername") String ownerUsername);
+
+    @Query("select s from CampaignSummary s where s.campaignCount > 0")
+    List<CampaignSummary> findAllNonEmpty();
+}
@@ -0,0 +1,54 @@
+package upc.edu.muusmart.campaignmanagement.domain.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.CampaignTombstone;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.ChangeMarker;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CampaignTombstoneRepository extends JpaRepository<CampaignTombstone, Long> {
+
+    /*
+     * Change feed: tombstones written after a (deletedAt, id) position and no
+     * later than the horizon, in that order.
+     */
+
+    String CHANGED_AFTER = "t.deletedAt <= :horizon and (t.deletedAt > :afterTs "
+            + "or (t.deletedAt = :afterTs and t.id > :afterId)) order by t.deletedAt, t.id";
+
+    @Query("select t from CampaignTombstone t where " + CHANGED_AFTER)
+    List<CampaignTombstone> findChangedAfter(@Param("afterTs") LocalDateTime afterTs,
+                                             @Param("afterId") Long afterId,
+                                             @Param("horizon") LocalDateTime horizon,
+                                             Limit limit);
+
+    @Query("select t from CampaignTombstone t where t.ownerUsername = :ownerUsername and " + CHANGED_AFTER)
+    List<CampaignTombstone> findByOwnerUsernameChangedAfter(@Param("ownerUsername") String ownerUsername,
+                                                            @Param("afterTs") LocalDateTime afterTs,
+                                                            @Param("afterId") Long afterId,
+                                                            @Param("horizon") LocalDateTime horizon,
+                                                            Limit limit);
+
+    @Query("select new upc.edu.muusmart.campaignmanagement.domain.model.projections.ChangeMarker("
+            + "t.id, t.campaignId, t.deletedAt) from CampaignTombstone t where " + CHANGED_AFTER)
+    List<ChangeMarker> findChangeMarkersAfter(@Param("afterTs") LocalDateTime afterTs,
+                                              @Param("afterId") Long afterId,
+                                              @Param("horizon") LocalDateTime horizon,
+                                              Limit limit);
+
+    /**
+     * Deletes the tombstones written before {@code cutoff}.
+     *
+     * @return the number of tombstones deleted
+     */
+    @Modifying
+    @Query("delete from CampaignTombstone t where t.deletedAt < :cutoff")
+    int deleteByDeletedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,37 @@
+package upc.edu.muusmart.campaignmanagement.domain.repository;
+
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.CampaignSummaryKey;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.CampaignSummaryTotals;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Maintenance of the {@code campaign_summaries} table with plain SQL. All
+ * methods join the surrounding transaction.
+ */
+public interface CampaignTotalsRepository {
+
+    /**
+     * Locks the given campaigns and their goals until the end of the
+     * transaction and returns their totals grouped by summary row. Campaigns
+     * that do not exist are ignored. The values read are the latest committed
+     * ones (or this transaction's own changes), whatever the isolation level.
+     */
+    Map<CampaignSummaryKey, CampaignSummaryTotals> lockTotals(Collection<Long> campaignIds);
+
+    /**
+     * Adds each delta to its summary row, creating missing rows. Rows are
+     * updated in key order.
+     */
+    void addToSummaries(Map<CampaignSummaryKey, CampaignSummaryTotals> deltas);
+
+    /**
+     * Recomputes the whole summary table from campaigns and goals. Every
+     * campaign is locked until the end of the transaction, so writers wait
+     * for the rebuild to commit.
+     *
+     * @return the number of summary rows written
+     */
+    int rebuildSummaries();
+}
@@ -1,12 +1,49 @@
 package upc.edu.muusmart.campaignmanagement.domain.repository;
 
 import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Channel;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.ChannelView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ChannelRepository extends JpaRepository<Channel, Long> {
     List<Channel> findByCampaignId(Long campaignId);
+
+    /**
+     * Whether the campaign already has a channel with the given case-folded
+     * type; answered from the {@code uk_channel_campaign_type_key} index.
+     */
+    @Query("select count(c) > 0 from Channel c where c.campaign.id = :campaignId and c.typeKey = :typeKey")
+    boolean existsByCampaignIdAndTypeKey(@Param("campaignId") Long campaignId, @Param("typeKey") String typeKey);
+
+    /*
+     * Read-only projections of channels, filtered the same way as the campaign
+     * projections in CampaignRepository so a listing loads all its channels at once.
+     */
+
+    String CHANNEL_VIEW = "select new upc.edu.muusmart.campaignmanagement.domain.model.projections.ChannelView("
+            + "c.campaign.id, c.id, c.type, c.details) from Channel c ";
+
+    @Query(CHANNEL_VIEW + "where c.campaign.id = :campaignId order by c.id")
+    List<ChannelView> findViewsByCampaignId(@Param("campaignId") Long campaignId);
+
+    @Query(CHANNEL_VIEW + "where c.campaign.id in :campaignIds order by c.id")
+    List<ChannelView> findViewsByCampaignIdIn(@Param("campaignIds") Collection<Long> campaignIds);
+
+    @Query(CHANNEL_VIEW + "where c.campaign.id between :fromId and :toId order by c.id")
+    List<ChannelView> findViewsByCampaignIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query(CHANNEL_VIEW + "order by c.id")
+    List<ChannelView> findAllViews();
+
+    @Query(CHANNEL_VIEW + "where c.campaign.ownerUsername = :ownerUsername order by c.id")
+    List<ChannelView> findViewsByCampaignOwnerUsername(@Param("ownerUsername") String ownerUsername);
+
+    @Query(CHANNEL_VIEW + "where c.campaign.stableId = :stableId order by c.id")
+    List<ChannelView> findViewsByCampaignStableId(@Param("stableId") Long stableId);
 }
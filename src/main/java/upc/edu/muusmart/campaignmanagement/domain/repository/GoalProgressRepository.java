@@ -0,0 +1,29 @@
+package upc.edu.muusmart.campaignmanagement.domain.repository;
+
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.MetricDelta;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk goal updates that bypass the persistence context and are sent to the
+ * database as JDBC batches. They do not load or modify managed entities.
+ */
+public interface GoalProgressRepository {
+
+    /**
+     * Sets the current value of each goal in the map (goal id to new value).
+     *
+     * @return the number of rows updated
+     */
+    int setCurrentValues(Map<Long, Integer> currentValues);
+
+    /**
+     * Adds each delta, which must not be negative, to the current value of
+     * every goal of its campaign that tracks its metric. Values stop at
+     * {@link Integer#MAX_VALUE} instead of overflowing.
+     *
+     * @return the number of rows updated
+     */
+    int addToCurrentValuesByMetric(List<MetricDelta> deltas);
+}
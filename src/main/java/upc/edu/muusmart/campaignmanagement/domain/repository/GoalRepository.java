@@ -1,12 +1,62 @@
 package upc.edu.muusmart.campaignmanagement.domain.repository;
 
 import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Goal;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.GoalOwnership;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.GoalView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface GoalRepository extends JpaRepository<Goal, Long> {
     List<Goal> findByCampaignId(Long campaignId);
+
+    /**
+     * Whether the campaign already has a goal with the given case-folded
+     * description; answered from the {@code uk_goal_campaign_description_key} index.
+     */
+    @Query("select count(g) > 0 from Goal g where g.campaign.id = :campaignId and g.descriptionKey = :descriptionKey")
+    boolean existsByCampaignIdAndDescriptionKey(@Param("campaignId") Long campaignId,
+                                                @Param("descriptionKey") String descriptionKey);
+
+    /*
+     * Read-only projections of goals, filtered the same way as the campaign
+     * projections in CampaignRepository so a listing loads all its goals at once.
+     */
+
+    String GOAL_VIEW = "select new upc.edu.muusmart.campaignmanagement.domain.model.projections.GoalView("
+            + "g.campaign.id, g.id, g.description, g.metric, g.targetValue, g.currentValue) from Goal g ";
+
+    @Query(GOAL_VIEW + "where g.campaign.id = :campaignId order by g.id")
+    List<GoalView> findViewsByCampaignId(@Param("campaignId") Long campaignId);
+
+    @Query(GOAL_VIEW + "where g.campaign.id in :campaignIds order by g.id")
+    List<GoalView> findViewsByCampaignIdIn(@Param("campaignIds") Collection<Long> campaignIds);
+
+    @Query(GOAL_VIEW + "where g.id in :goalIds")
+    List<GoalView> findViewsByIdIn(@Param("goalIds") Collection<Long> goalIds);
+
+    @Query(GOAL_VIEW + "where g.campaign.id between :fromId and :toId order by g.id")
+    List<GoalView> findViewsByCampaignIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query(GOAL_VIEW + "order by g.id")
+    List<GoalView> findAllViews();
+
+    @Query(GOAL_VIEW + "where g.campaign.ownerUsername = :ownerUsername order by g.id")
+    List<GoalView> findViewsByCampaignOwnerUsername(@Param("ownerUsername") String ownerUsername);
+
+    @Query(GOAL_VIEW + "where g.campaign.stableId = :stableId order by g.id")
+    List<GoalView> findViewsByCampaignStableId(@Param("stableId") Long stableId);
+
+    /**
+     * Returns the campaign and owner of each of the given goals, so a bulk goal
+     * update is authorized with one query for all of its goals.
+     */
+    @Query("select new upc.edu.muusmart.campaignmanagement.domain.model.projections.GoalOwnership("
+            + "g.id, c.id, c.ownerUsername) from Goal g join g.campaign c where g.id in :goalIds")
+    List<GoalOwnership> findOwnershipByIdIn(@Param("goalIds") Collection<Long> goalIds);
 }
@@ -0,0 +1,31 @@
+package upc.edu.muusmart.campaignmanagement.domain.repository;
+
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.OutboxMessage;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Storage of the outbox table. Every method joins the surrounding
+ * transaction.
+ */
+public interface OutboxRepository {
+
+    /**
+     * Stores the messages in list order.
+     */
+    void append(List<OutboxMessage> messages);
+
+    /**
+     * Returns up to {@code limit} of the oldest messages and locks them until
+     * the transaction ends. Another transaction calling this waits for the
+     * first to finish, so only one dispatcher works through the outbox at a
+     * time and messages leave it in id order.
+     */
+    List<OutboxMessage> lockOldest(int limit);
+
+    /**
+     * Deletes delivered messages.
+     */
+    void delete(Collection<Long> ids);
+}
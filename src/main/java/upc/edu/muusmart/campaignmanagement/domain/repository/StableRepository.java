@@ -1,9 +1,17 @@
 package upc.edu.muusmart.campaignmanagement.domain.repository;
 
 import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Stable;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.OwnedVersion;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.StableSnapshot;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.StableView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +34,71 @@ public interface StableRepository extends JpaRepository<Stable, Long> {
      * @return an optional containing the stable if found
      */
     Optional<Stable> findByNameAndOwnerUsername(String name, String ownerUsername);
-}
\ No newline at end of file
+
+    /*
+     * Read-only projections used by the read endpoints, so they do not hydrate
+     * managed Stable entities. Keyset pages return rows with an id greater than
+     * afterId, in id order.
+     */
+
+    String STABLE_VIEW = "select new upc.edu.muusmart.campaignmanagement.domain.model.projections.StableView("
+            + "s.id, s.name, s.description, s.ownerUsername, s.location, s.capacity, s.status, "
+            + "s.createdAt, s.updatedAt, s.version) from Stable s ";
+
+    @Query(STABLE_VIEW + "where s.id = :id")
+    Optional<StableView> findViewById(@Param("id") Long id);
+
+    @Query(STABLE_VIEW + "order by s.id")
+    List<StableView> findAllViews();
+
+    @Query(STABLE_VIEW + "where s.ownerUsername = :ownerUsername order by s.id")
+    List<StableView> findViewsByOwnerUsername(@Param("ownerUsername") String ownerUsername);
+
+    @Query(STABLE_VIEW + "where s.id > :afterId order by s.id")
+    List<StableView> findViewsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(STABLE_VIEW + "where s.ownerUsername = :ownerUsername and s.id > :afterId order by s.id")
+    List<StableView> findViewsByOwnerUsernameAfter(@Param("ownerUsername") String ownerUsername,
+                                                   @Param("afterId") Long afterId,
+                                                   Limit limit);
+
+    /*
+     * Change feed: stables updated after an (updatedAt, id) position and no
+     * later than the horizon, in that order.
+     */
+
+    String CHANGED_AFTER = "s.updatedAt <= :horizon and (s.updatedAt > :afterTs "
+            + "or (s.updatedAt = :afterTs and s.id > :afterId)) order by s.updatedAt, s.id";
+
+    @Query(STABLE_VIEW + "where " + CHANGED_AFTER)
+    List<StableView> findViewsChangedAfter(@Param("afterTs") LocalDateTime afterTs,
+                                           @Param("afterId") Long afterId,
+                                           @Param("horizon") LocalDateTime horizon,
+                                           Limit limit);
+
+    @Query(STABLE_VIEW + "where s.ownerUsername = :ownerUsername and " + CHANGED_AFTER)
+    List<StableView> findViewsByOwnerUsernameChangedAfter(@Param("ownerUsername") String ownerUsername,
+                                                          @Param("afterTs") LocalDateTime afterTs,
+                                                          @Param("afterId") Long afterId,
+                                                          @Param("horizon") LocalDateTime horizon,
+                                                          Limit limit);
+
+    /**
+     * Returns the owner and current version of a stable, for conditional
+     * requests that only need to compare ETags.
+     */
+    @Query("select new upc.edu.muusmart.campaignmanagement.domain.model.projections.OwnedVersion("
+            + "s.ownerUsername, s.version) from Stable s where s.id = :id")
+    Optional<OwnedVersion> findOwnedVersionById(@Param("id") Long id);
+
+    /**
+     * Loads only the attributes campaign operations need from a stable.
+     */
+    @Query("select new upc.edu.muusmart.campaignmanagement.domain.model.projections.StableSnapshot("
+            + "s.id, s.ownerUsername, s.status, s.capacity) from Stable s where s.id = :id")
+    Optional<StableSnapshot> findSnapshotById(@Param("id") Long id);
+
+    @Query("select new upc.edu.muusmart.campaignmanagement.domain.model.projections.StableSnapshot("
+            + "s.id, s.ownerUsername, s.status, s.capacity) from Stable s where s.id in :ids")
+    List<StableSnapshot> findSnapshotsByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,81 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import upc.edu.muusmart.campaignmanagement.application.dto.CampaignResponse;
+import upc.edu.muusmart.campaignmanagement.domain.events.CampaignChangedEvent;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of assembled {@link CampaignResponse}s by campaign id.
+ *
+ * <p>Entries are evicted when a {@link CampaignChangedEvent} is published, but
+ * only after the publishing transaction commits, so a reader can never cache
+ * data that is about to be rolled back. A load and an eviction of the same id
+ * are serialized by the cache: an eviction that arrives while a load is in
+ * flight waits for it and then removes the freshly loaded value. The size cap
+ * and TTL keep memory bounded and limit staleness for changes made on other
+ * instances. Its statistics are published as {@code cache.*} meters.</p>
+ */
+@Component
+public class CampaignResponseCache implements MeterBinder {
+
+    private static final long MAX_ENTRIES = 10_000;
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final Cache<Long, CampaignResponse> responses = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(TTL)
+            .recordStats()
+            .build();
+
+    /**
+     * Returns the cached response of the given campaign, calling {@code loader}
+     * on a miss. Exceptions thrown by the loader are propagated and nothing is
+     * cached. The result is a copy that the caller may modify freely.
+     */
+    public CampaignResponse get(Long campaignId, Function<Long, CampaignResponse> loader) {
+        return copyOf(responses.get(campaignId, loader));
+    }
+
+    /**
+     * Copies a cached response together with its goals and channels, so
+     * changes made by one caller never reach the cache or other callers.
+     */
+    private static CampaignResponse copyOf(CampaignResponse cached) {
+        return cached.toBuilder()
+                .goals(cached.getGoals() == null ? null : cached.getGoals().stream()
+                        .map(goal -> goal.toBuilder().build())
+                        .collect(Collectors.toList()))
+                .channels(cached.getChannels() == null ? null : cached.getChannels().stream()
+                        .map(channel -> channel.toBuilder().build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * Hit/miss statistics of the cache.
+     */
+    public CacheStats stats() {
+        return responses.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, responses, "campaignResponses");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        responses.invalidate(event.getCampaignId());
+    }
+}
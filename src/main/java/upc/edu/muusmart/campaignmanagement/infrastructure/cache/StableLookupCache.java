@@ -0,0 +1,94 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import upc.edu.muusmart.campaignmanagement.domain.events.StableChangedEvent;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.StableSnapshot;
+import upc.edu.muusmart.campaignmanagement.domain.repository.StableRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded local cache of stable id to {@link StableSnapshot}. Used by campaign
+ * creation to check that a stable exists and who owns it without a database
+ * round-trip on every call. Entries are invalidated after a stable change
+ * commits and also expire after a few minutes, so changes made by other
+ * instances are picked up.
+ */
+@Component
+public class StableLookupCache implements MeterBinder {
+
+    private static final long MAX_ENTRIES = 10_000;
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final LoadingCache<Long, StableSnapshot> snapshots;
+
+    public StableLookupCache(StableRepository stableRepository) {
+        // The loader returns null for unknown ids, which Caffeine does not cache
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(MAX_ENTRIES)
+                .expireAfterWrite(TTL)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public StableSnapshot load(Long id) {
+                        return stableRepository.findSnapshotById(id).orElse(null);
+                    }
+
+                    @Override
+                    public Map<Long, StableSnapshot> loadAll(Set<? extends Long> ids) {
+                        return stableRepository.findSnapshotsByIdIn(new ArrayList<>(ids)).stream()
+                                .collect(Collectors.toMap(StableSnapshot::getId, Function.identity()));
+                    }
+                });
+    }
+
+    /**
+     * Returns the snapshot of the given stable, loading it on a miss.
+     *
+     * @param stableId the stable identifier
+     * @return the snapshot, or empty if the stable does not exist
+     */
+    public Optional<StableSnapshot> find(Long stableId) {
+        return Optional.ofNullable(snapshots.get(stableId));
+    }
+
+    /**
+     * Returns the snapshots of several stables, loading all misses with a single
+     * query. Unknown ids are absent from the result.
+     */
+    public Map<Long, StableSnapshot> findAll(Collection<Long> stableIds) {
+        return snapshots.getAll(stableIds);
+    }
+
+    /**
+     * Hit/miss statistics of the cache.
+     */
+    public CacheStats stats() {
+        return snapshots.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, snapshots, "stableSnapshots");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStableChanged(StableChangedEvent event) {
+        snapshots.invalidate(event.getStableId());
+    }
+}
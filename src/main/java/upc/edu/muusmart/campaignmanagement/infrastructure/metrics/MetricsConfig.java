@@ -0,0 +1,39 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Metrics wiring that Spring Boot does not do on its own. HTTP, Hikari,
+ * Hibernate statistics, repository and {@code @Timed} meters are
+ * auto-configured from {@code application.properties}; the caches bind
+ * themselves as {@link io.micrometer.core.instrument.binder.MeterBinder}s.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Wraps the data source so every executed statement reaches
+     * {@link SqlStatementCounter}. The wrapper unwraps to the pool, so Hikari
+     * metrics and pool lookups keep working.
+     */
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(new SqlStatementCounter())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
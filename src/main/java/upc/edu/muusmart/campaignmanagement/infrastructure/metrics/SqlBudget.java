@@ -0,0 +1,28 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how many SQL statements a controller method may issue per request.
+ * Checked by {@link SqlStatementMetricsFilter} once the request completes: an
+ * overrun is logged and counted, and fails the request when
+ * {@code campaign.sql-budget.strict=true} (meant for tests).
+ *
+ * <p>A JDBC batch counts as one statement, so the budget should not depend on
+ * the size of the request body. Endpoints that stream their response on
+ * another thread cannot be measured and should not declare a budget.</p>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    /**
+     * Maximum number of statements.
+     */
+    int value();
+}
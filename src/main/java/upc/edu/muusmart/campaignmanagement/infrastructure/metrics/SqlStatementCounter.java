@@ -0,0 +1,79 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.IdGenerators;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * datasource-proxy listener that attributes every statement executed through
+ * the application's data source, whether issued by Hibernate or by
+ * {@code JdbcTemplate}, to the {@link SqlStatementScope}s open on the current
+ * thread. {@link SqlStatementMetricsFilter} opens one per HTTP request and
+ * {@link SqlStatementScopeAspect} one per transactional service call; scopes
+ * nest and a statement counts towards all of them. Statements run while no
+ * scope is open (scheduled jobs, for instance) are not tracked.
+ */
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<Deque<SqlStatementScope>> SCOPES = new ThreadLocal<>();
+
+    // Literals of plain (non-prepared) statements, replaced to get their shape
+    private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+\\b");
+
+    /**
+     * Opens a scope on the current thread. Must be closed with
+     * {@link #close(SqlStatementScope)} on the same thread.
+     */
+    static SqlStatementScope open() {
+        Deque<SqlStatementScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        SqlStatementScope scope = new SqlStatementScope();
+        scopes.push(scope);
+        return scope;
+    }
+
+    static void close(SqlStatementScope scope) {
+        Deque<SqlStatementScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        scopes.remove(scope);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Deque<SqlStatementScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            String sql = query.getQuery();
+            if (execInfo.getStatementType() == StatementType.STATEMENT) {
+                sql = LITERALS.matcher(sql).replaceAll("?");
+            }
+            // Batches are the fix for repetition, not an instance of it, and id
+            // block reservations repeat with the size of a batch insert by design
+            boolean trackShape = !execInfo.isBatch() && !sql.contains(IdGenerators.TABLE);
+            for (SqlStatementScope scope : scopes) {
+                scope.record(sql, trackShape);
+            }
+        }
+    }
+}
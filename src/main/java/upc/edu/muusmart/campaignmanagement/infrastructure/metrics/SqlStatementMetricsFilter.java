@@ -0,0 +1,125 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import upc.edu.muusmart.campaignmanagement.shared.exceptions.SqlBudgetExceededException;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements of each request and checks them against the
+ * {@link SqlBudget} of the handler method.
+ *
+ * <p>Every request is recorded in the {@value #METRIC_NAME} distribution
+ * summary, tagged like {@code http.server.requests} (method, uri template and
+ * status). A request that exceeds its budget, or that repeats one statement
+ * shape {@code campaign.sql-budget.repeated-statement-threshold} times or
+ * more (an N+1 pattern), is logged at WARN and counted in
+ * {@value #VIOLATIONS_METRIC_NAME}. With {@code campaign.sql-budget.strict}
+ * the violation is also thrown as a {@link SqlBudgetExceededException}, so a
+ * MockMvc test fails; tests can inspect the counts through the
+ * {@link SqlStatementScope} stored in the {@value #SCOPE_ATTRIBUTE} request
+ * attribute.</p>
+ */
+@Slf4j
+@Component
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    static final String METRIC_NAME = "http.server.requests.sql.statements";
+    static final String VIOLATIONS_METRIC_NAME = "http.server.requests.sql.budget.violations";
+    public static final String SCOPE_ATTRIBUTE = "upc.edu.muusmart.campaignmanagement.sqlStatementScope";
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatedStatementThreshold;
+    private final boolean strict;
+
+    public SqlStatementMetricsFilter(MeterRegistry meterRegistry,
+                                     @Value("${campaign.sql-budget.repeated-statement-threshold:5}") int repeatedStatementThreshold,
+                                     @Value("${campaign.sql-budget.strict:false}") boolean strict) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+        this.strict = strict;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementScope scope = SqlStatementCounter.open();
+        request.setAttribute(SCOPE_ATTRIBUTE, scope);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.close(scope);
+            DistributionSummary.builder(METRIC_NAME)
+                    .description("SQL statements issued per request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri(request))
+                    .tag("status", String.valueOf(response.getStatus()))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(1000.0)
+                    .register(meterRegistry)
+                    .record(scope.getStatements());
+        }
+        checkBudget(request, scope);
+    }
+
+    private void checkBudget(HttpServletRequest request, SqlStatementScope scope) {
+        SqlBudget budget = budgetOf(request);
+        boolean overBudget = budget != null && scope.getStatements() > budget.value();
+        Map<String, Integer> repeated = scope.repeatedShapes(repeatedStatementThreshold);
+        if (!overBudget && repeated.isEmpty()) {
+            return;
+        }
+
+        String uri = uri(request);
+        StringBuilder message = new StringBuilder()
+                .append(request.getMethod()).append(' ').append(uri)
+                .append(" issued ").append(scope.getStatements()).append(" SQL statements");
+        if (overBudget) {
+            message.append(" (budget ").append(budget.value()).append(')');
+        }
+        if (!repeated.isEmpty()) {
+            message.append(", repeated: ").append(SqlStatementScope.describe(repeated));
+        }
+        log.warn(message.toString());
+        Counter.builder(VIOLATIONS_METRIC_NAME)
+                .description("Requests over their SQL budget or repeating a statement shape")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .tag("reason", overBudget ? "budget" : "repeated")
+                .register(meterRegistry)
+                .increment();
+        if (strict) {
+            throw new SqlBudgetExceededException(message.toString());
+        }
+    }
+
+    private static SqlBudget budgetOf(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod method ? method.getMethodAnnotation(SqlBudget.class) : null;
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,64 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.metrics;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statements executed during one unit of work (an HTTP request or a
+ * transactional service call), grouped by SQL shape. A shape is the SQL text
+ * with its parameters left as placeholders, so the same query run for
+ * different ids counts as one shape repeated several times, which is the
+ * signature of an N+1 access pattern.
+ *
+ * <p>Only used by the thread that opened it.</p>
+ */
+public class SqlStatementScope {
+
+    // Bounds memory for units of work that run many distinct queries
+    private static final int MAX_TRACKED_SHAPES = 256;
+
+    private int statements;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    void record(String shape, boolean trackShape) {
+        statements++;
+        if (trackShape && (shapes.size() < MAX_TRACKED_SHAPES || shapes.containsKey(shape))) {
+            shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Number of statements executed so far; a JDBC batch counts as one.
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Shapes executed at least {@code threshold} times, most repeated first.
+     */
+    public Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.entrySet().stream()
+                .filter(e -> e.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(e -> repeated.put(e.getKey(), e.getValue()));
+        return repeated;
+    }
+
+    /**
+     * Short human-readable form of {@link #repeatedShapes} for log messages.
+     */
+    static String describe(Map<String, Integer> repeatedShapes) {
+        StringBuilder description = new StringBuilder();
+        repeatedShapes.forEach((shape, count) -> {
+            if (description.length() > 0) {
+                description.append("; ");
+            }
+            description.append(count).append("x ")
+                    .append(shape.length() > 120 ? shape.substring(0, 120) + "..." : shape);
+        });
+        return description.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements of each transactional application service call
+ * into the {@value #METRIC_NAME} summary (tagged by class and method) and logs
+ * the calls that repeat a statement shape, which pins an N+1 pattern found at
+ * request level down to the service method that causes it.
+ */
+@Slf4j
+@Aspect
+@Component
+public class SqlStatementScopeAspect {
+
+    static final String METRIC_NAME = "service.sql.statements";
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatedStatementThreshold;
+
+    public SqlStatementScopeAspect(MeterRegistry meterRegistry,
+                                   @Value("${campaign.sql-budget.repeated-statement-threshold:5}") int repeatedStatementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Around("within(upc.edu.muusmart.campaignmanagement.application..*)"
+            + " && (@within(org.springframework.transaction.annotation.Transactional)"
+            + " || @annotation(org.springframework.transaction.annotation.Transactional))")
+    public Object countStatements(ProceedingJoinPoint joinPoint) throws Throwable {
+        SqlStatementScope scope = SqlStatementCounter.open();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            SqlStatementCounter.close(scope);
+            String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+            String methodName = joinPoint.getSignature().getName();
+            DistributionSummary.builder(METRIC_NAME)
+                    .description("SQL statements issued per service call")
+                    .baseUnit("statements")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .register(meterRegistry)
+                    .record(scope.getStatements());
+            Map<String, Integer> repeated = scope.repeatedShapes(repeatedStatementThreshold);
+            if (!repeated.isEmpty()) {
+                log.warn("{}.{} issued {} SQL statements, repeated: {}", className, methodName,
+                        scope.getStatements(), SqlStatementScope.describe(repeated));
+            }
+        }
+    }
+}
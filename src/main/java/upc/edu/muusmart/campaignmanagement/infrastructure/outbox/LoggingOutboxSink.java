@@ -0,0 +1,25 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Writes each message to the application log at DEBUG level, for local runs
+ * with no consumer. The default sink.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "campaign.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void send(List<OutboxMessage> messages) {
+        if (log.isDebugEnabled()) {
+            messages.forEach(message -> log.debug("Outbox {}", message));
+        }
+    }
+}
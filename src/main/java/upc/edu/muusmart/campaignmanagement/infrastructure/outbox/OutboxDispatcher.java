@@ -0,0 +1,87 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.OutboxMessage;
+import upc.edu.muusmart.campaignmanagement.domain.repository.OutboxRepository;
+
+import java.util.List;
+
+/**
+ * Drains the outbox into the configured {@link OutboxSink}.
+ *
+ * <p>Every {@code campaign.outbox.dispatch-interval-ms} it repeatedly locks the
+ * oldest {@code campaign.outbox.batch-size} messages, sends them and deletes
+ * them in one transaction, until the outbox is empty. The lock makes
+ * dispatchers on other instances wait their turn instead of sending the same
+ * messages or overtaking them. If the sink fails the batch stays in the
+ * outbox and is retried, in order, on the next run; messages written while the
+ * application is down are sent once any instance is up again.</p>
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Counter dispatched;
+    private final Counter failures;
+
+    public OutboxDispatcher(OutboxRepository outboxRepository,
+                            OutboxSink outboxSink,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${campaign.outbox.enabled:true}") boolean enabled,
+                            @Value("${campaign.outbox.batch-size:500}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.dispatched = Counter.builder("campaign.outbox.dispatched")
+                .description("Outbox messages delivered to the sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("campaign.outbox.failures")
+                .description("Outbox batches the sink failed to accept")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${campaign.outbox.dispatch-interval-ms:500}")
+    public synchronized void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int sent;
+            do {
+                sent = dispatchBatch();
+            } while (sent == batchSize);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Outbox dispatch failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private int dispatchBatch() {
+        Integer sent = transactionTemplate.execute(status -> {
+            List<OutboxMessage> batch = outboxRepository.lockOldest(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            outboxSink.send(batch);
+            outboxRepository.delete(batch.stream().map(OutboxMessage::getId).toList());
+            return batch.size();
+        });
+        dispatched.increment(sent != null ? sent : 0);
+        return sent != null ? sent : 0;
+    }
+}
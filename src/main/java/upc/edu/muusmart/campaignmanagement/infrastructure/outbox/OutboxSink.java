@@ -0,0 +1,26 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.outbox;
+
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Where the {@link OutboxDispatcher} delivers outbox messages. The active sink
+ * is chosen with {@code campaign.outbox.sink}.
+ *
+ * <p>Delivery is at least once: a batch is deleted from the outbox only after
+ * {@link #send} returns, and is sent again, whole, if it throws or the
+ * deletion does not commit. Messages arrive in outbox id order, which is the
+ * order of the changes for any one aggregate; consumers should ignore a
+ * message whose id they have already seen.</p>
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers the messages in list order, returning only once they are
+     * durably accepted.
+     *
+     * @throws RuntimeException if any message could not be delivered
+     */
+    void send(List<OutboxMessage> messages);
+}
@@ -0,0 +1,77 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import upc.edu.muusmart.campaignmanagement.domain.events.CampaignChangedEvent;
+import upc.edu.muusmart.campaignmanagement.domain.events.StableChangedEvent;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.OutboxMessage;
+import upc.edu.muusmart.campaignmanagement.domain.repository.OutboxRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores every {@link CampaignChangedEvent} and {@link StableChangedEvent} in
+ * the outbox as part of the transaction that published it, so a change is
+ * delivered to other services if and only if it commits.
+ *
+ * <p>Unlike the caches and indexes, which react after commit, this listener
+ * runs synchronously when the event is published. The messages of one
+ * transaction are collected and inserted with a single batch just before it
+ * commits, so a bulk change costs one extra statement rather than one per
+ * campaign.</p>
+ */
+@Component
+public class OutboxWriter {
+
+    private final OutboxRepository outboxRepository;
+    private final boolean enabled;
+
+    public OutboxWriter(OutboxRepository outboxRepository,
+                        @Value("${campaign.outbox.enabled:true}") boolean enabled) {
+        this.outboxRepository = outboxRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        append(OutboxMessage.of(event));
+    }
+
+    @EventListener
+    public void onStableChanged(StableChangedEvent event) {
+        append(OutboxMessage.of(event));
+    }
+
+    private void append(OutboxMessage message) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            outboxRepository.append(List.of(message));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<OutboxMessage> pending = (List<OutboxMessage>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<OutboxMessage> messages = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, messages);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    outboxRepository.append(messages);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(OutboxWriter.this);
+                }
+            });
+            pending = messages;
+        }
+        pending.add(message);
+    }
+}
@@ -0,0 +1,68 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.persistence;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.IdGenerators;
+
+import java.util.List;
+
+/**
+ * Makes sure the id generator rows start above the ids already stored.
+ *
+ * <p>Campaigns, goals and channels used to get their ids from AUTO_INCREMENT
+ * columns. The table-based generators that replaced them would otherwise
+ * start again from 1 on an existing database and collide with stored rows.
+ * This runs once at startup, after Hibernate has updated the schema and
+ * before the web server accepts requests, and only ever moves a generator
+ * forward, so it is safe to run on every instance.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdGeneratorAligner {
+
+    // Each generator row is named after the table it feeds
+    private static final List<String> GENERATED_TABLES = List.of("campaigns", "goals", "channels");
+
+    private final JdbcTemplate jdbcTemplate;
+    // Declared so this runs only once the schema has been created or updated
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void alignGenerators() {
+        GENERATED_TABLES.forEach(this::align);
+    }
+
+    private void align(String table) {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // Leave a full allocation block of headroom above the highest stored id
+        long floor = maxId + 1 + IdGenerators.ALLOCATION_SIZE;
+        List<Long> current = jdbcTemplate.queryForList(
+                "select " + IdGenerators.VALUE_COLUMN + " from " + IdGenerators.TABLE
+                        + " where " + IdGenerators.NAME_COLUMN + " = ?", Long.class, table);
+        if (current.isEmpty()) {
+            try {
+                jdbcTemplate.update("insert into " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN + ", "
+                        + IdGenerators.VALUE_COLUMN + ") values (?, ?)", table, floor);
+                log.info("Id generator '{}' initialized at {}", table, floor);
+                return;
+            } catch (DuplicateKeyException e) {
+                // Another instance created the row first; fall through to the update
+            }
+        }
+        int moved = jdbcTemplate.update("update " + IdGenerators.TABLE + " set " + IdGenerators.VALUE_COLUMN
+                        + " = ? where " + IdGenerators.NAME_COLUMN + " = ? and " + IdGenerators.VALUE_COLUMN + " < ?",
+                floor, table, floor);
+        if (moved > 0) {
+            log.info("Id generator '{}' moved to {}", table, floor);
+        }
+    }
+}
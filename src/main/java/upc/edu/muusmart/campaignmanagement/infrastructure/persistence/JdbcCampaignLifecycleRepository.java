@@ -0,0 +1,66 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.persistence;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.CampaignOwnership;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignLifecycleRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link CampaignLifecycleRepository}. Claims read the
+ * (status, start date) and (status, end date) indexes in date order with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}; updates are single
+ * {@code UPDATE ... WHERE id IN (...)} statements of up to {@link #CHUNK_SIZE}
+ * ids.
+ */
+@Repository
+@Timed("jdbc.repository.invocations")
+@RequiredArgsConstructor
+public class JdbcCampaignLifecycleRepository implements CampaignLifecycleRepository {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String CLAIM_DUE_TO_START = "select id, owner_username from campaigns "
+            + "where status = :status and start_date <= :now order by start_date, id limit :limit for update skip locked";
+
+    private static final String CLAIM_DUE_TO_END = "select id, owner_username from campaigns "
+            + "where status = :status and end_date <= :now order by end_date, id limit :limit for update skip locked";
+
+    private static final String UPDATE_STATUS = "update campaigns set status = :toStatus, version = version + 1, "
+            + "updated_at = :now where id in (:ids) and status = :fromStatus";
+
+    private static final RowMapper<CampaignOwnership> OWNERSHIP = (rs, rowNum) ->
+            new CampaignOwnership(rs.getLong("id"), rs.getString("owner_username"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<CampaignOwnership> claimDueToStart(String status, LocalDateTime now, int limit) {
+        return jdbcTemplate.query(CLAIM_DUE_TO_START, Map.of("status", status, "now", now, "limit", limit), OWNERSHIP);
+    }
+
+    @Override
+    public List<CampaignOwnership> claimDueToEnd(String status, LocalDateTime now, int limit) {
+        return jdbcTemplate.query(CLAIM_DUE_TO_END, Map.of("status", status, "now", now, "limit", limit), OWNERSHIP);
+    }
+
+    @Override
+    public int updateStatus(Collection<Long> campaignIds, String fromStatus, String toStatus, LocalDateTime now) {
+        List<Long> ids = new ArrayList<>(campaignIds);
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            updated += jdbcTemplate.update(UPDATE_STATUS, Map.of(
+                    "ids", ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())),
+                    "fromStatus", fromStatus, "toStatus", toStatus, "now", now));
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,118 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.persistence;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
+import org.springframework.stereotype.Repository;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.CampaignSummaryKey;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.CampaignSummaryTotals;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignTotalsRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JDBC implementation of {@link CampaignTotalsRepository}. Campaign and goal
+ * rows are locked with {@code SELECT ... FOR UPDATE}, campaigns first and in id
+ * order like every other writer, and summary rows are upserted with MySQL's
+ * {@code INSERT ... ON DUPLICATE KEY UPDATE} in key order.
+ */
+@Repository
+@Timed("jdbc.repository.invocations")
+@RequiredArgsConstructor
+public class JdbcCampaignTotalsRepository implements CampaignTotalsRepository {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String LOCK_CAMPAIGNS = "select id, owner_username, stable_id, status from campaigns "
+            + "where id in (:ids) order by id for update";
+
+    private static final String LOCK_GOALS = "select campaign_id, target_value, current_value from goals "
+            + "where campaign_id in (:ids) order by id for update";
+
+    private static final String COLUMNS = "owner_username, stable_id, status, campaign_count, goal_count, "
+            + "completed_goal_count, goal_target_total, goal_progress_total";
+
+    private static final String UPSERT = "insert into campaign_summaries (" + COLUMNS + ") "
+            + "values (:ownerUsername, :stableId, :status, :campaigns, :goals, :completedGoals, :goalTarget, :goalProgress) "
+            + "on duplicate key update campaign_count = campaign_count + values(campaign_count), "
+            + "goal_count = goal_count + values(goal_count), "
+            + "completed_goal_count = completed_goal_count + values(completed_goal_count), "
+            + "goal_target_total = goal_target_total + values(goal_target_total), "
+            + "goal_progress_total = goal_progress_total + values(goal_progress_total)";
+
+    // Same definitions as CampaignSummaryTotals.ofGoal
+    private static final String REBUILD = "insert into campaign_summaries (" + COLUMNS + ") "
+            + "select c.owner_username, c.stable_id, c.status, count(distinct c.id), count(g.id), "
+            + "coalesce(sum(case when g.current_value >= g.target_value then 1 else 0 end), 0), "
+            + "coalesce(sum(g.target_value), 0), "
+            + "coalesce(sum(least(g.current_value, g.target_value)), 0) "
+            + "from campaigns c left join goals g on g.campaign_id = c.id "
+            + "group by c.owner_username, c.stable_id, c.status";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<CampaignSummaryKey, CampaignSummaryTotals> lockTotals(Collection<Long> campaignIds) {
+        Map<CampaignSummaryKey, CampaignSummaryTotals> totals = new HashMap<>();
+        List<Long> ids = new ArrayList<>(campaignIds);
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            Map<String, Object> params = Map.of("ids", ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())));
+            Map<Long, CampaignSummaryKey> keys = new HashMap<>();
+            jdbcTemplate.query(LOCK_CAMPAIGNS, params, rs -> {
+                CampaignSummaryKey key = new CampaignSummaryKey(
+                        rs.getString("owner_username"), rs.getLong("stable_id"), rs.getString("status"));
+                keys.put(rs.getLong("id"), key);
+                totals.merge(key, CampaignSummaryTotals.ofCampaign(), CampaignSummaryTotals::plus);
+            });
+            if (keys.isEmpty()) {
+                continue;
+            }
+            jdbcTemplate.query(LOCK_GOALS, params, rs -> {
+                CampaignSummaryKey key = keys.get(rs.getLong("campaign_id"));
+                totals.merge(key, CampaignSummaryTotals.ofGoal(rs.getInt("target_value"), rs.getInt("current_value")),
+                        CampaignSummaryTotals::plus);
+            });
+        }
+        return totals;
+    }
+
+    @Override
+    public void addToSummaries(Map<CampaignSummaryKey, CampaignSummaryTotals> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> batch = new ArrayList<>(deltas.size());
+        new TreeMap<>(deltas).forEach((key, delta) -> {
+            Map<String, Object> row = new HashMap<>();
+            row.put("ownerUsername", key.getOwnerUsername());
+            row.put("stableId", key.getStableId());
+            row.put("status", key.getStatus());
+            row.put("campaigns", delta.getCampaigns());
+            row.put("goals", delta.getGoals());
+            row.put("completedGoals", delta.getCompletedGoals());
+            row.put("goalTarget", delta.getGoalTarget());
+            row.put("goalProgress", delta.getGoalProgress());
+            batch.add(row);
+        });
+        for (int from = 0; from < batch.size(); from += CHUNK_SIZE) {
+            jdbcTemplate.batchUpdate(UPSERT,
+                    SqlParameterSourceUtils.createBatch(batch.subList(from, Math.min(from + CHUNK_SIZE, batch.size()))));
+        }
+    }
+
+    @Override
+    public int rebuildSummaries() {
+        // Lock every campaign first, in id order like the writers: changes in flight
+        // finish before the totals are read and new ones wait for the rebuild
+        jdbcTemplate.getJdbcOperations().query("select id from campaigns order by id for update", rs -> {
+        });
+        jdbcTemplate.getJdbcOperations().update("delete from campaign_summaries");
+        return jdbcTemplate.getJdbcOperations().update(REBUILD);
+    }
+}
@@ -0,0 +1,69 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.persistence;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.MetricDelta;
+import upc.edu.muusmart.campaignmanagement.domain.repository.GoalProgressRepository;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link GoalProgressRepository}. Statements join the
+ * surrounding JPA transaction and are sent in batches of {@link #BATCH_SIZE}.
+ */
+@Repository
+@Timed("jdbc.repository.invocations")
+@RequiredArgsConstructor
+public class JdbcGoalProgressRepository implements GoalProgressRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int setCurrentValues(Map<Long, Integer> currentValues) {
+        return batchUpdate("update goals set current_value = ? where id = ?", currentValues);
+    }
+
+    @Override
+    public int addToCurrentValuesByMetric(List<MetricDelta> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (MetricDelta delta : deltas) {
+            args.add(new Object[]{delta.getDelta(), delta.getDelta(), delta.getCampaignId(), delta.getMetric()});
+        }
+        // Compared before adding, so the sum never leaves the INT range
+        return batchUpdate("update goals set current_value = case when current_value > " + Integer.MAX_VALUE
+                + " - ? then " + Integer.MAX_VALUE + " else current_value + ? end"
+                + " where campaign_id = ? and metric = ?", args);
+    }
+
+    private int batchUpdate(String sql, Map<Long, Integer> valuesById) {
+        List<Object[]> args = new ArrayList<>(valuesById.size());
+        valuesById.forEach((id, value) -> args.add(new Object[]{value, id}));
+        return batchUpdate(sql, args);
+    }
+
+    private int batchUpdate(String sql, List<Object[]> args) {
+        if (args.isEmpty()) {
+            return 0;
+        }
+        int updated = 0;
+        for (int from = 0; from < args.size(); from += BATCH_SIZE) {
+            int[] counts = jdbcTemplate.batchUpdate(sql, args.subList(from, Math.min(from + BATCH_SIZE, args.size())));
+            for (int count : counts) {
+                // With rewriteBatchedStatements the driver may not report row counts
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    updated++;
+                } else if (count > 0) {
+                    updated += count;
+                }
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,67 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.persistence;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
+import org.springframework.stereotype.Repository;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.OutboxMessage;
+import upc.edu.muusmart.campaignmanagement.domain.repository.OutboxRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link OutboxRepository}. Messages are inserted and
+ * deleted in batches of {@link #CHUNK_SIZE}; the oldest messages are read in
+ * id order with {@code SELECT ... FOR UPDATE}.
+ */
+@Repository
+@Timed("jdbc.repository.invocations")
+@RequiredArgsConstructor
+public class JdbcOutboxRepository implements OutboxRepository {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String INSERT = "insert into outbox_events "
+            + "(aggregate_type, aggregate_id, owner_username, event_type, occurred_at) "
+            + "values (:aggregateType, :aggregateId, :ownerUsername, :eventType, :occurredAt)";
+
+    private static final String LOCK_OLDEST = "select id, aggregate_type, aggregate_id, owner_username, event_type, "
+            + "occurred_at from outbox_events order by id limit :limit for update";
+
+    private static final String DELETE = "delete from outbox_events where id in (:ids)";
+
+    private static final RowMapper<OutboxMessage> MESSAGE = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"), rs.getString("aggregate_type"), rs.getLong("aggregate_id"),
+            rs.getString("owner_username"), rs.getString("event_type"),
+            rs.getTimestamp("occurred_at").toLocalDateTime());
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void append(List<OutboxMessage> messages) {
+        for (int from = 0; from < messages.size(); from += CHUNK_SIZE) {
+            SqlParameterSource[] batch = SqlParameterSourceUtils.createBatch(
+                    messages.subList(from, Math.min(from + CHUNK_SIZE, messages.size())));
+            jdbcTemplate.batchUpdate(INSERT, batch);
+        }
+    }
+
+    @Override
+    public List<OutboxMessage> lockOldest(int limit) {
+        return jdbcTemplate.query(LOCK_OLDEST, Map.of("limit", limit), MESSAGE);
+    }
+
+    @Override
+    public void delete(Collection<Long> ids) {
+        List<Long> list = new ArrayList<>(ids);
+        for (int from = 0; from < list.size(); from += CHUNK_SIZE) {
+            jdbcTemplate.update(DELETE, Map.of("ids", list.subList(from, Math.min(from + CHUNK_SIZE, list.size()))));
+        }
+    }
+}
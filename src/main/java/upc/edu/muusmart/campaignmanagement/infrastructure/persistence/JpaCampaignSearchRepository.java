@@ -0,0 +1,111 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Campaign;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.CampaignSearchKey;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.CampaignSearchFilter;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.CampaignSort;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignSearchRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Criteria API implementation of {@link CampaignSearchRepository}. The query
+ * selects only the id and the sort column, so with an owner and status filter
+ * and a start date sort it is answered from
+ * {@code idx_campaign_owner_status_start} alone (InnoDB secondary indexes
+ * carry the primary key).
+ */
+@Repository
+@RequiredArgsConstructor
+public class JpaCampaignSearchRepository implements CampaignSearchRepository {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<CampaignSearchKey> findKeys(CampaignSearchFilter filter, CampaignSort sort,
+                                            CampaignSearchKey after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Campaign> campaign = query.from(Campaign.class);
+        Path<Long> id = campaign.get("id");
+        Path<Comparable<Object>> sortValue = campaign.get(sort.getField().getAttribute());
+
+        List<Predicate> where = new ArrayList<>();
+        if (filter.getOwnerUsername() != null) {
+            where.add(cb.equal(campaign.get("ownerUsername"), filter.getOwnerUsername()));
+        }
+        if (filter.getStatus() != null) {
+            where.add(cb.equal(campaign.get("status"), filter.getStatus()));
+        }
+        if (filter.getStableId() != null) {
+            where.add(cb.equal(campaign.get("stableId"), filter.getStableId()));
+        }
+        if (filter.getStartFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(campaign.get("startDate"), filter.getStartFrom()));
+        }
+        if (filter.getStartTo() != null) {
+            where.add(cb.lessThanOrEqualTo(campaign.get("startDate"), filter.getStartTo()));
+        }
+        if (filter.getEndFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(campaign.get("endDate"), filter.getEndFrom()));
+        }
+        if (filter.getEndTo() != null) {
+            where.add(cb.lessThanOrEqualTo(campaign.get("endDate"), filter.getEndTo()));
+        }
+        if (filter.getNamePrefix() != null) {
+            where.add(cb.like(campaign.get("name"), escapeLike(filter.getNamePrefix()) + "%", LIKE_ESCAPE));
+        }
+        if (after != null) {
+            where.add(after(cb, sortValue, id, sort, after));
+        }
+
+        query.multiselect(id, sortValue)
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(order(cb, sortValue, sort), order(cb, id, sort));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(t -> new CampaignSearchKey(t.get(0, Long.class), t.get(1)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Rows strictly after {@code key} in sort order:
+     * {@code (value, id) > (key.value, key.id)}, or {@code <} when descending.
+     */
+    @SuppressWarnings("unchecked")
+    private static Predicate after(CriteriaBuilder cb, Expression<Comparable<Object>> sortValue, Expression<Long> id,
+                                   CampaignSort sort, CampaignSearchKey key) {
+        Comparable<Object> value = (Comparable<Object>) key.getSortValue();
+        if (sort.getField() == CampaignSort.Field.ID) {
+            return sort.isDescending() ? cb.lessThan(id, key.getId()) : cb.greaterThan(id, key.getId());
+        }
+        Predicate beyondValue = sort.isDescending() ? cb.lessThan(sortValue, value) : cb.greaterThan(sortValue, value);
+        Predicate beyondId = sort.isDescending() ? cb.lessThan(id, key.getId()) : cb.greaterThan(id, key.getId());
+        return cb.or(beyondValue, cb.and(cb.equal(sortValue, value), beyondId));
+    }
+
+    private static Order order(CriteriaBuilder cb, Expression<?> expression, CampaignSort sort) {
+        return sort.isDescending() ? cb.desc(expression) : cb.asc(expression);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,139 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Campaign;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Channel;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Goal;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Stable;
+import upc.edu.muusmart.campaignmanagement.domain.model.enums.StableStatus;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignRepository;
+import upc.edu.muusmart.campaignmanagement.domain.repository.StableRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills an empty database with synthetic stables, campaigns, goals and
+ * channels for load testing. Only active with the {@code loadtest} profile.
+ *
+ * <p>Stable {@code i} belongs to user {@code "user" + (i % users)}, so the load
+ * driver can mint tokens for the same usernames. Campaigns are saved through
+ * the repository in chunks, one transaction per chunk, and reach the database
+ * as JDBC batches.</p>
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+public class LoadTestDataSeeder implements ApplicationRunner {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final String[] STATUSES = {"PLANNED", "ACTIVE", "COMPLETED"};
+    private static final String[] METRICS = {"CLICKS", "VIEWS", "CONVERSIONS"};
+
+    private final StableRepository stableRepository;
+    private final CampaignRepository campaignRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int users;
+    private final int stables;
+    private final int campaignsPerStable;
+    private final int childrenPerCampaign;
+
+    public LoadTestDataSeeder(StableRepository stableRepository,
+                              CampaignRepository campaignRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${loadtest.seed.users:10}") int users,
+                              @Value("${loadtest.seed.stables:100}") int stables,
+                              @Value("${loadtest.seed.campaigns-per-stable:20}") int campaignsPerStable,
+                              @Value("${loadtest.seed.children-per-campaign:5}") int childrenPerCampaign) {
+        this.stableRepository = stableRepository;
+        this.campaignRepository = campaignRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.users = users;
+        this.stables = stables;
+        this.campaignsPerStable = campaignsPerStable;
+        this.childrenPerCampaign = childrenPerCampaign;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (stableRepository.count() > 0) {
+            log.info("Database already has data; skipping load test seed");
+            return;
+        }
+        long start = System.nanoTime();
+        List<Stable> savedStables = stableRepository.saveAll(buildStables());
+
+        List<Campaign> chunk = new ArrayList<>(CHUNK_SIZE);
+        long campaignCount = 0;
+        for (Stable stable : savedStables) {
+            for (int i = 0; i < campaignsPerStable; i++) {
+                chunk.add(buildCampaign(stable, i));
+                if (chunk.size() == CHUNK_SIZE) {
+                    campaignCount += saveChunk(chunk);
+                }
+            }
+        }
+        campaignCount += saveChunk(chunk);
+        log.info("Seeded {} stables and {} campaigns ({} goals and channels each) in {} ms",
+                savedStables.size(), campaignCount, childrenPerCampaign, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private List<Stable> buildStables() {
+        List<Stable> result = new ArrayList<>(stables);
+        for (int i = 0; i < stables; i++) {
+            result.add(Stable.builder()
+                    .name("stable-" + i)
+                    .description("Synthetic stable " + i)
+                    .ownerUsername("user" + (i % users))
+                    .location("Peru")
+                    .capacity(50 + i % 200)
+                    .status(StableStatus.OPERATIVE)
+                    .build());
+        }
+        return result;
+    }
+
+    private Campaign buildCampaign(Stable stable, int index) {
+        LocalDateTime start = LocalDateTime.now().minusDays(index % 90);
+        Campaign campaign = Campaign.builder()
+                .name("campaign-" + stable.getId() + "-" + index)
+                .description("Synthetic campaign " + index + " of stable " + stable.getId())
+                .startDate(start)
+                .endDate(start.plusDays(30 + index % 60))
+                .status(STATUSES[index % STATUSES.length])
+                .ownerUsername(stable.getOwnerUsername())
+                .stableId(stable.getId())
+                .build();
+        for (int i = 0; i < childrenPerCampaign; i++) {
+            campaign.addGoal(Goal.builder()
+                    .description("goal " + i)
+                    .metric(METRICS[i % METRICS.length])
+                    .targetValue(1000)
+                    .currentValue((index * 31 + i * 7) % 1000)
+                    .build());
+            campaign.addChannel(Channel.builder()
+                    .type("CHANNEL_" + i)
+                    .details("Synthetic channel " + i)
+                    .build());
+        }
+        return campaign;
+    }
+
+    private int saveChunk(List<Campaign> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> campaignRepository.saveAll(chunk));
+        int saved = chunk.size();
+        chunk.clear();
+        return saved;
+    }
+}
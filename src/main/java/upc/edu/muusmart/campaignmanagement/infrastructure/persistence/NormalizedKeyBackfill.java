@@ -0,0 +1,80 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.persistence;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Channel;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Goal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Fills the case-folded key columns of goals and channels for rows written
+ * before those columns existed.
+ *
+ * <p>New rows get their keys from the entities, so after the first run this
+ * finds nothing to do. Keys are computed with the same functions the entities
+ * use and written one row at a time, reading the rows in chunks by id. A row
+ * whose key would collide with another row of the same campaign (they only
+ * differ in case) keeps a null key and is reported for manual cleanup; every
+ * other row is filled. The updates only touch rows whose key is still null,
+ * so this is safe to run concurrently on several instances.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NormalizedKeyBackfill {
+
+    private static final int CHUNK_SIZE = 500;
+    // Conflicting ids listed in the warning; the count is always complete
+    private static final int MAX_REPORTED_IDS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    // Declared so this runs only once the schema has been created or updated
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void backfill() {
+        backfill("goals", "description_key", "description", Goal::descriptionKeyOf);
+        backfill("channels", "type_key", "type", Channel::typeKeyOf);
+    }
+
+    private void backfill(String table, String keyColumn, String sourceColumn, UnaryOperator<String> keyOf) {
+        String select = "select id, " + sourceColumn + " from " + table + " where " + keyColumn + " is null and "
+                + sourceColumn + " is not null and id > ? order by id limit " + CHUNK_SIZE;
+        String update = "update " + table + " set " + keyColumn + " = ? where id = ? and " + keyColumn + " is null";
+        int filled = 0;
+        List<Long> conflicts = new ArrayList<>();
+        long lastId = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(select,
+                    (rs, rowNum) -> new Object[]{keyOf.apply(rs.getString(2)), rs.getLong(1)}, lastId);
+            for (Object[] row : rows) {
+                try {
+                    filled += jdbcTemplate.update(update, row);
+                } catch (DuplicateKeyException e) {
+                    conflicts.add((Long) row[1]);
+                }
+            }
+            if (rows.size() < CHUNK_SIZE) {
+                break;
+            }
+            lastId = (Long) rows.get(rows.size() - 1)[1];
+        }
+        if (filled > 0) {
+            log.info("Filled {}.{} for {} rows", table, keyColumn, filled);
+        }
+        if (!conflicts.isEmpty()) {
+            log.warn("{} rows of {} left without {}: their {} only differs in case from another row of the same "
+                            + "campaign; rename or remove them. Ids: {}{}", conflicts.size(), table, keyColumn,
+                    sourceColumn, conflicts.subList(0, Math.min(conflicts.size(), MAX_REPORTED_IDS)),
+                    conflicts.size() > MAX_REPORTED_IDS ? " ..." : "");
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index from normalized terms to campaigns, with prefix
+ * matching and per-owner filtering.
+ *
+ * <p>Each indexed campaign is a document with a dense number assigned in
+ * insertion order. Postings lists are arrays of document numbers and are only
+ * ever appended to, so they stay sorted without any reordering: re-indexing a
+ * campaign retires its old document and appends a new one, and removing it
+ * only retires the document. {@link #compact()} drops retired documents and
+ * renumbers the rest once they pile up.</p>
+ *
+ * <p>A query matches the documents that contain, for every query term, some
+ * term starting with it; a prefix matching several terms uses the union of all
+ * their postings, so no match is left out. Callers keep that union small by
+ * only searching for words of at least {@value #MIN_QUERY_TERM_LENGTH}
+ * characters: a shorter prefix expands to a large part of the vocabulary. The
+ * smallest candidate list (one term's postings, the union of a prefix's
+ * postings, or the owner's documents) drives the scan from the newest document
+ * down, and the others are probed by binary search, so past building the
+ * unions the cost of a query depends on its most selective part and on
+ * {@code limit}, not on the size of the index.</p>
+ *
+ * <p>Thread-safe: searches share a read lock, updates take the write lock.</p>
+ */
+public class CampaignTextIndex {
+
+    static final int MIN_TERM_LENGTH = 2;
+    static final int MAX_TERM_LENGTH = 40;
+    // Shortest query word searched for as a prefix
+    public static final int MIN_QUERY_TERM_LENGTH = 3;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Retired documents tolerated before compaction, as a minimum and as a share of the live ones
+    private static final int COMPACTION_MIN_RETIRED = 10_000;
+    private static final int COMPACTION_RETIRED_RATIO = 4;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, DocList> postings = new TreeMap<>();
+    private final Map<String, Integer> ownerOrdinals = new HashMap<>();
+    private final List<DocList> ownerDocs = new ArrayList<>();
+    private final Map<Long, Integer> docsByCampaign = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private long[] docCampaigns = new long[1024];
+    private int[] docOwners = new int[1024];
+    private int docCount;
+
+    /**
+     * Splits text into distinct index terms: lower-cased, without diacritics,
+     * made of letters and digits, at least {@value #MIN_TERM_LENGTH} and at
+     * most {@value #MAX_TERM_LENGTH} characters long (longer words are cut).
+     * Used for both documents and queries.
+     */
+    public static Set<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String word : SEPARATORS.split(normalized)) {
+            if (word.length() >= MIN_TERM_LENGTH) {
+                terms.add(word.length() > MAX_TERM_LENGTH ? word.substring(0, MAX_TERM_LENGTH) : word);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Indexes a campaign under the given terms, replacing what was indexed for
+     * it before.
+     *
+     * @param terms index terms, as returned by {@link #terms(String)}
+     */
+    public void put(Long campaignId, String ownerUsername, Collection<String> terms) {
+        lock.writeLock().lock();
+        try {
+            retire(campaignId);
+            int doc = docCount++;
+            if (doc == docCampaigns.length) {
+                docCampaigns = Arrays.copyOf(docCampaigns, doc * 2);
+                docOwners = Arrays.copyOf(docOwners, doc * 2);
+            }
+            int owner = ownerOrdinals.computeIfAbsent(ownerUsername, o -> {
+                ownerDocs.add(new DocList());
+                return ownerDocs.size() - 1;
+            });
+            docCampaigns[doc] = campaignId;
+            docOwners[doc] = owner;
+            live.set(doc);
+            docsByCampaign.put(campaignId, doc);
+            ownerDocs.get(owner).add(doc);
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new DocList()).add(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a campaign from the index; unknown ids are ignored.
+     */
+    public void remove(Long campaignId) {
+        lock.writeLock().lock();
+        try {
+            retire(campaignId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void retire(Long campaignId) {
+        Integer doc = docsByCampaign.remove(campaignId);
+        if (doc != null) {
+            live.clear(doc);
+        }
+    }
+
+    /**
+     * Returns the ids of up to {@code limit} campaigns matching every term of
+     * the query (as a prefix), most recently indexed first.
+     *
+     * @param ownerUsername only return campaigns of this owner, or null for all
+     */
+    public List<Long> search(String query, String ownerUsername, int limit) {
+        Set<String> queryTerms = terms(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<DocSet> sets = new ArrayList<>(queryTerms.size() + 1);
+            if (ownerUsername != null) {
+                Integer owner = ownerOrdinals.get(ownerUsername);
+                if (owner == null) {
+                    return List.of();
+                }
+                sets.add(ownerDocs.get(owner));
+            }
+            for (String term : queryTerms) {
+                DocSet matches = matching(term);
+                if (matches == null) {
+                    return List.of();
+                }
+                sets.add(matches);
+            }
+            sets.sort(Comparator.comparingInt(DocSet::size));
+
+            DocSet driver = sets.get(0);
+            List<Long> result = new ArrayList<>(Math.min(limit, driver.size()));
+            for (int doc = driver.last(); doc >= 0 && result.size() < limit; doc = driver.previous(doc)) {
+                if (live.get(doc) && containedInAll(sets, doc)) {
+                    result.add(docCampaigns[doc]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean containedInAll(List<DocSet> sets, int doc) {
+        for (int i = 1; i < sets.size(); i++) {
+            if (!sets.get(i).contains(doc)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Documents containing a term that starts with {@code prefix}, or null if
+     * there are none.
+     */
+    private DocSet matching(String prefix) {
+        SortedMap<String, DocList> range = postings.subMap(prefix, prefix + Character.MAX_VALUE);
+        Iterator<DocList> expansions = range.values().iterator();
+        if (!expansions.hasNext()) {
+            return null;
+        }
+        DocList first = expansions.next();
+        if (!expansions.hasNext()) {
+            return first;
+        }
+        List<DocList> lists = new ArrayList<>();
+        lists.add(first);
+        long total = first.size();
+        while (expansions.hasNext()) {
+            DocList list = expansions.next();
+            lists.add(list);
+            total += list.size();
+        }
+        // A sorted merge is cheaper than a bitmap over every document while the union is sparse
+        if (total < docCount / 32) {
+            return DocList.union(lists, (int) total);
+        }
+        BitSet union = new BitSet(docCount);
+        lists.forEach(list -> list.addTo(union));
+        return new DocBits(union);
+    }
+
+    /**
+     * Number of campaigns in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsByCampaign.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of distinct terms in the index.
+     */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether enough documents have been retired to make {@link #compact()}
+     * worthwhile.
+     */
+    public boolean needsCompaction() {
+        lock.readLock().lock();
+        try {
+            int retired = docCount - docsByCampaign.size();
+            return retired > Math.max(COMPACTION_MIN_RETIRED, docsByCampaign.size() / COMPACTION_RETIRED_RATIO);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops retired documents from every postings list and renumbers the live
+     * ones, keeping their order. Searches wait while this runs.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            int[] renumbered = new int[docCount];
+            int next = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                renumbered[doc] = live.get(doc) ? next++ : -1;
+            }
+            long[] campaigns = new long[Math.max(next, 1024)];
+            int[] owners = new int[campaigns.length];
+            for (int doc = 0; doc < docCount; doc++) {
+                if (renumbered[doc] >= 0) {
+                    campaigns[renumbered[doc]] = docCampaigns[doc];
+                    owners[renumbered[doc]] = docOwners[doc];
+                }
+            }
+            docsByCampaign.replaceAll((campaignId, doc) -> renumbered[doc]);
+            postings.values().removeIf(list -> list.renumber(renumbered) == 0);
+            ownerDocs.forEach(list -> list.renumber(renumbered));
+            docCampaigns = campaigns;
+            docOwners = owners;
+            live.clear();
+            live.set(0, next);
+            docCount = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private interface DocSet {
+
+        int size();
+
+        boolean contains(int doc);
+
+        /**
+         * Highest document in the set, or -1 if it is empty.
+         */
+        int last();
+
+        /**
+         * Highest document in the set below {@code doc}, or -1.
+         */
+        int previous(int doc);
+    }
+
+    /**
+     * Sorted, append-only list of document numbers.
+     */
+    private static final class DocList implements DocSet {
+
+        private int[] docs;
+        private int size;
+
+        DocList() {
+            this.docs = new int[4];
+        }
+
+        private DocList(int[] docs, int size) {
+            this.docs = docs;
+            this.size = size;
+        }
+
+        /**
+         * Sorted union of several lists holding {@code total} documents in all.
+         */
+        static DocList union(List<DocList> lists, int total) {
+            int[] all = new int[total];
+            int offset = 0;
+            for (DocList list : lists) {
+                System.arraycopy(list.docs, 0, all, offset, list.size);
+                offset += list.size;
+            }
+            Arrays.sort(all);
+            int distinct = 0;
+            for (int i = 0; i < total; i++) {
+                if (distinct == 0 || all[i] != all[distinct - 1]) {
+                    all[distinct++] = all[i];
+                }
+            }
+            return new DocList(all, distinct);
+        }
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(docs[i]);
+            }
+        }
+
+        /**
+         * Applies a document renumbering, dropping documents mapped to -1.
+         *
+         * @return the new size
+         */
+        int renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = renumbered[docs[i]];
+                if (doc >= 0) {
+                    docs[kept++] = doc;
+                }
+            }
+            size = kept;
+            if (docs.length > 16 && size < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(size * 2, 4));
+            }
+            return size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(int doc) {
+            return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+        }
+
+        @Override
+        public int last() {
+            return size > 0 ? docs[size - 1] : -1;
+        }
+
+        @Override
+        public int previous(int doc) {
+            int index = Arrays.binarySearch(docs, 0, size, doc);
+            // Either the position of doc or its insertion point; step to the element before
+            int before = index >= 0 ? index - 1 : -index - 2;
+            return before >= 0 ? docs[before] : -1;
+        }
+    }
+
+    /**
+     * Union of several postings lists, built for a query whose prefix matches
+     * more than one term.
+     */
+    private static final class DocBits implements DocSet {
+
+        private final BitSet bits;
+        private final int size;
+
+        DocBits(BitSet bits) {
+            this.bits = bits;
+            this.size = bits.cardinality();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(int doc) {
+            return bits.get(doc);
+        }
+
+        @Override
+        public int last() {
+            return bits.length() - 1;
+        }
+
+        @Override
+        public int previous(int doc) {
+            return doc > 0 ? bits.previousSetBit(doc - 1) : -1;
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import upc.edu.muusmart.campaignmanagement.domain.events.CampaignChangedEvent;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.CampaignView;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.ChangeMarker;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.ChannelView;
+import upc.edu.muusmart.campaignmanagement.domain.model.projections.GoalView;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignRepository;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignTombstoneRepository;
+import upc.edu.muusmart.campaignmanagement.domain.repository.ChannelRepository;
+import upc.edu.muusmart.campaignmanagement.domain.repository.GoalRepository;
+import upc.edu.muusmart.campaignmanagement.shared.exceptions.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Keeps a {@link CampaignTextIndex} of campaign names, descriptions, goal
+ * descriptions and channel types and details in step with the database.
+ *
+ * <p>When the application is ready the index is built in the background: the
+ * id range is split into chunks that {@code campaign.text-index.rebuild-threads}
+ * threads load and tokenize in parallel, and the chunks are added in id order
+ * so newer campaigns rank first. Searches answer 503 until it is done.</p>
+ *
+ * <p>Afterwards campaigns whose text may have changed are marked as pending,
+ * and every {@code campaign.text-index.refresh-interval-ms} the pending
+ * campaigns are reloaded with the batch projections and re-indexed (or removed
+ * when they no longer exist). Requests therefore never pay for indexing.
+ * Campaigns are marked from two sources:</p>
+ * <ul>
+ *   <li>the {@link CampaignChangedEvent}s committed by this instance, so its
+ *   own changes show up in search results within one refresh interval;</li>
+ *   <li>the change history shared by every instance, the campaigns'
+ *   {@code updatedAt} and the deletion tombstones, read every
+ *   {@code campaign.text-index.poll-interval-ms} up to the change feed's
+ *   settle time ago. Changes made through other instances therefore show up
+ *   within the settle time plus one poll interval, under the same guarantee
+ *   as the change feed that no change committing late is skipped.</li>
+ * </ul>
+ * <p>The history is followed from the time the initial build started, so
+ * nothing committed while it runs is missed.</p>
+ *
+ * <p>Document and term counts are published as {@code campaign.text.index.*}
+ * gauges.</p>
+ */
+@Slf4j
+@Component
+public class CampaignTextIndexer implements MeterBinder {
+
+    // Campaign ids loaded per query, both for rebuild ranges and pending batches
+    private static final int CHUNK_SIZE = 1000;
+
+    private final CampaignRepository campaignRepository;
+    private final GoalRepository goalRepository;
+    private final ChannelRepository channelRepository;
+    private final CampaignTombstoneRepository campaignTombstoneRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int rebuildThreads;
+    private final Duration settle;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private volatile CampaignTextIndex index = new CampaignTextIndex();
+    private volatile boolean ready;
+    // Positions in the shared change history, set before the build and then only read by pollChanges
+    private HistoryPosition updates;
+    private HistoryPosition deletions;
+
+    public CampaignTextIndexer(CampaignRepository campaignRepository,
+                               GoalRepository goalRepository,
+                               ChannelRepository channelRepository,
+                               CampaignTombstoneRepository campaignTombstoneRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${campaign.text-index.enabled:true}") boolean enabled,
+                               @Value("${campaign.text-index.rebuild-threads:4}") int rebuildThreads,
+                               @Value("${campaign.changes.settle-ms:30000}") long settleMs) {
+        this.campaignRepository = campaignRepository;
+        this.goalRepository = goalRepository;
+        this.channelRepository = channelRepository;
+        this.campaignTombstoneRepository = campaignTombstoneRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.rebuildThreads = Math.max(1, rebuildThreads);
+        this.settle = Duration.ofMillis(settleMs);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Document {
+        private final Long campaignId;
+        private final String ownerUsername;
+        private final Set<String> terms;
+    }
+
+    /**
+     * Returns the ids of up to {@code limit} campaigns matching every word of
+     * the query as a prefix, newest first.
+     *
+     * @param ownerUsername only match campaigns of this owner, or null for all
+     * @throws ServiceUnavailableException while the index is being built
+     */
+    public List<Long> search(String query, String ownerUsername, int limit) {
+        if (!enabled) {
+            throw new ServiceUnavailableException("Text search is disabled");
+        }
+        if (!ready) {
+            throw new ServiceUnavailableException("Text search index is being built, retry later");
+        }
+        return index.search(query, ownerUsername, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRebuild() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::rebuild, "campaign-text-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService loaders = Executors.newFixedThreadPool(rebuildThreads, task -> {
+            Thread thread = new Thread(task, "campaign-text-index-loader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // Rows stamped before this committed before the build reads them
+            LocalDateTime since = LocalDateTime.now().minus(settle);
+            updates = new HistoryPosition(since);
+            deletions = new HistoryPosition(since);
+            CampaignTextIndex rebuilt = new CampaignTextIndex();
+            Long maxId = campaignRepository.findMaxId();
+            if (maxId != null) {
+                List<Future<List<Document>>> chunks = new ArrayList<>();
+                for (long from = 1; from <= maxId; from += CHUNK_SIZE) {
+                    long fromId = from;
+                    long toId = from + CHUNK_SIZE - 1;
+                    chunks.add(loaders.submit(() -> readOnlyTransaction.execute(status -> loadRange(fromId, toId))));
+                }
+                for (Future<List<Document>> chunk : chunks) {
+                    chunk.get().forEach(doc -> rebuilt.put(doc.getCampaignId(), doc.getOwnerUsername(), doc.getTerms()));
+                }
+            }
+            index = rebuilt;
+            ready = true;
+            log.info("Campaign text index built: {} campaigns, {} terms in {} ms with {} threads",
+                    rebuilt.size(), rebuilt.termCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    rebuildThreads);
+            refresh();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Campaign text index build failed, text search stays unavailable", e);
+        } finally {
+            loaders.shutdownNow();
+        }
+    }
+
+    /**
+     * Marks campaigns whose indexed text may have changed through this
+     * instance. Status and goal progress changes leave the text alone and are
+     * ignored.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED, GOALS_CHANGED, CHANNELS_CHANGED, DELETED -> pending.add(event.getCampaignId());
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Marks the campaigns updated or deleted through any instance since the
+     * last poll, up to the settle time ago. The updates include status and
+     * progress changes, which re-index a campaign for nothing; they are rare
+     * next to searches and cost one batch load per refresh. A failed read is
+     * retried from the same position on the next poll.
+     */
+    @Scheduled(fixedDelayString = "${campaign.text-index.poll-interval-ms:5000}")
+    public synchronized void pollChanges() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime horizon = LocalDateTime.now().minus(settle);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                updates.read(position -> campaignRepository.findChangeMarkersAfter(
+                        position.timestamp, position.id, horizon, Limit.of(CHUNK_SIZE)));
+                deletions.read(position -> campaignTombstoneRepository.findChangeMarkersAfter(
+                        position.timestamp, position.id, horizon, Limit.of(CHUNK_SIZE)));
+            });
+        } catch (RuntimeException e) {
+            log.warn("Campaign text index could not read the change history, retrying: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A position in one change history, as the (timestamp, id) of the last
+     * row read from it.
+     */
+    private class HistoryPosition {
+
+        private LocalDateTime timestamp;
+        private long id;
+
+        HistoryPosition(LocalDateTime timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        /**
+         * Marks the campaigns of every row after the position, reading
+         * one chunk of rows at a time, and moves past them.
+         */
+        void read(Function<HistoryPosition, List<ChangeMarker>> rowsAfter) {
+            List<ChangeMarker> rows;
+            do {
+                rows = rowsAfter.apply(this);
+                for (ChangeMarker row : rows) {
+                    pending.add(row.getCampaignId());
+                    timestamp = row.getChangedAt();
+                    id = row.getId();
+                }
+            } while (rows.size() == CHUNK_SIZE);
+        }
+    }
+
+    /**
+     * Re-indexes the pending campaigns. Campaigns that fail to load stay
+     * pending for the next run.
+     */
+    @Scheduled(fixedDelayString = "${campaign.text-index.refresh-interval-ms:500}")
+    public synchronized void refresh() {
+        if (!ready || pending.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            try {
+                List<Document> documents = readOnlyTransaction.execute(status -> loadByIds(chunk));
+                Set<Long> missing = new HashSet<>(chunk);
+                for (Document doc : documents) {
+                    index.put(doc.getCampaignId(), doc.getOwnerUsername(), doc.getTerms());
+                    missing.remove(doc.getCampaignId());
+                }
+                missing.forEach(index::remove);
+            } catch (RuntimeException e) {
+                log.warn("Campaign text index refresh failed, {} campaigns will be retried: {}",
+                        ids.size() - from, e.getMessage());
+                pending.addAll(ids.subList(from, ids.size()));
+                return;
+            }
+        }
+        if (index.needsCompaction()) {
+            index.compact();
+        }
+    }
+
+    private List<Document> loadRange(long fromId, long toId) {
+        List<CampaignView> campaigns = campaignRepository.findViewsByIdBetween(fromId, toId);
+        if (campaigns.isEmpty()) {
+            return List.of();
+        }
+        return documents(campaigns,
+                goalRepository.findViewsByCampaignIdBetween(fromId, toId),
+                channelRepository.findViewsByCampaignIdBetween(fromId, toId));
+    }
+
+    private List<Document> loadByIds(List<Long> ids) {
+        List<CampaignView> campaigns = campaignRepository.findViewsByIdIn(ids);
+        if (campaigns.isEmpty()) {
+            return List.of();
+        }
+        List<Long> found = campaigns.stream().map(CampaignView::getId).toList();
+        return documents(campaigns,
+                goalRepository.findViewsByCampaignIdIn(found),
+                channelRepository.findViewsByCampaignIdIn(found));
+    }
+
+    private static List<Document> documents(List<CampaignView> campaigns, List<GoalView> goals,
+                                            List<ChannelView> channels) {
+        Map<Long, StringBuilder> texts = new HashMap<>(campaigns.size() * 2);
+        for (CampaignView campaign : campaigns) {
+            texts.put(campaign.getId(), new StringBuilder(campaign.getName()).append('\n')
+                    .append(campaign.getDescription() != null ? campaign.getDescription() : ""));
+        }
+        for (GoalView goal : goals) {
+            append(texts, goal.getCampaignId(), goal.getDescription());
+        }
+        for (ChannelView channel : channels) {
+            append(texts, channel.getCampaignId(), channel.getType());
+            append(texts, channel.getCampaignId(), channel.getDetails());
+        }
+        List<Document> documents = new ArrayList<>(campaigns.size());
+        for (CampaignView campaign : campaigns) {
+            documents.add(new Document(campaign.getId(), campaign.getOwnerUsername(),
+                    CampaignTextIndex.terms(texts.get(campaign.getId()).toString())));
+        }
+        return documents;
+    }
+
+    private static void append(Map<Long, StringBuilder> texts, Long campaignId, String text) {
+        StringBuilder builder = texts.get(campaignId);
+        if (builder != null && text != null) {
+            builder.append('\n').append(text);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("campaign.text.index.documents", this, indexer -> indexer.index.size())
+                .description("Campaigns in the text search index")
+                .register(registry);
+        Gauge.builder("campaign.text.index.terms", this, indexer -> indexer.index.termCount())
+                .description("Distinct terms in the text search index")
+                .register(registry);
+    }
+}
@@ -35,69 +35,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String authHeader = request.getHeader("Authorization");
         log.info("🔎 Encabezado Authorization recibido: {}", authHeader);
 
-        String jwt = null;
-        String username = null;
+        VerifiedToken token = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
+            String jwt = authHeader.substring(7);
             log.info("🪙 Token extraído: {}", jwt);
 
             try {
-                username = jwtUtil.extractUsername(jwt);
-                log.info("👤 Usuario extraído del token: {}", username);
+                token = jwtUtil.verifyToken(jwt);
+                log.info("👤 Usuario extraído del token: {}", token.getUsername());
             } catch (Exception e) {
-                log.error("❌ Error al extraer usuario del token: {}", e.getMessage());
+                log.error("❌ Token inválido o firma incorrecta: {}", e.getMessage());
             }
         } else {
             log.warn("⚠️ No se encontró un token Bearer en la solicitud.");
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (token != null && token.getUsername() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            if (jwtUtil.validateToken(jwt)) {
+            if (!token.isExpired()) {
                 log.info("✅ Token válido.");
-
-                // Procesar roles
-                java.util.List<String> roles = new java.util.ArrayList<>();
-                try {
-                    Object rolesClaim = jwtUtil.extractClaim(jwt, claims -> claims.get("roles"));
-                    if (rolesClaim == null)
-                        rolesClaim = jwtUtil.extractClaim(jwt, claims -> claims.get("role"));
-
-                    log.info("🔎 Claim roles sin procesar: {}", rolesClaim);
-
-                    if (rolesClaim instanceof java.util.List<?> list) {
-                        for (Object obj : list) {
-                            roles.add(obj.toString());
-                        }
-                    } else if (rolesClaim instanceof String str) {
-                        for (String r : str.split(",")) {
-                            roles.add(r.trim());
-                        }
-                    }
-
-                    log.info("📄 Lista de roles procesada: {}", roles);
-
-                } catch (Exception e) {
-                    log.error("❌ Error al procesar roles del token: {}", e.getMessage());
-                }
+                log.info("📄 Lista de roles procesada: {}", token.getRoles());
 
                 var authorities = new java.util.ArrayList<org.springframework.security.core.GrantedAuthority>();
-                for (String role : roles) {
+                for (String role : token.getRoles()) {
                     log.info("➡️ Añadiendo autoridad: {}", role);
                     authorities.add(new SimpleGrantedAuthority(role));
                 }
 
                 UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(username, null, authorities);
+                        new UsernamePasswordAuthenticationToken(token.getUsername(), null, authorities);
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-                log.info("🔐 SecurityContext actualizado con el usuario '{}'", username);
+                log.info("🔐 SecurityContext actualizado con el usuario '{}'", token.getUsername());
 
             } else {
-                log.error("❌ Token inválido o firma incorrecta.");
+                log.error("❌ Token expirado.");
             }
         }
 
@@ -1,10 +1,26 @@
 package upc.edu.muusmart.campaignmanagement.infrastructure.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -15,13 +31,61 @@ import java.util.function.Function;
  * time are defined as constants. In a real-world scenario, these values
  * should be externalized into configuration properties or environment
  * variables.</p>
+ *
+ * <p>Tokens that pass signature verification are kept in a bounded cache keyed
+ * by the SHA-256 digest of the token, so a bearer token reused across many
+ * requests is only parsed once. Entries are evicted when the token expires or
+ * when the cache reaches its size cap.</p>
  */
 @Component
-public class JwtUtil {
+public class JwtUtil implements MeterBinder {
 
     // NOTE: In production, store this in configuration rather than hard-coding.
     private final String jwtSecret = "ReplaceThisSecretWithAStrongKeyForProduction";
     private final long jwtExpirationMs = 60 * 60 * 1000; // 1 hour
+    private static final long MAX_CACHED_TOKENS = 10_000;
+
+    private final JwtParser jwtParser = Jwts.parserBuilder()
+            .setSigningKey(jwtSecret.getBytes())
+            .build();
+
+    private final Cache<String, VerifiedToken> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_TOKENS)
+            .expireAfter(new TokenExpiry())
+            .recordStats()
+            .build();
+
+    /**
+     * Verifies the token and returns its username, expiration and roles. The
+     * signature is only checked the first time a token is seen; later calls are
+     * served from the cache until the token expires.
+     *
+     * @param token the JWT token
+     * @return the verified token contents
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, expired or badly signed
+     */
+    public VerifiedToken verifyToken(String token) {
+        String key = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+        VerifiedToken verified = toVerifiedToken(extractAllClaims(token));
+        verifiedTokens.put(key, verified);
+        return verified;
+    }
+
+    /**
+     * Hit/miss statistics of the verified-token cache.
+     */
+    public CacheStats tokenCacheStats() {
+        return verifiedTokens.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "verifiedTokens");
+    }
 
     /**
      * Extracts the username from the JWT token.
@@ -30,7 +94,7 @@ public class JwtUtil {
      * @return username (subject) stored in the token
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verifyToken(token).getUsername();
     }
 
     /**
@@ -47,9 +111,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(jwtSecret.getBytes())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -63,18 +125,62 @@ public class JwtUtil {
     public boolean validateToken(String token) {
         try {
             // parse to ensure signature is valid and expiration is considered
-            return !isTokenExpired(token);
+            return !verifyToken(token).isExpired();
         } catch (Exception ex) {
             return false;
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        Object rolesClaim = claims.get("roles");
+        if (rolesClaim == null) {
+            rolesClaim = claims.get("role");
+        }
+        List<String> roles = new ArrayList<>();
+        if (rolesClaim instanceof List<?> list) {
+            for (Object obj : list) {
+                roles.add(obj.toString());
+            }
+        } else if (rolesClaim instanceof String str) {
+            for (String r : str.split(",")) {
+                roles.add(r.trim());
+            }
+        }
+        return new VerifiedToken(claims.getSubject(), claims.getExpiration(), Collections.unmodifiableList(roles));
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Keeps each entry only until its token expires. Tokens without an
+     * expiration claim are kept for the standard token lifetime.
+     */
+    private class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long ttlMs = value.getExpiration() == null
+                    ? jwtExpirationMs
+                    : Math.min(jwtExpirationMs, value.getExpiration().getTime() - System.currentTimeMillis());
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(ttlMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 
-}
\ No newline at end of file
+}
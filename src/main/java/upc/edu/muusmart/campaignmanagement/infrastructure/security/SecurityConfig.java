@@ -1,5 +1,6 @@
 package upc.edu.muusmart.campaignmanagement.infrastructure.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
@@ -34,6 +35,9 @@ public class SecurityConfig {
                     log.info("🔐 Configurando reglas de autorización…");
 
                     auth
+                            // Async dispatches (streamed bodies, SSE) and error pages carry no token;
+                            // the request was authorized on its initial dispatch
+                            .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                             .requestMatchers("/stables/**").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
                             .requestMatchers("/campaigns/**").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
                             .requestMatchers(
@@ -41,6 +45,9 @@ public class SecurityConfig {
                                     "/swagger-ui/**",
                                     "/swagger-ui.html"
                             ).permitAll()
+                            // Probes and the Prometheus scraper do not carry tokens
+                            .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                            .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
                             .anyRequest().authenticated();
 
                     log.info("✅ Reglas de autorización configuradas correctamente.");
@@ -0,0 +1,28 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.security;
+
+import lombok.Value;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Immutable view of a JWT whose signature has already been verified. Holds
+ * everything the authentication filter needs so a token only has to be
+ * parsed once while it stays in {@link JwtUtil}'s cache.
+ */
+@Value
+public class VerifiedToken {
+
+    String username;
+
+    Date expiration;
+
+    /**
+     * Roles taken from the {@code roles} claim, falling back to {@code role}.
+     */
+    List<String> roles;
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -0,0 +1,65 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.web;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+
+/**
+ * Helpers for the limiting filters, whose permits must be held for the whole
+ * life of a request, including the asynchronous part of streamed responses.
+ */
+final class AsyncRequests {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private AsyncRequests() {
+    }
+
+    /**
+     * Runs {@code action} once the response of {@code request} is complete:
+     * right away when the request was handled on its initial dispatch, or when
+     * the asynchronous processing it started completes, times out or fails.
+     * Must be called on the initial dispatch, after the filter chain returned.
+     */
+    static void whenComplete(HttpServletRequest request, Runnable action) {
+        if (!request.isAsyncStarted()) {
+            action.run();
+            return;
+        }
+        // onComplete follows timeouts and errors too, so it is the only callback needed
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                action.run();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    /**
+     * Answers 503 with {@code Retry-After} and a JSON error body.
+     */
+    static void rejectBusy(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
@@ -0,0 +1,56 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the number of campaign exports running at the same time.
+ *
+ * <p>An export keeps a database cursor, and with it a pooled connection, open
+ * until the client has received the last row, which for a slow client can take
+ * up to the async request timeout. Without a cap a handful of slow exports
+ * would take most of the pool. The permit is held until the streamed response
+ * completes; exports over {@code campaign.export.max-concurrent} are answered
+ * 503 with {@code Retry-After} instead of waiting.</p>
+ */
+@Slf4j
+@Component
+public class ExportConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String EXPORT_PATH = "/campaigns/export";
+
+    private final Semaphore permits;
+
+    public ExportConcurrencyLimitFilter(@Value("${campaign.export.max-concurrent:4}") int maxConcurrent) {
+        this.permits = new Semaphore(maxConcurrent);
+        log.info("Campaign exports limited to {} at a time", maxConcurrent);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !EXPORT_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!permits.tryAcquire()) {
+            AsyncRequests.rejectBusy(response, "Too many exports running, retry later");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            AsyncRequests.whenComplete(request, permits::release);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.web;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of API requests that may use the database at the same time.
+ *
+ * <p>Without a cap, a burst of requests is only limited by the web server's
+ * thread count (or not at all with virtual threads) and the excess waits
+ * inside the connection pool, holding threads and memory and eventually
+ * failing with pool timeouts. This filter sizes a fair semaphore from the
+ * pool's maximum size, so requests queue in order before they reach the
+ * pool, and answers 503 with {@code Retry-After} when a permit cannot be
+ * obtained within the acquire timeout.</p>
+ *
+ * <p>Opt-in through {@code campaign.jdbc-limiter.enabled}. Only the campaign
+ * and stable endpoints are limited. Exports keep their permit until the body
+ * has been written, since they read from the database while writing it.
+ * Server-sent event streams only use the database on their initial dispatch
+ * and release it when that returns. NDJSON listings release it then too: they
+ * stay open for as long as the client takes to read them, and each later page
+ * is one short read, so holding a permit would let a few slow clients starve
+ * every other request.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "campaign.jdbc-limiter.enabled", havingValue = "true")
+public class JdbcConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    // Goal progress SSE streams stay open without touching the database, and
+    // NDJSON listings (/campaigns/stream, /stables/stream) only between pages
+    private static final String STREAM_SUFFIX = "/stream";
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    public JdbcConcurrencyLimitFilter(DataSource dataSource,
+                                      @Value("${campaign.jdbc-limiter.max-concurrent:0}") int maxConcurrent,
+                                      @Value("${campaign.jdbc-limiter.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        int size = maxConcurrent > 0 ? maxConcurrent : poolSize(dataSource);
+        this.permits = new Semaphore(size, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        log.info("JDBC concurrency limiter enabled with {} permits", size);
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        // The data source may be wrapped (statement counting); fall back to Hikari's default size
+        HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+        return hikari != null ? hikari.getMaximumPoolSize() : 10;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !(path.startsWith("/campaigns") || path.startsWith("/stables"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            AsyncRequests.rejectBusy(response, "Server busy, retry later");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.getRequestURI().endsWith(STREAM_SUFFIX)) {
+                permits.release();
+            } else {
+                AsyncRequests.whenComplete(request, permits::release);
+            }
+        }
+    }
+}
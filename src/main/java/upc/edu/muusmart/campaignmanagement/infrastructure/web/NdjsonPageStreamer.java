@@ -0,0 +1,148 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import upc.edu.muusmart.campaignmanagement.application.dto.CursorPage;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes keyset-paginated listings as NDJSON with non-blocking servlet I/O.
+ *
+ * <p>The first page is read on the request thread, so a failing read is still
+ * answered with an error status. The request then goes asynchronous and a
+ * {@link WriteListener} takes over: whenever the container reports the
+ * connection writable it writes lines until the output stops being ready,
+ * and reads the next page once the current one has been written. A client
+ * that reads slowly therefore holds no thread while it is not ready, only its
+ * current page; threads are only busy writing or reading a page, and the
+ * container's own pool serves every open stream.</p>
+ */
+@Slf4j
+@Component
+public class NdjsonPageStreamer {
+
+    public static final String CONTENT_TYPE = "application/x-ndjson";
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+
+    public NdjsonPageStreamer(ObjectMapper objectMapper,
+                              @Value("${spring.mvc.async.request-timeout:1h}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeout.toMillis();
+    }
+
+    /**
+     * Starts streaming the pages returned by {@code pages}, which is called
+     * with a null cursor for the first page and with each page's next cursor
+     * until there is none. The response is complete once the last page has
+     * been written, or the client went away.
+     */
+    public void stream(HttpServletRequest request, HttpServletResponse response,
+                       Function<String, CursorPage<?>> pages) throws IOException {
+        CursorPage<?> first = pages.apply(null);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(CONTENT_TYPE);
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(timeoutMs);
+        PageStream stream = new PageStream(asyncContext, response.getOutputStream(), pages, first);
+        asyncContext.addListener(stream);
+        response.getOutputStream().setWriteListener(stream);
+    }
+
+    /**
+     * One response in progress: the page being written and where it stands.
+     * The container calls the write callbacks of one request one at a time.
+     */
+    private final class PageStream implements WriteListener, AsyncListener {
+
+        private final AsyncContext asyncContext;
+        private final ServletOutputStream out;
+        private final Function<String, CursorPage<?>> pages;
+        private List<?> items;
+        private int next;
+        private String cursor;
+        private boolean completed;
+
+        PageStream(AsyncContext asyncContext, ServletOutputStream out,
+                   Function<String, CursorPage<?>> pages, CursorPage<?> first) {
+            this.asyncContext = asyncContext;
+            this.out = out;
+            this.pages = pages;
+            this.items = first.getItems();
+            this.cursor = first.getNextCursor();
+        }
+
+        @Override
+        public void onWritePossible() throws IOException {
+            while (out.isReady()) {
+                if (next < items.size()) {
+                    // One write per line: nothing may be written once the stream is not ready
+                    out.write(line(items.get(next++)));
+                } else if (cursor == null) {
+                    complete();
+                    return;
+                } else {
+                    CursorPage<?> page = pages.apply(cursor);
+                    items = page.getItems();
+                    next = 0;
+                    cursor = page.getNextCursor();
+                }
+            }
+        }
+
+        private byte[] line(Object item) throws IOException {
+            byte[] json = objectMapper.writeValueAsBytes(item);
+            byte[] line = Arrays.copyOf(json, json.length + 1);
+            line[json.length] = '\n';
+            return line;
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            // Usually the client closing the connection; a failed page read also ends here
+            log.debug("NDJSON stream of {} ended early: {}",
+                    ((HttpServletRequest) asyncContext.getRequest()).getRequestURI(), failure.toString());
+            complete();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            complete();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            complete();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private synchronized void complete() {
+            if (!completed) {
+                completed = true;
+                asyncContext.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Gives streamed response bodies (exports) their own bounded pool of writer
+ * threads. The NDJSON listings are written with non-blocking I/O by
+ * {@link NdjsonPageStreamer} and do not use it.
+ *
+ * <p>Spring MVC would otherwise run them on the shared application task
+ * executor, whose queue is unbounded, so long streams would queue every later
+ * one behind them. Here at most {@code campaign.streaming.threads} bodies are
+ * written at once and {@code campaign.streaming.queue-capacity} more wait;
+ * further streams are rejected with 503. The pool is not a bean so it does
+ * not replace the application task executor.</p>
+ */
+@Slf4j
+@Configuration
+public class StreamingResponseConfig implements WebMvcConfigurer, DisposableBean {
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    public StreamingResponseConfig(@Value("${campaign.streaming.threads:32}") int threads,
+                                   @Value("${campaign.streaming.queue-capacity:64}") int queueCapacity) {
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("stream-");
+        executor.initialize();
+        log.info("Streamed responses written by {} threads, {} queued at most", threads, queueCapacity);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // Runs after Boot's configurer, which keeps setting the request timeout
+        configurer.setTaskExecutor(executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -1,19 +1,40 @@
 package upc.edu.muusmart.campaignmanagement.interfaces.rest;
 
 import upc.edu.muusmart.campaignmanagement.application.dto.*;
+import upc.edu.muusmart.campaignmanagement.application.service.CampaignBatchService;
+import upc.edu.muusmart.campaignmanagement.application.service.CampaignExportService;
+import upc.edu.muusmart.campaignmanagement.application.service.CampaignLifecycleService;
 import upc.edu.muusmart.campaignmanagement.application.service.CampaignService;
+import upc.edu.muusmart.campaignmanagement.application.service.CampaignSummaryService;
+import upc.edu.muusmart.campaignmanagement.application.service.ChangeFeedService;
+import upc.edu.muusmart.campaignmanagement.application.service.GoalProgressService;
+import upc.edu.muusmart.campaignmanagement.application.service.GoalProgressStreamService;
+import upc.edu.muusmart.campaignmanagement.application.service.ListingStreamService;
+import upc.edu.muusmart.campaignmanagement.application.service.MetricIngestionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import upc.edu.muusmart.campaignmanagement.infrastructure.metrics.SqlBudget;
+import upc.edu.muusmart.campaignmanagement.infrastructure.web.NdjsonPageStreamer;
+import upc.edu.muusmart.campaignmanagement.shared.pagination.KeysetCursor;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("campaigns")
@@ -22,11 +43,24 @@ import java.util.List;
 @SecurityRequirement(name = "Bearer Authentication")
 public class CampaignController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final CampaignService campaignService;
+    private final CampaignExportService campaignExportService;
+    private final CampaignBatchService campaignBatchService;
+    private final GoalProgressService goalProgressService;
+    private final GoalProgressStreamService goalProgressStreamService;
+    private final MetricIngestionService metricIngestionService;
+    private final ListingStreamService listingStreamService;
+    private final NdjsonPageStreamer ndjsonPageStreamer;
+    private final CampaignSummaryService campaignSummaryService;
+    private final CampaignLifecycleService campaignLifecycleService;
+    private final ChangeFeedService changeFeedService;
 
     @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
     @PostMapping
     @Operation(summary = "Create a new campaign")
+    @SqlBudget(9)
     public ResponseEntity<CampaignResponse> createCampaign(
             @Valid @RequestBody CreateCampaignRequest request,
             Authentication authentication) {
@@ -37,15 +71,237 @@ public class CampaignController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Creates many campaigns, with their goals and channels, in one call. Items
+     * that break a business rule are rejected individually; the response has
+     * one result per item in request order.
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
+    @PostMapping("/batch")
+    @Operation(summary = "Create campaigns in batch")
+    public ResponseEntity<BatchCreateCampaignsResponse> createCampaigns(
+            @Valid @RequestBody BatchCreateCampaignsRequest request,
+            Authentication authentication) {
+        String username = extractUsername(authentication);
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        BatchCreateCampaignsResponse response = campaignBatchService.createCampaigns(request, username, isAdmin);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Updates the progress of many goals in one call. Each item sets either a
+     * new {@code currentValue} or a {@code delta} to add; items for unknown
+     * goals or goals of another user's campaign are rejected individually.
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
+    @PatchMapping("/goals/progress")
+    @Operation(summary = "Update goal progress in bulk")
+    @SqlBudget(27)
+    public ResponseEntity<BulkGoalProgressResponse> updateGoalProgress(
+            @Valid @RequestBody BulkGoalProgressRequest request,
+            Authentication authentication) {
+        String username = extractUsername(authentication);
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        BulkGoalProgressResponse response = goalProgressService.updateProgress(request, username, isAdmin);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Ingests CLICKS, VIEWS and CONVERSIONS events for campaign channels.
+     * Accepted events are buffered and added to the matching goals on the next
+     * periodic flush, hence the 202 status.
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
+    @PostMapping("/metrics/events")
+    @Operation(summary = "Ingest metric events")
+    public ResponseEntity<MetricEventBatchResponse> ingestMetricEvents(
+            @Valid @RequestBody MetricEventBatchRequest request,
+            Authentication authentication) {
+        String username = extractUsername(authentication);
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        MetricEventBatchResponse response = metricIngestionService.ingest(request, username, isAdmin);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * Lists the campaigns visible to the caller. Without {@code limit} or
+     * {@code cursor} the full list is returned as before; with either of them
+     * the response holds one keyset page and the cursor of the next page, if
+     * any, is sent in the {@value #NEXT_CURSOR_HEADER} header.
+     */
     @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
     @GetMapping
     @Operation(summary = "Get all campaigns")
-    public ResponseEntity<List<CampaignResponse>> getAllCampaigns(Authentication authentication) {
+    @SqlBudget(3)
+    public ResponseEntity<List<CampaignResponse>> getAllCampaigns(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            Authentication authentication) {
         String username = extractUsername(authentication);
         boolean isAdmin = authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        List<CampaignResponse> campaigns = campaignService.getAllCampaignsByUsername(username, isAdmin);
-        return ResponseEntity.ok(campaigns);
+        if (limit == null && cursor == null) {
+            List<CampaignResponse> campaigns = campaignService.getAllCampaignsByUsername(username, isAdmin);
+            return ResponseEntity.ok(campaigns);
+        }
+        CursorPage<CampaignResponse> page = campaignService.getCampaignsPage(
+                username, isAdmin, cursor, KeysetCursor.normalizeLimit(limit));
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return builder.body(page.getItems());
+    }
+
+    /**
+     * Searches the campaigns visible to the caller by status, stable, start and
+     * end date window and name prefix, sorted by {@code sort}. Results are
+     * paginated with a keyset cursor returned in the
+     * {@value #NEXT_CURSOR_HEADER} header.
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
+    @GetMapping("/search")
+    @Operation(summary = "Search campaigns")
+    @SqlBudget(4)
+    public ResponseEntity<List<CampaignResponse>> searchCampaigns(
+            @ParameterObject CampaignSearchRequest request,
+            Authentication authentication) {
+        String username = extractUsername(authentication);
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        CursorPage<CampaignResponse> page = campaignService.searchCampaigns(request, username, isAdmin);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return builder.body(page.getItems());
+    }
+
+    /**
+     * Full-text search of the campaigns visible to the caller. Every word of
+     * {@code q} must match the start of a word in the campaign name or
+     * description, a goal description or a channel type or details; results
+     * are newest first. Words must be at least three letters or digits long
+     * (400 otherwise). Answers 503 while the search index is being built at
+     * startup.
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
+    @GetMapping("/search/text")
+    @Operation(summary = "Full-text search of campaigns")
+    @SqlBudget(3)
+    public ResponseEntity<List<CampaignResponse>> searchCampaignsByText(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            Authentication authentication) {
+        String username = extractUsername(authentication);
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        return ResponseEntity.ok(campaignService.searchCampaignsByText(query, username, isAdmin, limit));
+    }
+
+    /**
+     * Campaign counts per status and goal completion of the caller's
+     * campaigns, per stable and in total, read from the pre-aggregated
+     * summary table. Administrators get every owner's campaigns.
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
+    @GetMapping("/summary")
+    @Operation(summary = "Summarize campaigns and goals per stable")
+    @SqlBudget(1)
+    public ResponseEntity<CampaignDashboardResponse> getSummary(Authentication authentication) {
+        String username = extractUsername(authentication);
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        return ResponseEntity.ok(campaignSummaryService.getDashboard(username, isAdmin));
+    }
+
+    /**
+     * Recomputes the summary table from campaigns and goals, for repair.
+     * Campaign changes wait while it runs.
+     */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/summary/rebuild")
+    @Operation(summary = "Rebuild the campaign summary (admin)")
+    public ResponseEntity<Map<String, Integer>> rebuildSummary() {
+        return ResponseEntity.ok(Map.of("rows", campaignSummaryService.rebuildSummaries()));
+    }
+
+    /**
+     * Applies the due lifecycle transitions now instead of waiting for the
+     * next scheduled run, and returns how many campaigns each one moved.
+     */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/lifecycle/run")
+    @Operation(summary = "Apply due campaign status transitions (admin)")
+    public ResponseEntity<Map<String, Integer>> runLifecycle() {
+        return ResponseEntity.ok(campaignLifecycleService.runTransitions());
+    }
+
+    /**
+     * Delta sync: the campaigns and stables created or updated, and the ids of
+     * campaigns deleted, since the cursor of the previous call, oldest first.
+     * Without {@code since} it starts with every campaign and stable of the
+     * caller. Answers 410 when the cursor is too old to be resumed.
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
+    @GetMapping("/changes")
+    @Operation(summary = "Get campaign and stable changes since a cursor")
+    @SqlBudget(5)
+    public ResponseEntity<ChangeFeedResponse> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        String username = extractUsername(authentication);
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        return ResponseEntity.ok(changeFeedService.getChanges(username, isAdmin, since,
+                KeysetCursor.normalizeLimit(limit)));
+    }
+
+    /**
+     * Streams the campaigns visible to the caller as NDJSON, reading one keyset
+     * page at a time as the client consumes the response. Meant for clients
+     * on slow links that would otherwise hold the full listing in flight; the
+     * response is written with non-blocking I/O, so they hold no thread while
+     * they read.
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
+    @GetMapping("/stream")
+    @Operation(summary = "Stream campaigns as NDJSON")
+    public void streamCampaigns(Authentication authentication, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        String username = extractUsername(authentication);
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        ndjsonPageStreamer.stream(request, response, listingStreamService.campaignPages(username, isAdmin));
+    }
+
+    /**
+     * Streams every campaign visible to the caller as NDJSON (default) or CSV.
+     * Rows are written while they are read from the database, so the response
+     * starts immediately and memory use does not grow with the number of
+     * campaigns.
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
+    @GetMapping("/export")
+    @Operation(summary = "Export campaigns as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportCampaigns(
+            @RequestParam(defaultValue = "ndjson") String format,
+            Authentication authentication) {
+        String username = extractUsername(authentication);
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        CampaignExportService.Format exportFormat = CampaignExportService.Format.from(format);
+        StreamingResponseBody body = out -> campaignExportService.exportCampaigns(username, isAdmin, exportFormat, out);
+        boolean csv = exportFormat == CampaignExportService.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"campaigns." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
     }
 
     /**
@@ -64,20 +320,37 @@ public class CampaignController {
         return principal != null ? principal.toString() : null;
     }
 
+    /**
+     * Returns a campaign with its ETag. When {@code If-None-Match} is sent and
+     * still matches, only the campaign version is read and 304 is returned
+     * without a body. A stale tag, typically a poll after a change, costs the
+     * version read plus the three reads of a cache miss.
+     */
     @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
     @GetMapping("/{id}")
     @Operation(summary = "Get campaign by ID")
-    public ResponseEntity<CampaignResponse> getCampaignById(@PathVariable Long id, Authentication authentication) {
+    @SqlBudget(4)
+    public ResponseEntity<CampaignResponse> getCampaignById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Authentication authentication) {
         String username = extractUsername(authentication);
         boolean isAdmin = authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        if (ifNoneMatch != null) {
+            String etag = EntityTags.of(id, campaignService.getCampaignVersion(id, username, isAdmin));
+            if (EntityTags.noneMatchHits(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
         CampaignResponse response = campaignService.getCampaignById(id, username, isAdmin);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(EntityTags.of(id, response.getVersion())).body(response);
     }
 
     @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a campaign")
+    @SqlBudget(12)
     public ResponseEntity<Void> deleteCampaign(@PathVariable Long id, Authentication authentication) {
         String username = extractUsername(authentication);
         boolean isAdmin = authentication.getAuthorities().stream()
@@ -86,51 +359,73 @@ public class CampaignController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Updates the status of a campaign. With {@code If-Match} the change is only applied if
+     * the campaign still has the version in the tag; otherwise 412 is returned.
+     */
     @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
     @PatchMapping("/{id}/update-status")
     @Operation(summary = "Update campaign status")
+    @SqlBudget(10)
     public ResponseEntity<CampaignResponse> updateCampaignStatus(
             @PathVariable Long id,
             @Valid @RequestBody UpdateCampaignStatusRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
         String username = extractUsername(authentication);
         boolean isAdmin = authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        CampaignResponse response = campaignService.updateCampaignStatus(id, request, username, isAdmin);
-        return ResponseEntity.ok(response);
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch, id);
+        CampaignResponse response = campaignService.updateCampaignStatus(id, request, username, isAdmin, expectedVersion);
+        return ResponseEntity.ok().eTag(EntityTags.of(id, response.getVersion())).body(response);
     }
 
+    /**
+     * Adds a goal to a campaign. With {@code If-Match} the change is only applied if
+     * the campaign still has the version in the tag; otherwise 412 is returned.
+     */
     @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
     @PatchMapping("/{id}/add-goal")
     @Operation(summary = "Add a goal to a campaign")
+    @SqlBudget(15)
     public ResponseEntity<CampaignResponse> addGoalToCampaign(
             @PathVariable Long id,
             @Valid @RequestBody AddGoalRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
         String username = extractUsername(authentication);
         boolean isAdmin = authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        CampaignResponse response = campaignService.addGoalToCampaign(id, request, username, isAdmin);
-        return ResponseEntity.ok(response);
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch, id);
+        CampaignResponse response = campaignService.addGoalToCampaign(id, request, username, isAdmin, expectedVersion);
+        return ResponseEntity.ok().eTag(EntityTags.of(id, response.getVersion())).body(response);
     }
 
+    /**
+     * Adds a channel to a campaign. With {@code If-Match} the change is only applied if
+     * the campaign still has the version in the tag; otherwise 412 is returned.
+     */
     @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
     @PatchMapping("/{id}/add-channel")
     @Operation(summary = "Add a channel to a campaign")
+    @SqlBudget(9)
     public ResponseEntity<CampaignResponse> addChannelToCampaign(
             @PathVariable Long id,
             @Valid @RequestBody AddChannelRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
         String username = extractUsername(authentication);
         boolean isAdmin = authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        CampaignResponse response = campaignService.addChannelToCampaign(id, request, username, isAdmin);
-        return ResponseEntity.ok(response);
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch, id);
+        CampaignResponse response = campaignService.addChannelToCampaign(id, request, username, isAdmin, expectedVersion);
+        return ResponseEntity.ok().eTag(EntityTags.of(id, response.getVersion())).body(response);
     }
 
     @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
     @GetMapping("/{id}/goals")
     @Operation(summary = "Get all goals for a campaign")
+    @SqlBudget(3)
     public ResponseEntity<List<GoalResponse>> getGoalsByCampaign(@PathVariable Long id, Authentication authentication) {
         String username = extractUsername(authentication);
         boolean isAdmin = authentication.getAuthorities().stream()
@@ -139,9 +434,27 @@ public class CampaignController {
         return ResponseEntity.ok(goals);
     }
 
+    /**
+     * Live goal progress as Server-Sent Events: a {@code goals} event with
+     * every goal, then a {@code progress} event with the goals that changed,
+     * at most once per interval, and {@code deleted} if the campaign is
+     * deleted. Replaces polling the goals endpoint.
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
+    @GetMapping(value = "/{id}/goals/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream goal progress of a campaign (SSE)")
+    @SqlBudget(3)
+    public SseEmitter streamGoalProgress(@PathVariable Long id, Authentication authentication) {
+        String username = extractUsername(authentication);
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        return goalProgressStreamService.subscribe(id, username, isAdmin);
+    }
+
     @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
     @GetMapping("/{id}/channels")
     @Operation(summary = "Get all channels for a campaign")
+    @SqlBudget(3)
     public ResponseEntity<List<ChannelResponse>> getChannelsByCampaign(@PathVariable Long id, Authentication authentication) {
         String username = extractUsername(authentication);
         boolean isAdmin = authentication.getAuthorities().stream()
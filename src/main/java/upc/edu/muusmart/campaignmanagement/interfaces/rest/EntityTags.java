@@ -0,0 +1,68 @@
+package upc.edu.muusmart.campaignmanagement.interfaces.rest;
+
+import upc.edu.muusmart.campaignmanagement.shared.exceptions.PreconditionFailedException;
+
+/**
+ * Builds and parses the strong ETags used for campaigns and stables. A tag is
+ * the aggregate id and its optimistic-lock version, e.g. {@code "42-7"}, so it
+ * changes on every committed modification and can be compared without
+ * loading the aggregate.
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static String of(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header matches the given tag. Uses weak
+     * comparison as required for that header, so {@code W/} prefixes are ignored.
+     */
+    static boolean noneMatchHits(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extracts the version the client expects from an {@code If-Match} header.
+     * Returns null when there is no header or it is {@code *}, meaning any
+     * existing version is acceptable.
+     *
+     * @throws PreconditionFailedException if the header holds no strong tag for this aggregate
+     */
+    static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            // Weak tags never match under the strong comparison If-Match requires
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                try {
+                    return Long.valueOf(tag.substring(prefix.length(), tag.length() - 1));
+                } catch (NumberFormatException e) {
+                    // Not one of our tags; keep looking
+                }
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match any version of resource " + id);
+    }
+}
@@ -1,16 +1,23 @@
 package upc.edu.muusmart.campaignmanagement.interfaces.rest;
 
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import upc.edu.muusmart.campaignmanagement.shared.exceptions.CursorExpiredException;
 import upc.edu.muusmart.campaignmanagement.shared.exceptions.DuplicateResourceException;
 import upc.edu.muusmart.campaignmanagement.shared.exceptions.InvalidValueException;
+import upc.edu.muusmart.campaignmanagement.shared.exceptions.PreconditionFailedException;
 import upc.edu.muusmart.campaignmanagement.shared.exceptions.ResourceNotFoundException;
+import upc.edu.muusmart.campaignmanagement.shared.exceptions.ServiceUnavailableException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -43,6 +50,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "The resource was modified concurrently; reload it and try again");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, String>> handlePreconditionFailed(PreconditionFailedException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
     @ExceptionHandler(InvalidValueException.class)
     public ResponseEntity<Map<String, String>> handleInvalid(InvalidValueException ex) {
         Map<String, String> error = new HashMap<>();
@@ -57,6 +78,35 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(CursorExpiredException.class)
+    public ResponseEntity<Map<String, String>> handleCursorExpired(CursorExpiredException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GONE).body(error);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleUnavailable(ServiceUnavailableException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    /**
+     * A streamed response could not be scheduled because every writer thread
+     * is busy and the queue is full. The streamed content type has already
+     * been set on the response, so the JSON type is set explicitly.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleTaskRejected(TaskRejectedException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Server busy, retry later");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(error);
+    }
+
     @ExceptionHandler({SecurityException.class, AccessDeniedException.class})
     public ResponseEntity<Map<String, String>> handleSecurity(Exception ex) {
         Map<String, String> error = new HashMap<>();
@@ -3,17 +3,26 @@ package upc.edu.muusmart.campaignmanagement.interfaces.rest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import upc.edu.muusmart.campaignmanagement.application.dto.CreateStableRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.CursorPage;
 import upc.edu.muusmart.campaignmanagement.application.dto.StableResponse;
+import upc.edu.muusmart.campaignmanagement.application.service.ListingStreamService;
 import upc.edu.muusmart.campaignmanagement.application.service.StableService;
+import upc.edu.muusmart.campaignmanagement.infrastructure.metrics.SqlBudget;
+import upc.edu.muusmart.campaignmanagement.infrastructure.web.NdjsonPageStreamer;
+import upc.edu.muusmart.campaignmanagement.shared.pagination.KeysetCursor;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -28,11 +37,16 @@ import java.util.List;
 @SecurityRequirement(name = "Bearer Authentication")
 public class StableController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final StableService stableService;
+    private final ListingStreamService listingStreamService;
+    private final NdjsonPageStreamer ndjsonPageStreamer;
 
     @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
     @PostMapping
     @Operation(summary = "Create a new stable")
+    @SqlBudget(3)
     public ResponseEntity<StableResponse> createStable(
             @Valid @RequestBody CreateStableRequest request,
             Authentication authentication) {
@@ -41,28 +55,75 @@ public class StableController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Lists the stables accessible to the caller. Passing {@code limit} or
+     * {@code cursor} switches to keyset pagination; the cursor of the next
+     * page is returned in the {@value #NEXT_CURSOR_HEADER} header.
+     */
     @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
     @GetMapping
     @Operation(summary = "Get all stables accessible to the caller")
-    public ResponseEntity<List<StableResponse>> getAllStables(Authentication authentication) {
+    @SqlBudget(1)
+    public ResponseEntity<List<StableResponse>> getAllStables(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            Authentication authentication) {
+        String username = extractUsername(authentication);
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        if (limit == null && cursor == null) {
+            List<StableResponse> stables = stableService.getAllStables(username, isAdmin);
+            return ResponseEntity.ok(stables);
+        }
+        CursorPage<StableResponse> page = stableService.getStablesPage(
+                username, isAdmin, cursor, KeysetCursor.normalizeLimit(limit));
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return builder.body(page.getItems());
+    }
+
+    /**
+     * Streams the stables visible to the caller as NDJSON, reading one keyset
+     * page at a time as the client consumes the response. Written with
+     * non-blocking I/O, so a slow client holds no thread while it reads.
+     */
+    @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
+    @GetMapping("/stream")
+    @Operation(summary = "Stream stables as NDJSON")
+    public void streamStables(Authentication authentication, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
         String username = extractUsername(authentication);
         boolean isAdmin = authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        List<StableResponse> stables = stableService.getAllStables(username, isAdmin);
-        return ResponseEntity.ok(stables);
+        ndjsonPageStreamer.stream(request, response, listingStreamService.stablePages(username, isAdmin));
     }
 
+    /**
+     * Returns a stable with its ETag, or 304 without a body when the
+     * {@code If-None-Match} header still matches the stored version. A stale
+     * tag costs the version read and the stable read.
+     */
     @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
     @GetMapping("/{id}")
     @Operation(summary = "Get stable by ID")
+    @SqlBudget(2)
     public ResponseEntity<StableResponse> getStableById(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Authentication authentication) {
         String username = extractUsername(authentication);
         boolean isAdmin = authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        if (ifNoneMatch != null) {
+            String etag = EntityTags.of(id, stableService.getStableVersion(id, username, isAdmin));
+            if (EntityTags.noneMatchHits(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
         StableResponse response = stableService.getStableById(id, username, isAdmin);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(EntityTags.of(id, response.getVersion())).body(response);
     }
 
     /**
@@ -0,0 +1,7 @@
+package upc.edu.muusmart.campaignmanagement.shared.exceptions;
+
+public class CursorExpiredException extends RuntimeException {
+    public CursorExpiredException(String message) {
+        super(message);
+    }
+}
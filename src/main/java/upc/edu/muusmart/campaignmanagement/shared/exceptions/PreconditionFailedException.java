@@ -0,0 +1,7 @@
+package upc.edu.muusmart.campaignmanagement.shared.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package upc.edu.muusmart.campaignmanagement.shared.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
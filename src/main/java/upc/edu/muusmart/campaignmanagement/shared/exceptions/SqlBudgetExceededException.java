@@ -0,0 +1,7 @@
+package upc.edu.muusmart.campaignmanagement.shared.exceptions;
+
+public class SqlBudgetExceededException extends RuntimeException {
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
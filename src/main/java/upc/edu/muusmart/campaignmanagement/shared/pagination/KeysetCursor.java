@@ -0,0 +1,83 @@
+package upc.edu.muusmart.campaignmanagement.shared.pagination;
+
+import upc.edu.muusmart.campaignmanagement.shared.exceptions.InvalidValueException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors used by keyset-paginated endpoints.
+ * A cursor is the URL-safe Base64 form of the sort key of the last row
+ * returned, so clients can pass it back unchanged to get the next page.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private static final String SEPARATOR = "|";
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Encodes the given key parts into an opaque cursor.
+     */
+    public static String encode(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) raw.append(SEPARATOR);
+            raw.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into its key parts. The last part may itself contain
+     * the separator, so free-text sort values belong at the end.
+     *
+     * @param cursor        the opaque cursor received from the client
+     * @param expectedParts the number of key parts the endpoint expects
+     * @throws InvalidValueException if the cursor is malformed
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", expectedParts);
+            if (parts.length != expectedParts) {
+                throw new InvalidValueException("Invalid cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidValueException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Decodes a cursor made of a single id. A null cursor means the first page.
+     */
+    public static long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new InvalidValueException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Clamps the requested page size to the allowed range.
+     */
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new InvalidValueException("limit must be > 0");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
@@ -0,0 +1,128 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateCampaignRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateStableRequest;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignLifecycleRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Due campaigns are claimed and moved in chunks until none are left, each
+ * transition only moves campaigns still in its source status, and campaigns
+ * that are not due stay where they are.
+ */
+@SpringBootTest(properties = {
+        "campaign.lifecycle.chunk-size=2",
+        "campaign.lifecycle.workers=2"
+})
+@ActiveProfiles("test")
+class CampaignLifecycleServiceTest {
+
+    private static final AtomicInteger OWNERS = new AtomicInteger();
+
+    @Autowired
+    private CampaignLifecycleService campaignLifecycleService;
+    @Autowired
+    private CampaignService campaignService;
+    @Autowired
+    private StableService stableService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockitoSpyBean
+    private CampaignLifecycleRepository campaignLifecycleRepository;
+
+    @Test
+    void dueCampaignsMoveInChunks() {
+        String owner = "lifecycle-owner-" + OWNERS.incrementAndGet();
+        Long stableId = createStable(owner);
+        List<Long> starting = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            starting.add(createCampaign(owner, stableId, "PLANNED"));
+        }
+        Long ending = createCampaign(owner, stableId, "PLANNED");
+        Long notDue = createCampaign(owner, stableId, "PLANNED");
+        LocalDateTime now = LocalDateTime.now();
+        starting.forEach(id -> setDates(id, now.minusDays(1), now.plusDays(1)));
+        setDates(ending, now.minusDays(2), now.minusDays(1));
+
+        Map<String, Integer> moved = campaignLifecycleService.runTransitions();
+
+        assertThat(moved).containsEntry("PLANNED->ACTIVE", 5).containsEntry("PLANNED->COMPLETED", 1)
+                .containsEntry("ACTIVE->COMPLETED", 0);
+        starting.forEach(id -> {
+            assertThat(status(id)).isEqualTo("ACTIVE");
+            assertThat(version(id)).isEqualTo(1L);
+        });
+        // Already over, so it skips ACTIVE
+        assertThat(status(ending)).isEqualTo("COMPLETED");
+        assertThat(status(notDue)).isEqualTo("PLANNED");
+        assertThat(version(notDue)).isZero();
+        // Five campaigns at two per chunk, and one more claim per worker that finds none left
+        verify(campaignLifecycleRepository, atLeast(4)).claimDueToStart(eq("PLANNED"), any(), eq(2));
+
+        assertThat(campaignLifecycleService.runTransitions().values()).containsOnly(0);
+    }
+
+    @Test
+    void updateOnlyMovesCampaignsStillInTheSourceStatus() {
+        String owner = "lifecycle-owner-" + OWNERS.incrementAndGet();
+        Long stableId = createStable(owner);
+        Long planned = createCampaign(owner, stableId, "PLANNED");
+        Long completed = createCampaign(owner, stableId, "COMPLETED");
+
+        // As if another instance completed the second campaign after this one claimed both
+        int updated = campaignLifecycleRepository.updateStatus(List.of(planned, completed), "PLANNED", "ACTIVE",
+                LocalDateTime.now());
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(status(planned)).isEqualTo("ACTIVE");
+        assertThat(status(completed)).isEqualTo("COMPLETED");
+        assertThat(version(completed)).isZero();
+    }
+
+    private void setDates(Long campaignId, LocalDateTime start, LocalDateTime end) {
+        jdbcTemplate.update("update campaigns set start_date = ?, end_date = ? where id = ?", start, end, campaignId);
+    }
+
+    private String status(Long campaignId) {
+        return jdbcTemplate.queryForObject("select status from campaigns where id = ?", String.class, campaignId);
+    }
+
+    private Long version(Long campaignId) {
+        return jdbcTemplate.queryForObject("select version from campaigns where id = ?", Long.class, campaignId);
+    }
+
+    private Long createStable(String owner) {
+        return stableService.createStable(CreateStableRequest.builder()
+                .name(owner + " stable")
+                .capacity(20)
+                .build(), owner).getId();
+    }
+
+    private Long createCampaign(String owner, Long stableId, String status) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return campaignService.createCampaign(CreateCampaignRequest.builder()
+                .name(owner + " campaign " + OWNERS.incrementAndGet())
+                .startDate(start)
+                .endDate(start.plusDays(30))
+                .status(status)
+                .stableId(stableId)
+                .build(), owner, false).getId();
+    }
+}
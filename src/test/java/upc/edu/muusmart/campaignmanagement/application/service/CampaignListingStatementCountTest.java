@@ -0,0 +1,138 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import upc.edu.muusmart.campaignmanagement.application.dto.CampaignResponse;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Campaign;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Channel;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Goal;
+import upc.edu.muusmart.campaignmanagement.domain.repository.CampaignSearchRepository;
+import upc.edu.muusmart.campaignmanagement.infrastructure.cache.CampaignResponseCache;
+import upc.edu.muusmart.campaignmanagement.infrastructure.cache.StableLookupCache;
+import upc.edu.muusmart.campaignmanagement.infrastructure.search.CampaignTextIndexer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Campaign listings must cost the same number of statements whatever the
+ * number of campaigns, goals and channels they return.
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CampaignService.class)
+class CampaignListingStatementCountTest {
+
+    @MockitoBean
+    private CampaignSearchRepository campaignSearchRepository;
+    @MockitoBean
+    private StableLookupCache stableLookupCache;
+    @MockitoBean
+    private CampaignResponseCache campaignResponseCache;
+    @MockitoBean
+    private CampaignTextIndexer campaignTextIndexer;
+    @MockitoBean
+    private CampaignSummaryService campaignSummaryService;
+
+    @Autowired
+    private CampaignService campaignService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void ownerListingIssuesConstantStatementCount() {
+        createCampaigns("alice", 1);
+        createCampaigns("bob", 50);
+
+        long one = countStatements(() -> assertThat(campaignService.getAllCampaignsByUsername("alice", false))
+                .hasSize(1)
+                .allSatisfy(CampaignListingStatementCountTest::assertChildrenLoaded));
+        long fifty = countStatements(() -> assertThat(campaignService.getAllCampaignsByUsername("bob", false))
+                .hasSize(50)
+                .allSatisfy(CampaignListingStatementCountTest::assertChildrenLoaded));
+
+        assertThat(one).isEqualTo(3);
+        assertThat(fifty).isEqualTo(one);
+    }
+
+    @Test
+    void adminListingIssuesConstantStatementCount() {
+        createCampaigns("alice", 1);
+        long one = countStatements(() -> assertThat(campaignService.getAllCampaignsByUsername("admin", true))
+                .hasSize(1));
+
+        createCampaigns("bob", 49);
+        long fifty = countStatements(() -> assertThat(campaignService.getAllCampaignsByUsername("admin", true))
+                .hasSize(50)
+                .allSatisfy(CampaignListingStatementCountTest::assertChildrenLoaded));
+
+        assertThat(fifty).isEqualTo(one);
+    }
+
+    private static void assertChildrenLoaded(CampaignResponse campaign) {
+        assertThat(campaign.getGoals()).hasSize(2);
+        assertThat(campaign.getChannels()).hasSize(2);
+    }
+
+    private long countStatements(Runnable listing) {
+        // Start from an empty persistence context so nothing is served from it
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        listing.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createCampaigns(String owner, int count) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < count; i++) {
+            Campaign campaign = Campaign.builder()
+                    .name(owner + " campaign " + i)
+                    .description("Listing test")
+                    .startDate(start)
+                    .endDate(start.plusDays(30))
+                    .status("PLANNED")
+                    .ownerUsername(owner)
+                    .stableId(1L)
+                    .build();
+            for (String metric : List.of("CLICKS", "VIEWS")) {
+                campaign.addGoal(Goal.builder()
+                        .description(metric + " goal")
+                        .metric(metric)
+                        .targetValue(100)
+                        .currentValue(0)
+                        .build());
+            }
+            for (String type : List.of("EMAIL", "SMS")) {
+                campaign.addChannel(Channel.builder()
+                        .type(type)
+                        .details(type + " details")
+                        .build());
+            }
+            entityManager.persist(campaign);
+        }
+    }
+}
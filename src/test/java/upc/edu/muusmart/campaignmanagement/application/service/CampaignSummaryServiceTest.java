@@ -0,0 +1,128 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import upc.edu.muusmart.campaignmanagement.application.dto.AddChannelRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.AddGoalRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.BulkGoalProgressRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateCampaignRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateStableRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.GoalProgressUpdate;
+import upc.edu.muusmart.campaignmanagement.application.dto.GoalResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.MetricEvent;
+import upc.edu.muusmart.campaignmanagement.application.dto.MetricEventBatchRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.UpdateCampaignStatusRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every path that writes campaigns or goals keeps the summary table equal to
+ * what {@link CampaignSummaryService#rebuildSummaries()} computes from
+ * scratch.
+ */
+@SpringBootTest(properties = "campaign.metrics.flush-interval-ms=3600000")
+@ActiveProfiles("test")
+class CampaignSummaryServiceTest {
+
+    private static final String OWNER = "summary-owner";
+
+    @Autowired
+    private CampaignSummaryService campaignSummaryService;
+    @Autowired
+    private CampaignService campaignService;
+    @Autowired
+    private StableService stableService;
+    @Autowired
+    private GoalProgressService goalProgressService;
+    @Autowired
+    private MetricIngestionService metricIngestionService;
+    @Autowired
+    private CampaignLifecycleService campaignLifecycleService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void everyWritePathMatchesTheRebuild() {
+        Long stableId = stableService.createStable(CreateStableRequest.builder()
+                .name(OWNER + " stable")
+                .capacity(10)
+                .build(), OWNER).getId();
+
+        Long first = createCampaign("first", stableId);
+        Long second = createCampaign("second", stableId);
+        Long third = createCampaign("third", stableId);
+        assertMatchesRebuild("create");
+
+        campaignService.addGoalToCampaign(first, new AddGoalRequest("Clicks", "CLICKS", 10, 0), OWNER, false, null);
+        campaignService.addGoalToCampaign(first, new AddGoalRequest("Views", "VIEWS", 100, 5), OWNER, false, null);
+        campaignService.addGoalToCampaign(second, new AddGoalRequest("Clicks", "CLICKS", 50, 0), OWNER, false, null);
+        assertMatchesRebuild("add goal");
+
+        campaignService.updateCampaignStatus(second, new UpdateCampaignStatusRequest("ACTIVE"), OWNER, false, null);
+        assertMatchesRebuild("status");
+
+        List<GoalResponse> goals = campaignService.getGoalsByCampaignId(first, OWNER, false);
+        goalProgressService.updateProgress(new BulkGoalProgressRequest(List.of(
+                GoalProgressUpdate.builder().goalId(goals.get(0).getId()).currentValue(10).build(),
+                GoalProgressUpdate.builder().goalId(goals.get(1).getId()).delta(20).build())), OWNER, false);
+        assertMatchesRebuild("bulk progress");
+
+        campaignService.addChannelToCampaign(second, new AddChannelRequest("EMAIL", "Newsletter"), OWNER, false, null);
+        metricIngestionService.ingest(new MetricEventBatchRequest(List.of(MetricEvent.builder()
+                .campaignId(second)
+                .channelType("EMAIL")
+                .metric("CLICKS")
+                .count(60)
+                .build())), OWNER, false);
+        metricIngestionService.flush();
+        assertMatchesRebuild("metric flush");
+
+        // Due to start and due to end; the dates are not part of the summary
+        jdbcTemplate.update("update campaigns set start_date = ? where id = ?", LocalDateTime.now().minusDays(1), first);
+        jdbcTemplate.update("update campaigns set start_date = ?, end_date = ? where id = ?",
+                LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1), third);
+        campaignSummaryService.rebuildSummaries();
+        campaignLifecycleService.runTransitions();
+        assertThat(status(first)).isEqualTo("ACTIVE");
+        assertThat(status(third)).isEqualTo("COMPLETED");
+        assertMatchesRebuild("lifecycle");
+
+        campaignService.deleteCampaign(first, OWNER, false);
+        assertMatchesRebuild("delete");
+    }
+
+    private void assertMatchesRebuild(String path) {
+        List<Map<String, Object>> maintained = summaries();
+        campaignSummaryService.rebuildSummaries();
+        assertThat(maintained).as("summaries after %s", path).isEqualTo(summaries());
+    }
+
+    private List<Map<String, Object>> summaries() {
+        // Rows whose campaigns are all gone keep zero counts until a rebuild drops them
+        return jdbcTemplate.queryForList("select stable_id, status, campaign_count, goal_count, "
+                + "completed_goal_count, goal_target_total, goal_progress_total from campaign_summaries "
+                + "where owner_username = ? and campaign_count > 0 order by stable_id, status", OWNER);
+    }
+
+    private String status(Long campaignId) {
+        return jdbcTemplate.queryForObject("select status from campaigns where id = ?", String.class, campaignId);
+    }
+
+    private Long createCampaign(String name, Long stableId) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return campaignService.createCampaign(CreateCampaignRequest.builder()
+                .name(OWNER + " " + name)
+                .startDate(start)
+                .endDate(start.plusDays(30))
+                .status("PLANNED")
+                .stableId(stableId)
+                .build(), OWNER, false).getId();
+    }
+}
@@ -0,0 +1,191 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import upc.edu.muusmart.campaignmanagement.application.dto.CampaignResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.ChangeFeedResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateCampaignRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateStableRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.StableResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.UpdateCampaignStatusRequest;
+import upc.edu.muusmart.campaignmanagement.shared.exceptions.CursorExpiredException;
+import upc.edu.muusmart.campaignmanagement.shared.pagination.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The change feed reports created and updated campaigns and stables and
+ * deleted campaigns once they are older than the settle time, pages through
+ * the three sources in order, and keeps a client's cursor current even when
+ * nothing of its changes; the changes it reads cannot commit after the settle
+ * time.
+ */
+@SpringBootTest(properties = {
+        "campaign.changes.settle-ms=1500",
+        "campaign.changes.write-timeout-seconds=1"
+})
+@ActiveProfiles("test")
+class ChangeFeedServiceTest {
+
+    private static final int LIMIT = 50;
+    // Past campaign.changes.settle-ms
+    private static final long SETTLED_MS = 1600;
+    private static final AtomicInteger OWNERS = new AtomicInteger();
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+    @Autowired
+    private CampaignService campaignService;
+    @Autowired
+    private StableService stableService;
+    @Autowired
+    private TransactionAttributeSource transactionAttributeSource;
+
+    @Test
+    void createdAndUpdatedRowsAreReported() throws Exception {
+        String owner = owner();
+        Long stableId = createStable(owner);
+        Long campaignId = createCampaign(owner, stableId);
+        Thread.sleep(SETTLED_MS);
+
+        ChangeFeedResponse first = changeFeedService.getChanges(owner, false, null, LIMIT);
+        assertThat(first.getCampaigns()).extracting(CampaignResponse::getId).containsExactly(campaignId);
+        assertThat(first.getStables()).extracting(StableResponse::getId).containsExactly(stableId);
+        assertThat(first.isHasMore()).isFalse();
+
+        campaignService.updateCampaignStatus(campaignId, new UpdateCampaignStatusRequest("ACTIVE"), owner, false,
+                null);
+        ChangeFeedResponse unsettled = changeFeedService.getChanges(owner, false, first.getNextCursor(), LIMIT);
+        assertThat(unsettled.getCampaigns()).isEmpty();
+        Thread.sleep(SETTLED_MS);
+
+        ChangeFeedResponse second = changeFeedService.getChanges(owner, false, first.getNextCursor(), LIMIT);
+        assertThat(second.getCampaigns()).singleElement()
+                .satisfies(campaign -> assertThat(campaign.getStatus()).isEqualTo("ACTIVE"));
+        assertThat(second.getStables()).isEmpty();
+        assertThat(second.getDeletedCampaignIds()).isEmpty();
+    }
+
+    @Test
+    void deletedCampaignIsReportedFromItsTombstone() throws Exception {
+        String owner = owner();
+        Long campaignId = createCampaign(owner, createStable(owner));
+        Thread.sleep(SETTLED_MS);
+        String cursor = changeFeedService.getChanges(owner, false, null, LIMIT).getNextCursor();
+
+        campaignService.deleteCampaign(campaignId, owner, false);
+        Thread.sleep(SETTLED_MS);
+
+        ChangeFeedResponse changes = changeFeedService.getChanges(owner, false, cursor, LIMIT);
+        assertThat(changes.getDeletedCampaignIds()).containsExactly(campaignId);
+        assertThat(changes.getCampaigns()).isEmpty();
+        // Other callers do not see the deletions of this owner
+        assertThat(changeFeedService.getChanges(owner(), false, cursor, LIMIT).getDeletedCampaignIds()).isEmpty();
+    }
+
+    @Test
+    void pagesThroughTheThreeSources() throws Exception {
+        String owner = owner();
+        String cursor = changeFeedService.getChanges(owner, false, null, LIMIT).getNextCursor();
+        List<Long> stableIds = new ArrayList<>();
+        List<Long> campaignIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            stableIds.add(createStable(owner));
+            campaignIds.add(createCampaign(owner, stableIds.get(i)));
+        }
+        Long deleted = campaignIds.remove(1);
+        campaignService.deleteCampaign(deleted, owner, false);
+        Thread.sleep(SETTLED_MS);
+
+        List<Long> changedCampaigns = new ArrayList<>();
+        List<Long> changedStables = new ArrayList<>();
+        List<Long> deletedCampaigns = new ArrayList<>();
+        int pages = 0;
+        ChangeFeedResponse page;
+        do {
+            page = changeFeedService.getChanges(owner, false, cursor, 2);
+            pages++;
+            assertThat(page.getCampaigns().size() + page.getStables().size() + page.getDeletedCampaignIds().size())
+                    .isEqualTo(2);
+            page.getCampaigns().forEach(campaign -> changedCampaigns.add(campaign.getId()));
+            page.getStables().forEach(stable -> changedStables.add(stable.getId()));
+            deletedCampaigns.addAll(page.getDeletedCampaignIds());
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(changedCampaigns).containsExactlyElementsOf(campaignIds);
+        assertThat(changedStables).containsExactlyElementsOf(stableIds);
+        assertThat(deletedCampaigns).containsExactly(deleted);
+        assertThat(changeFeedService.getChanges(owner, false, cursor, 2).getCampaigns()).isEmpty();
+    }
+
+    @Test
+    void quietCursorMovesToTheHorizon() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(2);
+        LocalDateTime tenDaysAgo = before.minusDays(10);
+        String cursor = KeysetCursor.encode(tenDaysAgo, 0L, tenDaysAgo, 0L, tenDaysAgo, 0L);
+
+        ChangeFeedResponse changes = changeFeedService.getChanges("quiet-client", false, cursor, LIMIT);
+
+        assertThat(changes.getCampaigns()).isEmpty();
+        assertThat(changes.getDeletedCampaignIds()).isEmpty();
+        String[] parts = KeysetCursor.decode(changes.getNextCursor(), 6);
+        for (int i = 0; i < 6; i += 2) {
+            assertThat(LocalDateTime.parse(parts[i])).isAfter(before);
+        }
+    }
+
+    @Test
+    void cursorNotSyncedWithinTheRetentionExpires() {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(31);
+        String cursor = KeysetCursor.encode(longAgo, 0L, longAgo, 0L, longAgo, 0L);
+
+        assertThatThrownBy(() -> changeFeedService.getChanges("quiet-client", false, cursor, LIMIT))
+                .isInstanceOf(CursorExpiredException.class);
+    }
+
+    @Test
+    void writingTransactionsTimeOutBeforeTheSettleTime() throws Exception {
+        TransactionAttribute write = transactionAttributeSource.getTransactionAttribute(
+                CampaignService.class.getMethod("createCampaign", CreateCampaignRequest.class, String.class,
+                        boolean.class), CampaignService.class);
+        assertThat(write.getTimeout()).isEqualTo(1);
+
+        assertThatThrownBy(() -> new ChangeFeedService(null, null, null, 2000, 2, 30))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("write-timeout-seconds");
+    }
+
+    private static String owner() {
+        return "feed-owner-" + OWNERS.incrementAndGet();
+    }
+
+    private Long createStable(String owner) {
+        return stableService.createStable(CreateStableRequest.builder()
+                .name(owner + " stable " + OWNERS.incrementAndGet())
+                .capacity(10)
+                .build(), owner).getId();
+    }
+
+    private Long createCampaign(String owner, Long stableId) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return campaignService.createCampaign(CreateCampaignRequest.builder()
+                .name(owner + " campaign " + OWNERS.incrementAndGet())
+                .startDate(start)
+                .endDate(start.plusDays(30))
+                .status("PLANNED")
+                .stableId(stableId)
+                .build(), owner, false).getId();
+    }
+}
@@ -0,0 +1,87 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import upc.edu.muusmart.campaignmanagement.application.dto.AddGoalRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.BatchItemResult;
+import upc.edu.muusmart.campaignmanagement.application.dto.BulkGoalProgressRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.BulkGoalProgressResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateCampaignRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateStableRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.GoalProgressUpdate;
+import upc.edu.muusmart.campaignmanagement.application.dto.GoalResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Items of a bulk progress update are folded per goal in request order, and
+ * one that would overflow its goal is rejected without failing the others.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class GoalProgressServiceTest {
+
+    private static final String OWNER = "progress-owner";
+
+    @Autowired
+    private GoalProgressService goalProgressService;
+    @Autowired
+    private CampaignService campaignService;
+    @Autowired
+    private StableService stableService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void overflowingItemIsRejectedAndTheRestApplied() {
+        List<GoalResponse> goals = createGoals();
+        Long nearMax = goals.get(0).getId();
+        Long other = goals.get(1).getId();
+        jdbcTemplate.update("update goals set current_value = ? where id = ?", Integer.MAX_VALUE - 10, nearMax);
+
+        BulkGoalProgressResponse response = goalProgressService.updateProgress(new BulkGoalProgressRequest(List.of(
+                delta(nearMax, 5),
+                delta(nearMax, Integer.MAX_VALUE),
+                delta(other, 3),
+                GoalProgressUpdate.builder().goalId(other).currentValue(Integer.MAX_VALUE - 1).build(),
+                delta(other, 2),
+                delta(nearMax, 5))), OWNER, false);
+
+        assertThat(response.getUpdated()).isEqualTo(2);
+        assertThat(response.getRejections()).extracting(BatchItemResult::getIndex).containsExactly(1, 4);
+        assertThat(currentValue(nearMax)).isEqualTo(Integer.MAX_VALUE);
+        assertThat(currentValue(other)).isEqualTo(Integer.MAX_VALUE - 1);
+    }
+
+    private static GoalProgressUpdate delta(Long goalId, int delta) {
+        return GoalProgressUpdate.builder().goalId(goalId).delta(delta).build();
+    }
+
+    private Integer currentValue(Long goalId) {
+        return jdbcTemplate.queryForObject("select current_value from goals where id = ?", Integer.class, goalId);
+    }
+
+    private List<GoalResponse> createGoals() {
+        Long stableId = stableService.createStable(CreateStableRequest.builder()
+                .name(OWNER + " stable")
+                .capacity(10)
+                .build(), OWNER).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Long campaignId = campaignService.createCampaign(CreateCampaignRequest.builder()
+                .name(OWNER + " campaign")
+                .startDate(start)
+                .endDate(start.plusDays(30))
+                .status("PLANNED")
+                .stableId(stableId)
+                .build(), OWNER, false).getId();
+        campaignService.addGoalToCampaign(campaignId, new AddGoalRequest("Clicks", "CLICKS", 100, 0), OWNER, false, null);
+        campaignService.addGoalToCampaign(campaignId, new AddGoalRequest("Views", "VIEWS", 100, 0), OWNER, false, null);
+        return campaignService.getGoalsByCampaignId(campaignId, OWNER, false);
+    }
+}
@@ -0,0 +1,132 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import upc.edu.muusmart.campaignmanagement.application.dto.CampaignResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.GoalResponse;
+import upc.edu.muusmart.campaignmanagement.domain.events.CampaignChangedEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A client that stops reading its stream blocks only the sender writing to
+ * it: the scheduled run keeps its pace, the other subscribers keep getting
+ * their events, and the stalled one is disconnected once it is too far behind.
+ */
+class GoalProgressStreamServiceTest {
+
+    private static final long CAMPAIGN_ID = 1L;
+    private static final int MAX_PENDING = 4;
+
+    private final CampaignService campaignService = mock(CampaignService.class);
+    private final CountDownLatch stalled = new CountDownLatch(1);
+    private final AtomicInteger progress = new AtomicInteger();
+    private GoalProgressStreamService service;
+
+    @AfterEach
+    void release() {
+        stalled.countDown();
+        if (service != null) {
+            service.closeStreams();
+        }
+    }
+
+    @Test
+    void stalledClientDoesNotHoldUpPublishing() throws Exception {
+        when(campaignService.getCampaignById(CAMPAIGN_ID, "owner", false)).thenReturn(CampaignResponse.builder()
+                .id(CAMPAIGN_ID)
+                .username("owner")
+                .goals(List.of(goal(0)))
+                .build());
+        when(campaignService.getGoalsByCampaignIds(anyCollection()))
+                .thenAnswer(invocation -> Map.of(CAMPAIGN_ID, List.of(goal(progress.incrementAndGet()))));
+        service = new GoalProgressStreamService(campaignService, new ObjectMapper(), 60_000, 60_000, 2, MAX_PENDING);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service.bindTo(registry);
+
+        SseEmitter slow;
+        SseEmitter fast;
+        try (MockedConstruction<SseEmitter> emitters = mockConstruction(SseEmitter.class, (emitter, context) -> {
+            if (context.getCount() == 1) {
+                // Takes the initial goals event, then blocks like a socket nobody reads
+                AtomicInteger sends = new AtomicInteger();
+                doAnswer(invocation -> {
+                    if (sends.incrementAndGet() > 1) {
+                        stalled.await();
+                    }
+                    return null;
+                }).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+            }
+        })) {
+            slow = service.subscribe(CAMPAIGN_ID, "owner", false);
+            fast = service.subscribe(CAMPAIGN_ID, "owner", false);
+        }
+
+        int runs = MAX_PENDING + 3;
+        for (int i = 0; i < runs; i++) {
+            service.onCampaignChanged(new CampaignChangedEvent(CAMPAIGN_ID, "owner",
+                    CampaignChangedEvent.Type.GOAL_PROGRESS_CHANGED));
+            assertTimeoutPreemptively(Duration.ofSeconds(1), service::publish);
+        }
+
+        // The initial goals event and one progress event per run
+        verify(fast, timeout(2000).times(1 + runs)).send(any(SseEmitter.SseEventBuilder.class));
+        assertThat(registry.get("campaign.goal.stream.subscribers").gauge().value()).isEqualTo(1);
+        verify(slow, never()).complete();
+
+        stalled.countDown();
+        verify(slow, timeout(2000)).complete();
+    }
+
+    @Test
+    void firstSubscriberGetsProgressCommittedBeforeItsTopicExisted() throws Exception {
+        // The cached campaign predates a progress update that committed with no topic to mark
+        when(campaignService.getCampaignById(CAMPAIGN_ID, "owner", false)).thenReturn(CampaignResponse.builder()
+                .id(CAMPAIGN_ID)
+                .username("owner")
+                .goals(List.of(goal(0)))
+                .build());
+        when(campaignService.getGoalsByCampaignIds(anyCollection()))
+                .thenReturn(Map.of(CAMPAIGN_ID, List.of(goal(5))));
+        service = new GoalProgressStreamService(campaignService, new ObjectMapper(), 60_000, 60_000, 2, MAX_PENDING);
+
+        SseEmitter emitter;
+        try (MockedConstruction<SseEmitter> emitters = mockConstruction(SseEmitter.class)) {
+            emitter = service.subscribe(CAMPAIGN_ID, "owner", false);
+        }
+        service.publish();
+
+        // The initial goals event, then the progress event with the committed value
+        verify(emitter, timeout(2000).times(2)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    private static GoalResponse goal(int currentValue) {
+        return GoalResponse.builder()
+                .id(10L)
+                .description("Reach")
+                .metric("CLICKS")
+                .targetValue(100)
+                .currentValue(currentValue)
+                .build();
+    }
+}
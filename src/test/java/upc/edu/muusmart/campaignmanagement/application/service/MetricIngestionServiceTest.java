@@ -0,0 +1,150 @@
+package upc.edu.muusmart.campaignmanagement.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import upc.edu.muusmart.campaignmanagement.application.dto.AddChannelRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.AddGoalRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateCampaignRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateStableRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.MetricEvent;
+import upc.edu.muusmart.campaignmanagement.application.dto.MetricEventBatchRequest;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.MetricDelta;
+import upc.edu.muusmart.campaignmanagement.domain.repository.GoalProgressRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+
+/**
+ * Buffered metric counts reach the goals without overflowing them, and a
+ * campaign whose counts cannot be written holds back neither the other
+ * campaigns nor, forever, the flush.
+ */
+@SpringBootTest(properties = "campaign.metrics.flush-interval-ms=3600000")
+@ActiveProfiles("test")
+class MetricIngestionServiceTest {
+
+    private static final AtomicInteger OWNERS = new AtomicInteger();
+
+    @Autowired
+    private MetricIngestionService metricIngestionService;
+    @Autowired
+    private CampaignService campaignService;
+    @Autowired
+    private StableService stableService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockitoSpyBean
+    private GoalProgressRepository goalProgressRepository;
+
+    private String owner;
+    private Long stableId;
+
+    @BeforeEach
+    void createStable() {
+        owner = "metrics-owner-" + OWNERS.incrementAndGet();
+        stableId = stableService.createStable(CreateStableRequest.builder()
+                .name(owner + " stable")
+                .capacity(10)
+                .build(), owner).getId();
+    }
+
+    @Test
+    void goalValueStopsAtIntegerMaxValue() {
+        Long campaignId = createCampaign("capped");
+        jdbcTemplate.update("update goals set current_value = ? where campaign_id = ?",
+                Integer.MAX_VALUE - 5, campaignId);
+
+        ingest(campaignId, 10);
+        metricIngestionService.flush();
+        assertThat(clicks(campaignId)).isEqualTo(Integer.MAX_VALUE);
+
+        ingest(campaignId, 10);
+        metricIngestionService.flush();
+        assertThat(clicks(campaignId)).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void failingCampaignIsRetriedWithoutHoldingBackOthers() {
+        Long failing = createCampaign("failing");
+        Long healthy = createCampaign("healthy");
+        failWritesOf(failing);
+
+        ingest(failing, 3);
+        ingest(healthy, 4);
+        metricIngestionService.flush();
+        assertThat(clicks(healthy)).isEqualTo(4);
+        assertThat(clicks(failing)).isZero();
+
+        doCallRealMethod().when(goalProgressRepository).addToCurrentValuesByMetric(anyList());
+        metricIngestionService.flush();
+        assertThat(clicks(failing)).isEqualTo(3);
+        assertThat(clicks(healthy)).isEqualTo(4);
+    }
+
+    @Test
+    void countsAreDroppedAfterRepeatedFailures() {
+        Long failing = createCampaign("dropped");
+        failWritesOf(failing);
+
+        ingest(failing, 3);
+        for (int i = 0; i < MetricIngestionService.MAX_FAILED_FLUSHES; i++) {
+            metricIngestionService.flush();
+        }
+        doCallRealMethod().when(goalProgressRepository).addToCurrentValuesByMetric(anyList());
+        metricIngestionService.flush();
+
+        assertThat(clicks(failing)).isZero();
+    }
+
+    private void failWritesOf(Long campaignId) {
+        doAnswer(invocation -> {
+            List<MetricDelta> deltas = invocation.getArgument(0);
+            if (deltas.stream().anyMatch(delta -> delta.getCampaignId().equals(campaignId))) {
+                throw new DataIntegrityViolationException("Out of range value for column 'current_value'");
+            }
+            return invocation.callRealMethod();
+        }).when(goalProgressRepository).addToCurrentValuesByMetric(anyList());
+    }
+
+    private void ingest(Long campaignId, int count) {
+        var response = metricIngestionService.ingest(new MetricEventBatchRequest(List.of(MetricEvent.builder()
+                .campaignId(campaignId)
+                .channelType("EMAIL")
+                .metric("CLICKS")
+                .count(count)
+                .build())), owner, false);
+        assertThat(response.getAccepted()).isEqualTo(1);
+    }
+
+    private Integer clicks(Long campaignId) {
+        return jdbcTemplate.queryForObject(
+                "select current_value from goals where campaign_id = ? and metric = 'CLICKS'", Integer.class,
+                campaignId);
+    }
+
+    private Long createCampaign(String name) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Long id = campaignService.createCampaign(CreateCampaignRequest.builder()
+                .name(owner + " " + name)
+                .startDate(start)
+                .endDate(start.plusDays(30))
+                .status("PLANNED")
+                .stableId(stableId)
+                .build(), owner, false).getId();
+        campaignService.addGoalToCampaign(id, new AddGoalRequest("Clicks", "CLICKS", 100, 0), owner, false, null);
+        campaignService.addChannelToCampaign(id, new AddChannelRequest("EMAIL", "Newsletter"), owner, false, null);
+        return id;
+    }
+}
@@ -0,0 +1,169 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import upc.edu.muusmart.campaignmanagement.application.dto.AddChannelRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.AddGoalRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.BulkGoalProgressRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.CampaignResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateCampaignRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateStableRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.GoalProgressUpdate;
+import upc.edu.muusmart.campaignmanagement.application.dto.GoalResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.MetricEvent;
+import upc.edu.muusmart.campaignmanagement.application.dto.MetricEventBatchRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.UpdateCampaignStatusRequest;
+import upc.edu.muusmart.campaignmanagement.application.service.CampaignLifecycleService;
+import upc.edu.muusmart.campaignmanagement.application.service.CampaignService;
+import upc.edu.muusmart.campaignmanagement.application.service.GoalProgressService;
+import upc.edu.muusmart.campaignmanagement.application.service.MetricIngestionService;
+import upc.edu.muusmart.campaignmanagement.application.service.StableService;
+import upc.edu.muusmart.campaignmanagement.shared.exceptions.ResourceNotFoundException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Every path that changes a campaign must evict its cached response once its
+ * transaction commits. Each test caches the campaign, changes it through one
+ * path and expects the next read to see the change.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CampaignResponseCacheEvictionTest {
+
+    private static final String OWNER = "cache-owner";
+    private static final AtomicInteger NAMES = new AtomicInteger();
+
+    @Autowired
+    private CampaignService campaignService;
+    @Autowired
+    private StableService stableService;
+    @Autowired
+    private GoalProgressService goalProgressService;
+    @Autowired
+    private MetricIngestionService metricIngestionService;
+    @Autowired
+    private CampaignLifecycleService campaignLifecycleService;
+
+    private Long stableId;
+
+    @BeforeEach
+    void createStable() {
+        stableId = stableService.createStable(CreateStableRequest.builder()
+                .name("cache stable " + NAMES.incrementAndGet())
+                .capacity(10)
+                .build(), OWNER).getId();
+    }
+
+    @Test
+    void updateCampaignStatusEvicts() {
+        Long id = createCachedCampaign(LocalDateTime.now().plusDays(1));
+
+        campaignService.updateCampaignStatus(id, new UpdateCampaignStatusRequest("ACTIVE"), OWNER, false, null);
+
+        assertThat(read(id).getStatus()).isEqualTo("ACTIVE");
+    }
+
+    @Test
+    void addGoalToCampaignEvicts() {
+        Long id = createCachedCampaign(LocalDateTime.now().plusDays(1));
+
+        campaignService.addGoalToCampaign(id, new AddGoalRequest("Reach", "VIEWS", 10, 0), OWNER, false, null);
+
+        assertThat(read(id).getGoals()).extracting(GoalResponse::getDescription).contains("Reach");
+    }
+
+    @Test
+    void addChannelToCampaignEvicts() {
+        Long id = createCachedCampaign(LocalDateTime.now().plusDays(1));
+
+        campaignService.addChannelToCampaign(id, new AddChannelRequest("SMS", "Bulk SMS"), OWNER, false, null);
+
+        assertThat(read(id).getChannels()).hasSize(2);
+    }
+
+    @Test
+    void bulkGoalProgressEvicts() {
+        Long id = createCachedCampaign(LocalDateTime.now().plusDays(1));
+        Long goalId = read(id).getGoals().get(0).getId();
+
+        goalProgressService.updateProgress(new BulkGoalProgressRequest(
+                List.of(GoalProgressUpdate.builder().goalId(goalId).currentValue(42).build())), OWNER, false);
+
+        assertThat(read(id).getGoals().get(0).getCurrentValue()).isEqualTo(42);
+    }
+
+    @Test
+    void metricFlushEvicts() {
+        Long id = createCachedCampaign(LocalDateTime.now().plusDays(1));
+
+        metricIngestionService.ingest(new MetricEventBatchRequest(
+                List.of(new MetricEvent(id, "EMAIL", "CLICKS", 7))), OWNER, false);
+        metricIngestionService.flush();
+
+        assertThat(read(id).getGoals().get(0).getCurrentValue()).isEqualTo(7);
+    }
+
+    @Test
+    void lifecycleTransitionEvicts() {
+        Long id = createCachedCampaign(LocalDateTime.now().minusMinutes(1));
+
+        campaignLifecycleService.runTransitions();
+
+        assertThat(read(id).getStatus()).isEqualTo("ACTIVE");
+    }
+
+    @Test
+    void deleteCampaignEvicts() {
+        Long id = createCachedCampaign(LocalDateTime.now().plusDays(1));
+
+        campaignService.deleteCampaign(id, OWNER, false);
+
+        assertThatThrownBy(() -> read(id)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void callersCannotModifyCachedResponse() {
+        Long id = createCachedCampaign(LocalDateTime.now().plusDays(1));
+
+        CampaignResponse first = read(id);
+        first.setStatus("COMPLETED");
+        first.getGoals().get(0).setCurrentValue(999);
+        first.getChannels().clear();
+
+        CampaignResponse second = read(id);
+        assertThat(second.getStatus()).isEqualTo("PLANNED");
+        assertThat(second.getGoals().get(0).getCurrentValue()).isZero();
+        assertThat(second.getChannels()).hasSize(1);
+    }
+
+    /**
+     * Creates a PLANNED campaign with one CLICKS goal and an EMAIL channel and
+     * reads it once, so its response is cached.
+     */
+    private Long createCachedCampaign(LocalDateTime startDate) {
+        Long id = campaignService.createCampaign(CreateCampaignRequest.builder()
+                .name("cache campaign " + NAMES.incrementAndGet())
+                .startDate(startDate)
+                .endDate(startDate.plusDays(30))
+                .status("PLANNED")
+                .stableId(stableId)
+                .build(), OWNER, false).getId();
+        campaignService.addGoalToCampaign(id, new AddGoalRequest("Clicks", "CLICKS", 100, 0), OWNER, false, null);
+        campaignService.addChannelToCampaign(id, new AddChannelRequest("EMAIL", "Newsletter"), OWNER, false, null);
+        assertThat(read(id).getStatus()).isEqualTo("PLANNED");
+        return id;
+    }
+
+    private CampaignResponse read(Long id) {
+        return campaignService.getCampaignById(id, OWNER, false);
+    }
+}
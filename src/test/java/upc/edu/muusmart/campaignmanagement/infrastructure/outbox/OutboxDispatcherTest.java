@@ -0,0 +1,143 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateCampaignRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateStableRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.UpdateCampaignStatusRequest;
+import upc.edu.muusmart.campaignmanagement.application.service.CampaignService;
+import upc.edu.muusmart.campaignmanagement.application.service.StableService;
+import upc.edu.muusmart.campaignmanagement.domain.model.valueobjects.OutboxMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Changes reach the outbox when, and only when, their transaction commits,
+ * and the dispatcher hands them to the sink in id order, deleting only what
+ * the sink accepted.
+ */
+@SpringBootTest(properties = {
+        "campaign.outbox.dispatch-interval-ms=3600000",
+        "campaign.outbox.batch-size=2"
+})
+@ActiveProfiles("test")
+class OutboxDispatcherTest {
+
+    private static final AtomicInteger OWNERS = new AtomicInteger();
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+    @Autowired
+    private CampaignService campaignService;
+    @Autowired
+    private StableService stableService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockitoBean
+    private OutboxSink outboxSink;
+
+    private String owner;
+
+    @BeforeEach
+    void drainOutbox() {
+        owner = "outbox-owner-" + OWNERS.incrementAndGet();
+        outboxDispatcher.dispatch();
+        clearInvocations(outboxSink);
+    }
+
+    @Test
+    void committedChangesAreStored() {
+        Long stableId = createStable();
+        Long campaignId = createCampaign(stableId);
+
+        assertThat(messages()).containsExactly(
+                Map.of("aggregate_type", OutboxMessage.STABLE, "aggregate_id", stableId, "event_type", "CHANGED"),
+                Map.of("aggregate_type", OutboxMessage.CAMPAIGN, "aggregate_id", campaignId, "event_type", "CREATED"));
+    }
+
+    @Test
+    void rolledBackChangesAreDiscarded() {
+        Long campaignId = createCampaign(createStable());
+        int stored = messages().size();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            campaignService.updateCampaignStatus(campaignId, new UpdateCampaignStatusRequest("ACTIVE"), owner,
+                    false, null);
+            status.setRollbackOnly();
+        });
+
+        assertThat(messages()).hasSize(stored);
+    }
+
+    @Test
+    void messagesAreSentInOrderAndDeletedOnceAccepted() {
+        Long stableId = createStable();
+        for (int i = 0; i < 4; i++) {
+            createCampaign(stableId);
+        }
+        List<Long> stored = jdbcTemplate.queryForList("select id from outbox_events order by id", Long.class);
+        assertThat(stored).hasSize(5);
+
+        doThrow(new IllegalStateException("sink down")).when(outboxSink).send(anyList());
+        outboxDispatcher.dispatch();
+        assertThat(jdbcTemplate.queryForList("select id from outbox_events order by id", Long.class))
+                .isEqualTo(stored);
+
+        doNothing().when(outboxSink).send(anyList());
+        clearInvocations(outboxSink);
+        outboxDispatcher.dispatch();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxMessage>> batches = ArgumentCaptor.forClass(List.class);
+        verify(outboxSink, atLeastOnce()).send(batches.capture());
+        assertThat(batches.getAllValues()).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(2));
+        assertThat(batches.getAllValues().stream().flatMap(List::stream).map(OutboxMessage::getId).toList())
+                .isEqualTo(stored);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from outbox_events", Integer.class)).isZero();
+    }
+
+    private List<Map<String, Object>> messages() {
+        return jdbcTemplate.queryForList("select aggregate_type, aggregate_id, event_type from outbox_events "
+                + "where owner_username = ? order by id", owner);
+    }
+
+    private Long createStable() {
+        return stableService.createStable(CreateStableRequest.builder()
+                .name(owner + " stable")
+                .capacity(10)
+                .build(), owner).getId();
+    }
+
+    private Long createCampaign(Long stableId) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return campaignService.createCampaign(CreateCampaignRequest.builder()
+                .name(owner + " campaign " + OWNERS.incrementAndGet())
+                .startDate(start)
+                .endDate(start.plusDays(30))
+                .status("PLANNED")
+                .stableId(stableId)
+                .build(), owner, false).getId();
+    }
+}
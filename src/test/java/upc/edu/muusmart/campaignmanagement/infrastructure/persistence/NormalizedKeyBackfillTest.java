@@ -0,0 +1,89 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.persistence;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Campaign;
+import upc.edu.muusmart.campaignmanagement.domain.model.aggregates.Goal;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The backfill fills every key it can and leaves only the rows that collide
+ * with another row of the same campaign.
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(NormalizedKeyBackfill.class)
+class NormalizedKeyBackfillTest {
+
+    @Autowired
+    private NormalizedKeyBackfill backfill;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void skipsOnlyRowsThatDifferInCase() {
+        Long first = createCampaign("Reach", "Clicks", "Straße");
+        Long second = createCampaign("Reach");
+        // Rows written before the key column existed; two of them now differ only in case
+        jdbcTemplate.update("update goals set description_key = null");
+        jdbcTemplate.update("update goals set description = 'REACH' where campaign_id = ? and description = 'Clicks'",
+                first);
+
+        backfill.backfill();
+
+        Map<String, String> firstKeys = keysOf(first);
+        assertThat(firstKeys).containsEntry("Straße", "straße");
+        assertThat(firstKeys.values()).containsOnlyOnce("reach").containsOnlyOnce((String) null);
+        assertThat(keysOf(second)).containsEntry("Reach", "reach");
+    }
+
+    private Map<String, String> keysOf(Long campaignId) {
+        return jdbcTemplate.query("select description, description_key from goals where campaign_id = ?",
+                rs -> {
+                    Map<String, String> keys = new HashMap<>();
+                    while (rs.next()) {
+                        keys.put(rs.getString(1), rs.getString(2));
+                    }
+                    return keys;
+                }, campaignId);
+    }
+
+    private Long createCampaign(String... goalDescriptions) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Campaign campaign = Campaign.builder()
+                .name("backfill campaign " + List.of(goalDescriptions))
+                .description("Backfill test")
+                .startDate(start)
+                .endDate(start.plusDays(30))
+                .status("PLANNED")
+                .ownerUsername("backfill-owner")
+                .stableId(1L)
+                .build();
+        for (String description : goalDescriptions) {
+            campaign.addGoal(Goal.builder()
+                    .description(description)
+                    .metric("CLICKS")
+                    .targetValue(100)
+                    .currentValue(0)
+                    .build());
+        }
+        entityManager.persist(campaign);
+        entityManager.flush();
+        return campaign.getId();
+    }
+}
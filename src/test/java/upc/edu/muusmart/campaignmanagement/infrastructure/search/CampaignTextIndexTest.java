@@ -0,0 +1,35 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A query word matches every indexed term it is a prefix of, however many
+ * there are.
+ */
+class CampaignTextIndexTest {
+
+    // Well past the number of terms a prefix used to be expanded to
+    private static final int CAMPAIGNS = 200;
+
+    @Test
+    void prefixMatchesEveryTermStartingWithIt() {
+        CampaignTextIndex index = new CampaignTextIndex();
+        for (long id = 1; id <= CAMPAIGNS; id++) {
+            index.put(id, "owner", CampaignTextIndex.terms("Campaign cam" + String.format("%03d", id)));
+        }
+        index.put(1000L, "owner", CampaignTextIndex.terms("Spring sale"));
+
+        List<Long> matches = index.search("cam", null, CAMPAIGNS + 10);
+
+        assertThat(matches).containsExactlyElementsOf(
+                LongStream.iterate(CAMPAIGNS, id -> id - 1).limit(CAMPAIGNS).boxed().toList());
+        // The last terms in order, which a capped expansion left out
+        assertThat(index.search("cam cam199", "owner", 10)).containsExactly(199L);
+        assertThat(index.search("cam spring", "owner", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,105 @@
+package upc.edu.muusmart.campaignmanagement.infrastructure.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateCampaignRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateStableRequest;
+import upc.edu.muusmart.campaignmanagement.application.service.CampaignService;
+import upc.edu.muusmart.campaignmanagement.application.service.StableService;
+import upc.edu.muusmart.campaignmanagement.shared.exceptions.ServiceUnavailableException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Changes committed without an event in this JVM, as through another
+ * instance, reach the index through the shared change history once they are
+ * older than the settle time.
+ */
+@SpringBootTest(properties = {
+        "campaign.changes.settle-ms=1500",
+        "campaign.changes.write-timeout-seconds=1",
+        "campaign.text-index.refresh-interval-ms=3600000",
+        "campaign.text-index.poll-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class CampaignTextIndexerTest {
+
+    private static final String OWNER = "indexer-owner";
+
+    @Autowired
+    private CampaignTextIndexer campaignTextIndexer;
+    @Autowired
+    private CampaignService campaignService;
+    @Autowired
+    private StableService stableService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void changesFromOtherInstancesAreIndexedAfterTheSettleTime() throws Exception {
+        awaitCondition(() -> search("anything") != null);
+        Long stableId = stableService.createStable(CreateStableRequest.builder()
+                .name(OWNER + " stable")
+                .capacity(10)
+                .build(), OWNER).getId();
+        Long renamed = createCampaign("Alpha launch", stableId);
+        Long deleted = createCampaign("Bravo launch", stableId);
+        campaignTextIndexer.refresh();
+        assertThat(search("alpha")).containsExactly(renamed);
+        assertThat(search("bravo")).containsExactly(deleted);
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("update campaigns set name = 'Zebra launch', updated_at = ? where id = ?", now, renamed);
+        jdbcTemplate.update("delete from campaigns where id = ?", deleted);
+        jdbcTemplate.update("insert into campaign_tombstones (campaign_id, owner_username, deleted_at) values (?, ?, ?)",
+                deleted, OWNER, now);
+
+        campaignTextIndexer.pollChanges();
+        campaignTextIndexer.refresh();
+        // Still within the settle time
+        assertThat(search("alpha")).containsExactly(renamed);
+
+        awaitCondition(() -> {
+            campaignTextIndexer.pollChanges();
+            campaignTextIndexer.refresh();
+            return search("zebra").contains(renamed);
+        });
+        assertThat(search("alpha")).isEmpty();
+        assertThat(search("bravo")).isEmpty();
+    }
+
+    private List<Long> search(String query) {
+        try {
+            return campaignTextIndexer.search(query, OWNER, 10);
+        } catch (ServiceUnavailableException e) {
+            // Still building
+            return null;
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(100);
+        }
+    }
+
+    private Long createCampaign(String name, Long stableId) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return campaignService.createCampaign(CreateCampaignRequest.builder()
+                .name(name)
+                .startDate(start)
+                .endDate(start.plusDays(30))
+                .status("PLANNED")
+                .stableId(stableId)
+                .build(), OWNER, false).getId();
+    }
+}
@@ -0,0 +1,188 @@
+package upc.edu.muusmart.campaignmanagement.interfaces.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateCampaignRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateStableRequest;
+import upc.edu.muusmart.campaignmanagement.application.service.CampaignService;
+import upc.edu.muusmart.campaignmanagement.application.service.StableService;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The NDJSON listings stream every row the caller can see across several
+ * keyset pages, in id order, and nothing else; clients that stop reading
+ * their stream do not hold up anyone else's.
+ *
+ * <p>Runs against the embedded server: the listings are written with
+ * non-blocking servlet I/O, which the mock request of MockMvc does not
+ * support.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ListingStreamEndpointsTest {
+
+    // More than two pages of the stream
+    private static final int CAMPAIGNS = 450;
+    // More than the 32 writer threads and 64 queued streams of a thread-per-stream writer
+    private static final int STALLED_CLIENTS = 120;
+    // Same key as JwtUtil
+    private static final String SECRET = "ReplaceThisSecretWithAStrongKeyForProduction";
+    private static final AtomicInteger OWNERS = new AtomicInteger();
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CampaignService campaignService;
+    @Autowired
+    private StableService stableService;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void streamsEveryCampaignOfTheCaller() throws Exception {
+        String owner = "stream-owner-" + OWNERS.incrementAndGet();
+        String other = "stream-owner-" + OWNERS.incrementAndGet();
+        createCampaigns(owner, CAMPAIGNS);
+        createCampaigns(other, 3);
+
+        List<JsonNode> lines = stream("/campaigns/stream", owner);
+
+        assertThat(lines).hasSize(CAMPAIGNS);
+        assertThat(lines).allSatisfy(line -> assertThat(line.get("username").asText()).isEqualTo(owner));
+        assertThat(lines).extracting(line -> line.get("id").asLong()).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void streamsEveryStableOfTheCaller() throws Exception {
+        String owner = "stream-owner-" + OWNERS.incrementAndGet();
+        String other = "stream-owner-" + OWNERS.incrementAndGet();
+        createStable(owner);
+        createStable(owner);
+        createStable(other);
+
+        List<JsonNode> lines = stream("/stables/stream", owner);
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines).extracting(line -> line.get("id").asLong()).isSorted();
+    }
+
+    @Test
+    void stalledClientsDoNotHoldUpOtherStreams() throws Exception {
+        String owner = "stream-owner-" + OWNERS.incrementAndGet();
+        createCampaigns(owner, CAMPAIGNS);
+
+        List<Socket> stalled = new ArrayList<>();
+        try {
+            for (int i = 0; i < STALLED_CLIENTS; i++) {
+                stalled.add(openWithoutReading("/campaigns/stream", owner));
+            }
+
+            List<JsonNode> lines = stream("/campaigns/stream", owner);
+
+            assertThat(lines).hasSize(CAMPAIGNS);
+        } finally {
+            for (Socket socket : stalled) {
+                socket.close();
+            }
+        }
+    }
+
+    private List<JsonNode> stream(String path, String username) throws Exception {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(url(path)))
+                .header("Authorization", "Bearer " + token(username))
+                .timeout(Duration.ofSeconds(30))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                type -> assertThat(type).startsWith("application/x-ndjson"));
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : response.body().split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Sends the request on a socket with a small receive buffer and never
+     * reads the response, like a client that went quiet.
+     */
+    private Socket openWithoutReading(String path, String username) throws Exception {
+        Socket socket = new Socket();
+        socket.setReceiveBufferSize(1024);
+        socket.connect(new InetSocketAddress("localhost", port), 5000);
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET " + path + " HTTP/1.1\r\n"
+                + "Host: localhost:" + port + "\r\n"
+                + "Authorization: Bearer " + token(username) + "\r\n"
+                + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return socket;
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + port + path;
+    }
+
+    private static String token(String username) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setSubject(username)
+                .claim("roles", List.of("ROLE_USER"))
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(Duration.ofHours(1))))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private Long createStable(String owner) {
+        return stableService.createStable(CreateStableRequest.builder()
+                .name(owner + " stable " + OWNERS.incrementAndGet())
+                .capacity(10)
+                .build(), owner).getId();
+    }
+
+    private void createCampaigns(String owner, int count) {
+        Long stableId = createStable(owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < count; i++) {
+            campaignService.createCampaign(CreateCampaignRequest.builder()
+                    .name(owner + " campaign " + i)
+                    .startDate(start)
+                    .endDate(start.plusDays(30))
+                    .status("PLANNED")
+                    .stableId(stableId)
+                    .build(), owner, false);
+        }
+    }
+}
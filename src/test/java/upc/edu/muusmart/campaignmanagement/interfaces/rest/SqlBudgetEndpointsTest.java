@@ -0,0 +1,285 @@
+package upc.edu.muusmart.campaignmanagement.interfaces.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import upc.edu.muusmart.campaignmanagement.application.dto.AddChannelRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.AddGoalRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.BulkGoalProgressRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.CampaignResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateCampaignRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.CreateStableRequest;
+import upc.edu.muusmart.campaignmanagement.application.dto.GoalProgressUpdate;
+import upc.edu.muusmart.campaignmanagement.application.dto.GoalResponse;
+import upc.edu.muusmart.campaignmanagement.application.dto.UpdateCampaignStatusRequest;
+import upc.edu.muusmart.campaignmanagement.application.service.CampaignService;
+import upc.edu.muusmart.campaignmanagement.application.service.StableService;
+import upc.edu.muusmart.campaignmanagement.infrastructure.metrics.SqlStatementMetricsFilter;
+import upc.edu.muusmart.campaignmanagement.infrastructure.metrics.SqlStatementScope;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every endpoint with a {@code @SqlBudget} stays within it. The test profile
+ * runs with {@code campaign.sql-budget.strict=true}, so a request over its
+ * budget, or repeating a statement shape (N+1), fails with
+ * {@code SqlBudgetExceededException}. The caller owns several campaigns with
+ * several goals and channels each, so a per-row query would show.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlBudgetEndpointsTest {
+
+    private static final int CAMPAIGNS = 6;
+    private static final int CHILDREN = 3;
+    private static final List<String> METRICS = List.of("CLICKS", "VIEWS", "CONVERSIONS");
+    private static final List<String> CHANNEL_TYPES = List.of("EMAIL", "SMS", "SOCIAL");
+    private static final AtomicInteger OWNERS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CampaignService campaignService;
+    @Autowired
+    private StableService stableService;
+
+    private String owner;
+    private Long stableId;
+    private final List<Long> campaignIds = new ArrayList<>();
+
+    @BeforeEach
+    void createCampaigns() {
+        owner = "budget-owner-" + OWNERS.incrementAndGet();
+        stableId = stableService.createStable(CreateStableRequest.builder()
+                .name(owner + " stable")
+                .capacity(10)
+                .build(), owner).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < CAMPAIGNS; i++) {
+            Long id = campaignService.createCampaign(CreateCampaignRequest.builder()
+                    .name(owner + " campaign " + i)
+                    .description("Budget test")
+                    .startDate(start)
+                    .endDate(start.plusDays(30))
+                    .status("PLANNED")
+                    .stableId(stableId)
+                    .build(), owner, false).getId();
+            for (int j = 0; j < CHILDREN; j++) {
+                campaignService.addGoalToCampaign(id, new AddGoalRequest("Goal " + j, METRICS.get(j), 100, 0),
+                        owner, false, null);
+                campaignService.addChannelToCampaign(id, new AddChannelRequest(CHANNEL_TYPES.get(j), "Details"),
+                        owner, false, null);
+            }
+            campaignIds.add(id);
+        }
+    }
+
+    @Test
+    void createCampaign() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        withinBudget(post("/campaigns").content(json(CreateCampaignRequest.builder()
+                .name(owner + " created")
+                .startDate(start)
+                .endDate(start.plusDays(30))
+                .status("PLANNED")
+                .stableId(stableId)
+                .build())), status().isCreated());
+    }
+
+    @Test
+    void updateGoalProgress() throws Exception {
+        List<GoalProgressUpdate> updates = new ArrayList<>();
+        for (Long id : campaignIds) {
+            for (GoalResponse goal : campaignService.getGoalsByCampaignId(id, owner, false)) {
+                updates.add(GoalProgressUpdate.builder().goalId(goal.getId()).delta(5).build());
+            }
+        }
+        withinBudget(patch("/campaigns/goals/progress").content(json(new BulkGoalProgressRequest(updates))),
+                status().isOk());
+    }
+
+    @Test
+    void getAllCampaigns() throws Exception {
+        withinBudget(get("/campaigns"), status().isOk());
+    }
+
+    @Test
+    void getCampaignsPage() throws Exception {
+        withinBudget(get("/campaigns").param("limit", "4"), status().isOk());
+    }
+
+    @Test
+    void searchCampaigns() throws Exception {
+        withinBudget(get("/campaigns/search").param("status", "PLANNED").param("stableId", stableId.toString()),
+                status().isOk());
+    }
+
+    @Test
+    void searchCampaignsByText() throws Exception {
+        withinBudget(get("/campaigns/search/text").param("q", "budget"), status().isOk());
+    }
+
+    @Test
+    void searchCampaignsByTextRejectsShortWords() throws Exception {
+        withinBudget(get("/campaigns/search/text").param("q", "budget ca"), status().isBadRequest());
+    }
+
+    @Test
+    void getSummary() throws Exception {
+        withinBudget(get("/campaigns/summary"), status().isOk());
+    }
+
+    @Test
+    void getChanges() throws Exception {
+        withinBudget(get("/campaigns/changes"), status().isOk());
+    }
+
+    @Test
+    void getCampaignById() throws Exception {
+        withinBudget(get("/campaigns/{id}", campaignIds.get(0)), status().isOk());
+    }
+
+    @Test
+    void getCampaignByIdNotModified() throws Exception {
+        CampaignResponse campaign = campaignService.getCampaignById(campaignIds.get(0), owner, false);
+        withinBudget(get("/campaigns/{id}", campaign.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, EntityTags.of(campaign.getId(), campaign.getVersion())),
+                status().isNotModified());
+    }
+
+    @Test
+    void getCampaignByIdAfterChange() throws Exception {
+        // A poll with the tag from before a change: version read, then a cache miss
+        CampaignResponse campaign = campaignService.getCampaignById(campaignIds.get(0), owner, false);
+        campaignService.updateCampaignStatus(campaign.getId(), new UpdateCampaignStatusRequest("ACTIVE"), owner, false,
+                null);
+        withinBudget(get("/campaigns/{id}", campaign.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, EntityTags.of(campaign.getId(), campaign.getVersion())),
+                status().isOk());
+    }
+
+    @Test
+    void deleteCampaign() throws Exception {
+        withinBudget(delete("/campaigns/{id}", campaignIds.get(0)), status().isNoContent());
+    }
+
+    @Test
+    void updateCampaignStatus() throws Exception {
+        withinBudget(patch("/campaigns/{id}/update-status", campaignIds.get(0))
+                .content(json(new UpdateCampaignStatusRequest("ACTIVE"))), status().isOk());
+    }
+
+    @Test
+    void addGoalToCampaign() throws Exception {
+        withinBudget(patch("/campaigns/{id}/add-goal", campaignIds.get(0))
+                .content(json(new AddGoalRequest("Another goal", "CLICKS", 10, 0))), status().isOk());
+    }
+
+    @Test
+    void addChannelToCampaign() throws Exception {
+        withinBudget(patch("/campaigns/{id}/add-channel", campaignIds.get(0))
+                .content(json(new AddChannelRequest("TV", "Prime time"))), status().isOk());
+    }
+
+    @Test
+    void getGoalsByCampaign() throws Exception {
+        withinBudget(get("/campaigns/{id}/goals", campaignIds.get(0)), status().isOk());
+    }
+
+    @Test
+    void streamGoalProgress() throws Exception {
+        // Only the initial dispatch, which reads the goals, is measured
+        withinBudget(get("/campaigns/{id}/goals/stream", campaignIds.get(0)), status().isOk());
+    }
+
+    @Test
+    void getChannelsByCampaign() throws Exception {
+        withinBudget(get("/campaigns/{id}/channels", campaignIds.get(0)), status().isOk());
+    }
+
+    @Test
+    void createStable() throws Exception {
+        withinBudget(post("/stables").content(json(CreateStableRequest.builder()
+                .name(owner + " another stable")
+                .capacity(5)
+                .build())), status().isCreated());
+    }
+
+    @Test
+    void getAllStables() throws Exception {
+        withinBudget(get("/stables"), status().isOk());
+    }
+
+    @Test
+    void getStablesPage() throws Exception {
+        withinBudget(get("/stables").param("limit", "1"), status().isOk());
+    }
+
+    @Test
+    void getStableById() throws Exception {
+        withinBudget(get("/stables/{id}", stableId), status().isOk());
+    }
+
+    @Test
+    void getStableByIdNotModified() throws Exception {
+        Long version = stableService.getStableVersion(stableId, owner, false);
+        withinBudget(get("/stables/{id}", stableId).header(HttpHeaders.IF_NONE_MATCH, EntityTags.of(stableId, version)),
+                status().isNotModified());
+    }
+
+    @Test
+    void getStableByIdStaleTag() throws Exception {
+        Long version = stableService.getStableVersion(stableId, owner, false);
+        withinBudget(get("/stables/{id}", stableId)
+                        .header(HttpHeaders.IF_NONE_MATCH, EntityTags.of(stableId, version + 1)),
+                status().isOk());
+    }
+
+    /**
+     * Performs the request as the owner. Strict mode throws if it went over
+     * its budget; the statement scope shows the request was counted at all.
+     */
+    private void withinBudget(MockHttpServletRequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        MvcResult result = mockMvc.perform(request.with(user(owner)).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(expectedStatus)
+                .andReturn();
+        Object scope = result.getRequest().getAttribute(SqlStatementMetricsFilter.SCOPE_ATTRIBUTE);
+        assertThat(scope).isInstanceOf(SqlStatementScope.class);
+    }
+
+    private String json(Object body) throws Exception {
+        return objectMapper.writeValueAsString(body);
+    }
+
+    private static RequestPostProcessor user(String username) {
+        return authentication(new UsernamePasswordAuthenticationToken(username, null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
@@ -0,0 +1,96 @@
+package upc.edu.muusmart.campaignmanagement.interfaces.rest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import upc.edu.muusmart.campaignmanagement.infrastructure.metrics.SqlBudget;
+import upc.edu.muusmart.campaignmanagement.shared.exceptions.SqlBudgetExceededException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * In strict mode a request that goes over its {@link SqlBudget}, or that runs
+ * the same statement with different parameters the repeated-statement
+ * threshold (5) times or more, fails. The endpoints here exist only in this
+ * test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SqlBudgetViolationTest.QueryController.class)
+class SqlBudgetViolationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @RestController
+    static class QueryController {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        QueryController(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        /**
+         * The N+1 shape: one statement per row instead of one for all rows.
+         */
+        @GetMapping("/test/sql/one-by-one")
+        List<Long> oneByOne(@RequestParam int count) {
+            List<Long> values = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                values.add(jdbcTemplate.queryForObject("select cast(? as bigint)", Long.class, i));
+            }
+            return values;
+        }
+
+        @GetMapping("/test/sql/two-statements")
+        @SqlBudget(1)
+        Long twoStatements() {
+            jdbcTemplate.queryForObject("select 1", Long.class);
+            return jdbcTemplate.queryForObject("select 2", Long.class);
+        }
+    }
+
+    @Test
+    void statementRepeatedBelowThresholdPasses() throws Exception {
+        mockMvc.perform(get("/test/sql/one-by-one").param("count", "4").with(user()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void statementRepeatedWithDifferentParametersFails() {
+        assertThatThrownBy(() -> mockMvc.perform(get("/test/sql/one-by-one").param("count", "5").with(user())))
+                .isInstanceOf(SqlBudgetExceededException.class)
+                .hasMessageContaining("repeated");
+    }
+
+    @Test
+    void requestOverItsBudgetFails() {
+        assertThatThrownBy(() -> mockMvc.perform(get("/test/sql/two-statements").with(user())))
+                .isInstanceOf(SqlBudgetExceededException.class)
+                .hasMessageContaining("issued 2 SQL statements (budget 1)");
+    }
+
+    private static RequestPostProcessor user() {
+        return authentication(new UsernamePasswordAuthenticationToken("sql-budget-user", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}